@@ -0,0 +1,142 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.benchmarks;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.SocialCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerCompletelyFair;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.TimeUtil;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+import org.cloudsimplus.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A benchmark that assesses the execution time of simulations using the
+ * {@link CloudletSchedulerCompletelyFair}, where each VM has a large number of Cloudlets,
+ * so that the run queue is deep and Cloudlets are preempted very often.
+ * That benchmark doesn't use JHM benchmarking framework.
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class CompletelyFairSchedulerBenchmark {
+    private static final int SIMULATIONS = 3;
+    private static final int HOSTS = 2;
+    private static final int HOST_PES = 8;
+    private static final int VMS = 4;
+    private static final int VM_PES = 4;
+    private static final int CLOUDLETS_BY_VM = 10_000;
+    private static final long SEED = 1;
+
+    private final User user = new User("user", 0);
+    private final CloudSim simulation;
+    private final List<Cloudlet> cloudletList;
+    private final double finishTimeSecs;
+
+    public static void main(String[] args) {
+        System.out.printf("%s - %s%n%n", CompletelyFairSchedulerBenchmark.class.getSimpleName(), CloudSim.VERSION);
+        Log.setLevel(ch.qos.logback.classic.Level.ERROR);
+        for (int i = 1; i <= SIMULATIONS; i++) {
+            final var exp = new CompletelyFairSchedulerBenchmark();
+            System.out.printf(
+                "Finished Simulation %d: VMs: %d Cloudlets by VM: %d Simulation Time: %.2f Execution Time (secs): %6.2f%n",
+                i, VMS, CLOUDLETS_BY_VM, exp.simulation.clock(), exp.finishTimeSecs);
+        }
+    }
+
+    private CompletelyFairSchedulerBenchmark() {
+        final double startTimeSecs = TimeUtil.currentTimeSecs();
+        simulation = new CloudSim();
+        new DatacenterSocial(simulation, createHosts()).setSchedulingInterval(-1);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        cloudletList = createCloudlets();
+        broker.submitVmList(createVms());
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        this.finishTimeSecs = TimeUtil.elapsedSeconds(startTimeSecs);
+    }
+
+    private List<Host> createHosts() {
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            final List<Pe> peList = new ArrayList<>(HOST_PES);
+            for (int j = 0; j < HOST_PES; j++) {
+                peList.add(new PeSimple(1000));
+            }
+
+            final var host = new SocialHost(1_000_000, 1_000_000, 1_000_000, peList);
+            host.setId(i);
+            host.owner = user;
+            hostList.add(host);
+        }
+
+        return hostList;
+    }
+
+    private List<Vm> createVms() {
+        final List<Vm> vmList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            final var vm = new VmSocial(1000, VM_PES);
+            vm.setRam(100_000).setBw(100_000).setSize(1000);
+            vm.setCloudletScheduler(new CloudletSchedulerCompletelyFair());
+            vm.assignOwner(user);
+            vmList.add(vm);
+        }
+
+        return vmList;
+    }
+
+    /**
+     * Creates Cloudlets with random lengths, PEs and priorities.
+     */
+    private List<Cloudlet> createCloudlets() {
+        final var random = new Random(SEED);
+        final int cloudletsNumber = VMS * CLOUDLETS_BY_VM;
+        final List<Cloudlet> list = new ArrayList<>(cloudletsNumber);
+        for (int i = 0; i < cloudletsNumber; i++) {
+            final var cloudlet = new SocialCloudlet(500 + random.nextInt(5000), 1 + random.nextInt(2), new UtilizationModelFull(), i, 1, user);
+            cloudlet.setPriority(random.nextInt(11) - 5);
+            cloudlet.setUtilizationModelRam(new UtilizationModelDynamic(0.0001)).setUtilizationModelBw(new UtilizationModelDynamic(0.0001));
+            list.add(cloudlet);
+        }
+
+        return list;
+    }
+}
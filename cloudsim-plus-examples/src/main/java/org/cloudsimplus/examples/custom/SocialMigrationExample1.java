@@ -197,10 +197,7 @@ public final class SocialMigrationExample1 {
         alice.make_friend(george);
         alice.make_friend(isaac);
 
-        for (User u: full_user_list)
-        {
-            u.update_network(full_user_list);
-        }
+        User.update_network_all(full_user_list);
 
         this.datacenter0 = createSocialDatacenter(full_user_list);
         broker = new DatacenterBrokerBestFitSocial(simulation);
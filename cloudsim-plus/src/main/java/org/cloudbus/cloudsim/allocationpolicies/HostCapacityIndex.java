@@ -0,0 +1,356 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An index of the capacity available in the Hosts of a {@link VmAllocationPolicy},
+ * used to find a suitable Host for a VM without checking every Host.
+ *
+ * <p>It's a segment tree over the positions of Hosts in the policy's Host list,
+ * where each node stores the maximum free RAM, bandwidth, storage and PEs
+ * among the Hosts below it. A node whose maximum for some resource
+ * is lower than the amount requested by a VM is skipped entirely.
+ * Each node also stores the best and worst ranks of its Hosts according to
+ * their active state and number of free PEs, so that
+ * best-fit and worst-fit searches skip nodes that cannot contain a better Host
+ * than the one already found.</p>
+ *
+ * <p>The PEs considered for a Host are its free PEs when it uses a {@link VmSchedulerSpaceShared},
+ * or its working PEs otherwise (since PEs of time-shared schedulers can be shared by VMs).
+ * The available MIPS are not indexed, since they depend on the MIPS currently requested
+ * by the VMs, which change along the time.
+ * That is why each candidate Host is confirmed by {@link Host#isSuitableForVm(Vm)}.
+ * If it isn't suitable, the search just goes on.</p>
+ *
+ * <p>Hosts notify the index when their available capacity changes
+ * (see {@link Host#setCapacityIndex(HostCapacityIndex)}).
+ * The index is rebuilt when the number of Hosts changes.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ * @see VmAllocationPolicyAbstract#enableHostCapacityIndex()
+ */
+public class HostCapacityIndex {
+    /**
+     * A value added to the rank of Hosts to place active ones before inactive ones,
+     * which is greater than any number of PEs.
+     */
+    private static final long ACTIVE_RANK = 1L << 32;
+
+    private final VmAllocationPolicy policy;
+
+    /**
+     * The position of each Host in the policy's Host list.
+     */
+    private final Map<Host, Integer> positions;
+
+    /**
+     * The number of leaves in the tree (a power of 2),
+     * where the leaf for the Host at position i is the node {@code leaves + i}.
+     * The children of a node i are the nodes 2i and 2i+1.
+     */
+    private int leaves;
+
+    private long[] maxRam;
+    private long[] maxBw;
+    private long[] maxStorage;
+    private int[] maxPes;
+
+    /**
+     * The minimum rank for the {@link #bestFit(Vm) best-fit} search,
+     * where active Hosts with fewer free PEs come first.
+     */
+    private long[] minBestRank;
+
+    /**
+     * The maximum rank for the {@link #worstFit(Vm) worst-fit} search,
+     * where active Hosts with more free PEs come first.
+     */
+    private long[] maxWorstRank;
+
+    /**
+     * Creates an index for the Hosts of a given policy.
+     * @param policy the policy whose Hosts will be indexed
+     */
+    public HostCapacityIndex(final VmAllocationPolicy policy) {
+        this.policy = requireNonNull(policy);
+        this.positions = new IdentityHashMap<>();
+        allocate(0);
+    }
+
+    private void allocate(final int hosts) {
+        leaves = Integer.highestOneBit(Math.max(hosts, 1) * 2 - 1);
+        maxRam = new long[leaves * 2];
+        maxBw = new long[leaves * 2];
+        maxStorage = new long[leaves * 2];
+        maxPes = new int[leaves * 2];
+        minBestRank = new long[leaves * 2];
+        maxWorstRank = new long[leaves * 2];
+        Arrays.fill(maxRam, -1);
+        Arrays.fill(maxBw, -1);
+        Arrays.fill(maxStorage, -1);
+        Arrays.fill(maxPes, -1);
+        Arrays.fill(minBestRank, Long.MAX_VALUE);
+        Arrays.fill(maxWorstRank, Long.MIN_VALUE);
+    }
+
+    /**
+     * Rebuilds the index if the number of Hosts has changed,
+     * registering it into every Host.
+     */
+    private void checkHostList() {
+        final List<Host> hostList = policy.getHostList();
+        if (hostList.size() == positions.size()) {
+            return;
+        }
+
+        positions.clear();
+        allocate(hostList.size());
+        for (int i = 0; i < hostList.size(); i++) {
+            final Host host = hostList.get(i);
+            positions.put(host, i);
+            host.setCapacityIndex(this);
+            setLeaf(leaves + i, host);
+        }
+
+        for (int node = leaves - 1; node > 0; node--) {
+            pull(node);
+        }
+    }
+
+    /**
+     * Updates the available capacity of a Host inside the index.
+     * It must be called whenever the resources available in the Host,
+     * its number of free/working PEs or its active state change.
+     *
+     * @param host the Host to update
+     */
+    public synchronized void update(final Host host) {
+        final Integer position = positions.get(host);
+        if (position == null) {
+            return;
+        }
+
+        int node = leaves + position;
+        if (!setLeaf(node, host)) {
+            return;
+        }
+
+        for (node /= 2; node > 0; node /= 2) {
+            pull(node);
+        }
+    }
+
+    /**
+     * Stores the current capacity of a Host into its leaf.
+     * @return true if some value of the leaf has changed, false otherwise
+     */
+    private boolean setLeaf(final int node, final Host host) {
+        final long ram = host.getRam().getAvailableResource();
+        final long bw = host.getBw().getAvailableResource();
+        final long storage = host.getStorage().getAvailableResource();
+        final int pes = host.getVmScheduler() instanceof VmSchedulerSpaceShared ? host.getFreePesNumber() : host.getWorkingPesNumber();
+        final long freePes = host.getFreePesNumber();
+        final long bestRank = (host.isActive() ? 0 : ACTIVE_RANK) + freePes;
+        final long worstRank = (host.isActive() ? ACTIVE_RANK : 0) + freePes;
+        if (maxRam[node] == ram && maxBw[node] == bw && maxStorage[node] == storage &&
+            maxPes[node] == pes && minBestRank[node] == bestRank && maxWorstRank[node] == worstRank)
+        {
+            return false;
+        }
+
+        maxRam[node] = ram;
+        maxBw[node] = bw;
+        maxStorage[node] = storage;
+        maxPes[node] = pes;
+        minBestRank[node] = bestRank;
+        maxWorstRank[node] = worstRank;
+        return true;
+    }
+
+    private void pull(final int node) {
+        final int left = node * 2;
+        final int right = left + 1;
+        maxRam[node] = Math.max(maxRam[left], maxRam[right]);
+        maxBw[node] = Math.max(maxBw[left], maxBw[right]);
+        maxStorage[node] = Math.max(maxStorage[left], maxStorage[right]);
+        maxPes[node] = Math.max(maxPes[left], maxPes[right]);
+        minBestRank[node] = Math.min(minBestRank[left], minBestRank[right]);
+        maxWorstRank[node] = Math.max(maxWorstRank[left], maxWorstRank[right]);
+    }
+
+    /**
+     * Finds the first Host suitable for a VM, starting from a given position of the Host list
+     * and wrapping around to the beginning.
+     *
+     * @param vm the VM to find a Host to
+     * @param fromPosition the position in the Host list to start the search
+     * @return the position of the suitable Host in the Host list or -1 if no suitable Host was found
+     */
+    public synchronized int firstFit(final Vm vm, final int fromPosition) {
+        checkHostList();
+        final var request = new Request(vm);
+        final int position = firstFit(1, 0, leaves, Math.max(fromPosition, 0), request);
+        return position >= 0 || fromPosition <= 0 ? position : firstFit(1, 0, leaves, 0, request);
+    }
+
+    /**
+     * Finds the leftmost suitable Host at or after a given position,
+     * inside the subtree of a node covering the positions [begin, end).
+     */
+    private int firstFit(final int node, final int begin, final int end, final int fromPosition, final Request request) {
+        if (end <= fromPosition || !request.fits(node)) {
+            return -1;
+        }
+
+        if (node >= leaves) {
+            return request.isSuitable(begin) ? begin : -1;
+        }
+
+        final int middle = (begin + end) / 2;
+        final int position = firstFit(node * 2, begin, middle, fromPosition, request);
+        return position >= 0 ? position : firstFit(node * 2 + 1, middle, end, fromPosition, request);
+    }
+
+    /**
+     * Finds a suitable Host for a VM that is active and has the fewest free PEs,
+     * which is the first one in the Host list in case of a tie.
+     * @param vm the VM to find a Host to
+     * @return an {@link Optional} containing the suitable Host or an empty {@link Optional} if not found
+     * @see VmAllocationPolicyBestFit
+     */
+    public synchronized Optional<Host> bestFit(final Vm vm) {
+        checkHostList();
+        final var search = new RankedSearch(new Request(vm), false);
+        search.visit(1, 0, leaves);
+        return search.result();
+    }
+
+    /**
+     * Finds a suitable Host for a VM that is active and has the most free PEs,
+     * which is the first one in the Host list in case of a tie.
+     * @param vm the VM to find a Host to
+     * @return an {@link Optional} containing the suitable Host or an empty {@link Optional} if not found
+     * @see VmAllocationPolicySimple
+     */
+    public synchronized Optional<Host> worstFit(final Vm vm) {
+        checkHostList();
+        final var search = new RankedSearch(new Request(vm), true);
+        search.visit(1, 0, leaves);
+        return search.result();
+    }
+
+    /**
+     * The resources requested by a VM.
+     */
+    private final class Request {
+        private final Vm vm;
+        private final long ram;
+        private final long bw;
+        private final long storage;
+        private final long pes;
+
+        private Request(final Vm vm) {
+            this.vm = vm;
+            this.ram = vm.getRam().getCapacity();
+            this.bw = vm.getBw().getCapacity();
+            this.storage = vm.getStorage().getCapacity();
+            this.pes = vm.getNumberOfPes();
+        }
+
+        /**
+         * Checks if some Host below a node may have enough resources for the VM.
+         */
+        private boolean fits(final int node) {
+            return maxRam[node] >= ram && maxBw[node] >= bw && maxStorage[node] >= storage && maxPes[node] >= pes;
+        }
+
+        private boolean isSuitable(final int position) {
+            return policy.getHostList().get(position).isSuitableForVm(vm);
+        }
+    }
+
+    /**
+     * A branch-and-bound search for the suitable Host with the best rank,
+     * which visits the nodes from left to right to keep the first Host in case of a tie.
+     */
+    private final class RankedSearch {
+        private final Request request;
+        private final boolean maximize;
+        private long bestRank;
+        private int bestPosition;
+
+        private RankedSearch(final Request request, final boolean maximize) {
+            this.request = request;
+            this.maximize = maximize;
+            this.bestRank = maximize ? Long.MIN_VALUE : Long.MAX_VALUE;
+            this.bestPosition = -1;
+        }
+
+        private void visit(final int node, final int begin, final int end) {
+            if (!request.fits(node) || !canImprove(node)) {
+                return;
+            }
+
+            if (node >= leaves) {
+                if (request.isSuitable(begin)) {
+                    bestRank = rank(node);
+                    bestPosition = begin;
+                }
+
+                return;
+            }
+
+            final int middle = (begin + end) / 2;
+            visit(node * 2, begin, middle);
+            visit(node * 2 + 1, middle, end);
+        }
+
+        private long rank(final int node) {
+            return maximize ? maxWorstRank[node] : minBestRank[node];
+        }
+
+        /**
+         * Checks if some Host below a node may have a strictly better rank than the best one found.
+         */
+        private boolean canImprove(final int node) {
+            return maximize ? rank(node) > bestRank : rank(node) < bestRank;
+        }
+
+        private Optional<Host> result() {
+            return bestPosition < 0 ? Optional.empty() : Optional.of(policy.getHostList().get(bestPosition));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.user.SocialGraph;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.SocialGraphEventInfo;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps track of the {@link SocialHost}s of a {@link VmAllocationPolicy} that
+ * are trusted by the owner of a {@link VmSocial}, so that a VM is just placed into
+ * Hosts owned by users up to the VM's {@link VmSocial#securityLevel security level}
+ * friendship hops away from the VM owner.
+ *
+ * <p>The eligible Hosts for each pair of owner and security level are stored as a {@link BitSet},
+ * where each bit corresponds to the position of a Host in the policy's Host list.
+ * Such bitsets are computed once, requiring a single social distance query for each distinct Host owner,
+ * and are reused until some friendship or the owner of some Host changes.
+ * This way, trust constraints are enforced just by iterating over the set bits,
+ * without querying the social graph for each candidate Host.</p>
+ *
+ * <p>Friendship changes are notified by the {@link SocialGraph} of the VM owner
+ * (see {@link User#join_network(List)}). Since {@link SocialHost#owner} is a public field,
+ * Host owners are checked when the simulation clock advances.
+ * Any other change must be notified by calling {@link #invalidate()}.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class SocialHostEligibility {
+    private final VmAllocationPolicy policy;
+
+    /**
+     * The eligible Hosts for each owner and maximum distance.
+     */
+    private final Map<Key, BitSet> eligibleHosts;
+
+    /**
+     * The social graphs of VM owners being observed for distance changes.
+     */
+    private final Set<SocialGraph> observedGraphs;
+
+    private final EventListener<SocialGraphEventInfo> distancesChangeListener;
+
+    /**
+     * The owner of each Host when the {@link #eligibleHosts} were computed.
+     */
+    private User[] hostOwners;
+
+    /**
+     * The position of each Host in the policy's Host list when the {@link #eligibleHosts} were computed.
+     */
+    private Map<Host, Integer> hostPositions;
+
+    /**
+     * The last simulation time the {@link #hostOwners} were checked.
+     */
+    private double lastCheckTime;
+
+    /**
+     * Creates an object to track the Hosts a VM is allowed to be placed into.
+     * @param policy the policy whose Hosts will be tracked
+     */
+    public SocialHostEligibility(final VmAllocationPolicy policy) {
+        this.policy = requireNonNull(policy);
+        this.eligibleHosts = new HashMap<>();
+        this.observedGraphs = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.distancesChangeListener = this::onDistancesChange;
+        this.hostOwners = new User[0];
+        this.hostPositions = new IdentityHashMap<>();
+        this.lastCheckTime = -1;
+    }
+
+    /**
+     * Checks if a Host owner is trusted by a VM owner.
+     *
+     * @param distance the social distance between the VM owner and the Host owner
+     * @param securityLevel the security level of the VM
+     * @return true if the distance is within the security level (users not connected are never trusted),
+     *         false otherwise
+     */
+    public static boolean isTrusted(final int distance, final int securityLevel) {
+        return distance != SocialGraph.UNREACHABLE && distance <= Math.max(securityLevel, 0);
+    }
+
+    /**
+     * Gets a {@link Stream} of the Hosts a given VM is allowed to be placed into,
+     * according to the Host list order.
+     * VMs that are not {@link VmSocial} or don't have an owner can be placed into any Host.
+     *
+     * @param vm the VM to get the eligible Hosts
+     * @return a Stream of eligible Hosts
+     */
+    public Stream<Host> stream(final Vm vm) {
+        final List<Host> hostList = policy.getHostList();
+        if (!(vm instanceof VmSocial socialVm) || socialVm.owner == null) {
+            return hostList.stream();
+        }
+
+        return getEligibleHosts(socialVm.owner, socialVm.securityLevel).stream().mapToObj(hostList::get);
+    }
+
+    /**
+     * Checks if a given VM is allowed to be placed into a given Host.
+     * @param vm the VM to check
+     * @param host the Host to check
+     * @return true if the Host is eligible for the VM, false otherwise
+     */
+    public boolean isEligible(final Vm vm, final Host host) {
+        if (!(vm instanceof VmSocial socialVm) || socialVm.owner == null) {
+            return true;
+        }
+
+        final BitSet bits = getEligibleHosts(socialVm.owner, socialVm.securityLevel);
+        final Integer index = positionOf(host);
+        return index != null && bits.get(index);
+    }
+
+    private synchronized Integer positionOf(final Host host) {
+        return hostPositions.get(host);
+    }
+
+    /**
+     * Gets the positions (in the policy's Host list) of the Hosts
+     * that can be used by VMs of a given owner and security level.
+     *
+     * @param owner the owner of the VMs
+     * @param securityLevel the security level of the VMs
+     * @return a BitSet where the bits for the eligible Hosts are set.
+     *         It's kept for later queries, so it must not be changed.
+     */
+    public synchronized BitSet getEligibleHosts(final User owner, final int securityLevel) {
+        checkHostOwners();
+        final var key = new Key(requireNonNull(owner), Math.max(securityLevel, 0));
+        final BitSet bits = eligibleHosts.get(key);
+        if (bits != null) {
+            return bits;
+        }
+
+        observe(owner.getSocialGraph());
+        final BitSet newBits = computeEligibleHosts(key);
+        eligibleHosts.put(key, newBits);
+        return newBits;
+    }
+
+    private BitSet computeEligibleHosts(final Key key) {
+        final var bits = new BitSet(hostOwners.length);
+        //Stores if each Host owner is trusted, to query each distance just once
+        final var trustedOwners = new IdentityHashMap<User, Boolean>();
+        for (int i = 0; i < hostOwners.length; i++) {
+            final User hostOwner = hostOwners[i];
+            if (hostOwner == null) {
+                continue;
+            }
+
+            final boolean trusted = trustedOwners.computeIfAbsent(
+                hostOwner, hOwner -> isTrusted(key.owner.distance_to(hOwner, key.maxHops), key.maxHops));
+            bits.set(i, trusted);
+        }
+
+        return bits;
+    }
+
+    private void observe(final SocialGraph graph) {
+        if (graph != null && observedGraphs.add(graph)) {
+            graph.addOnDistancesChangeListener(distancesChangeListener);
+        }
+    }
+
+    /**
+     * Removes the eligible Hosts of all users in a graph where a friendship has changed.
+     * Since eligible Hosts are computed from bounded distances,
+     * which are not included in the {@link SocialGraphEventInfo#getAffectedUsers() affected users},
+     * it's not known which users had their distances changed.
+     * @param info information about the friendship change
+     */
+    private synchronized void onDistancesChange(final SocialGraphEventInfo info) {
+        eligibleHosts.keySet().removeIf(key -> key.owner.getSocialGraph() == info.getSocialGraph());
+    }
+
+    /**
+     * Checks if the Host list or the owner of some Host has changed
+     * since the eligible Hosts were computed, invalidating them in such a case.
+     * Hosts are checked at most once for each simulation time.
+     */
+    private void checkHostOwners() {
+        final double time = policy.getDatacenter().getSimulation().clock();
+        if (time == lastCheckTime) {
+            return;
+        }
+
+        lastCheckTime = time;
+        final List<Host> hostList = policy.getHostList();
+        if (hostList.size() != hostOwners.length) {
+            invalidate();
+            return;
+        }
+
+        for (int i = 0; i < hostOwners.length; i++) {
+            if (ownerOf(hostList.get(i)) != hostOwners[i]) {
+                invalidate();
+                return;
+            }
+        }
+    }
+
+    private static User ownerOf(final Host host) {
+        return host instanceof SocialHost socialHost ? socialHost.owner : null;
+    }
+
+    /**
+     * Discards all computed eligible Hosts, so that they are computed again when requested.
+     * It must be called when the Host list, Host owners or social distances
+     * change in a way that is not automatically tracked.
+     */
+    public synchronized void invalidate() {
+        eligibleHosts.clear();
+        final List<Host> hostList = policy.getHostList();
+        hostOwners = hostList.stream().map(SocialHostEligibility::ownerOf).toArray(User[]::new);
+        hostPositions = new IdentityHashMap<>(hostList.size());
+        for (int i = 0; i < hostList.size(); i++) {
+            hostPositions.putIfAbsent(hostList.get(i), i);
+        }
+    }
+
+    /**
+     * Gets the number of owner and security level pairs whose eligible Hosts are currently stored.
+     * @return
+     */
+    public synchronized int getCachedEntriesNumber() {
+        return eligibleHosts.size();
+    }
+
+    /**
+     * The owner of VMs and the maximum distance to the owners of eligible Hosts.
+     */
+    private record Key(User owner, int maxHops) {}
+}
@@ -20,7 +20,10 @@ import org.cloudbus.cloudsim.vms.VmGroup;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -54,6 +57,9 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     /**@see #getHostCountForParallelSearch() */
     private int hostCountForParallelSearch;
 
+    /** @see #getHostCapacityIndex(Vm) */
+    private HostCapacityIndex hostCapacityIndex;
+
     /**
      * Creates a VmAllocationPolicy.
      */
@@ -96,16 +102,37 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     @Override
     public boolean scaleVmVertically(final VerticalVmScaling scaling) {
         if (scaling.isVmUnderloaded()) {
-            return downScaleVmVertically(scaling);
+            return updateScaledVmHost(scaling, downScaleVmVertically(scaling));
         }
 
         if (scaling.isVmOverloaded()) {
-            return upScaleVmVertically(scaling);
+            return updateScaledVmHost(scaling, upScaleVmVertically(scaling));
         }
 
         return false;
     }
 
+    /**
+     * Updates the {@link HostCapacityIndex} (if enabled) and invalidates the
+     * {@link Host#isCpuUtilizationCaching() cached CPU utilization} of the Host after a VM is scaled.
+     * @param scaling the Vm's scaling object
+     * @param scaled true if the VM was scaled, false otherwise
+     * @return the given scaled value
+     */
+    private boolean updateScaledVmHost(final VerticalVmScaling scaling, final boolean scaled) {
+        if (!scaled) {
+            return false;
+        }
+
+        final Host host = scaling.getVm().getHost();
+        if (hostCapacityIndex != null) {
+            hostCapacityIndex.update(host);
+        }
+
+        host.invalidateCpuUtilization();
+        return true;
+    }
+
     /**
      * Performs the up scaling of Vm resource associated to a given scaling object.
      *
@@ -360,5 +387,117 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     public boolean isVmMigrationSupported() {
         return false;
     }
-}
 
+    /**
+     * Gets a {@link Stream} to search a Host for a VM, which is a parallel Stream
+     * (running in the common {@link ForkJoinPool}) if the
+     * {@link #isParallelHostSearchEnabled() parallel Host search} is enabled.
+     * The Stream is kept ordered, so that operations such as {@link Stream#min(Comparator)},
+     * {@link Stream#max(Comparator)} and {@link Stream#findFirst()} select the same Host
+     * in parallel and sequentially.
+     *
+     * @param hostStream the Stream of Hosts to search
+     * @return
+     */
+    protected final Stream<Host> getHostSearchStream(final Stream<Host> hostStream) {
+        return isParallelHostSearchEnabled() ? hostStream.parallel() : hostStream;
+    }
+
+    /**
+     * Gets the Host having the minimum score among the given ones,
+     * computing the score of each Host just once
+     * (while {@link Stream#min(Comparator)} computes it at every comparison).
+     * Scores are computed in parallel if the {@link #isParallelHostSearchEnabled() parallel Host search} is enabled.
+     *
+     * <p>Hosts having the same score are selected in the order they are in the Stream
+     * (usually the order of the Host list, which is sorted by Host id).
+     * This way, the selected Host is the same in parallel and sequentially.</p>
+     *
+     * @param hostStream the Stream of candidate Hosts
+     * @param scoreFunction a function to compute the score of a Host, which must not change any Host
+     * @return an {@link Optional} containing the Host with the minimum score;
+     *         or an empty {@link Optional} if there is no candidate Host
+     * @see #findHostWithMaxScore(Stream, ToDoubleFunction)
+     */
+    protected final Optional<Host> findHostWithMinScore(final Stream<Host> hostStream, final ToDoubleFunction<Host> scoreFunction) {
+        return findHostByScore(hostStream, scoreFunction, 1);
+    }
+
+    /**
+     * Gets the Host having the maximum score among the given ones,
+     * computing the score of each Host just once.
+     * It follows the same rules as the {@link #findHostWithMinScore(Stream, ToDoubleFunction)}.
+     *
+     * @param hostStream the Stream of candidate Hosts
+     * @param scoreFunction a function to compute the score of a Host, which must not change any Host
+     * @return an {@link Optional} containing the Host with the maximum score;
+     *         or an empty {@link Optional} if there is no candidate Host
+     */
+    protected final Optional<Host> findHostWithMaxScore(final Stream<Host> hostStream, final ToDoubleFunction<Host> scoreFunction) {
+        return findHostByScore(hostStream, scoreFunction, -1);
+    }
+
+    /**
+     * Gets the Host having the minimum or maximum score among the given ones.
+     * @param hostStream the Stream of candidate Hosts
+     * @param scoreFunction a function to compute the score of a Host
+     * @param signal 1 to get the Host with the minimum score, -1 to get the one with the maximum score
+     * @return
+     */
+    private Optional<Host> findHostByScore(final Stream<Host> hostStream, final ToDoubleFunction<Host> scoreFunction, final int signal) {
+        /* A candidate is just replaced by a later one having a strictly better score.
+         * Since this reduction is associative and the Stream is ordered,
+         * the parallel Stream selects the same Host as the sequential one. */
+        return getHostSearchStream(hostStream)
+                    .map(host -> new ScoredHost(host, scoreFunction.applyAsDouble(host)))
+                    .reduce((host1, host2) -> signal * Double.compare(host1.score(), host2.score()) <= 0 ? host1 : host2)
+                    .map(ScoredHost::host);
+    }
+
+    /**
+     * Enables the {@link HostCapacityIndex} to find a suitable Host for VMs
+     * without checking every Host, for the policies supporting it
+     * (such as {@link VmAllocationPolicyFirstFit}, {@link VmAllocationPolicyRoundRobin},
+     * {@link VmAllocationPolicyBestFit} and {@link VmAllocationPolicySimple}).
+     * The Host selected for each VM is the same as without the index.
+     *
+     * <p>The index is worth it for Datacenters with a large number of Hosts,
+     * where most of them don't have enough RAM, bandwidth, storage or PEs for a VM.
+     * VMs already created (such as VMs being migrated) are still placed by
+     * checking every Host.</p>
+     *
+     * @return
+     */
+    public VmAllocationPolicy enableHostCapacityIndex() {
+        if (hostCapacityIndex == null) {
+            hostCapacityIndex = new HostCapacityIndex(this);
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the {@link HostCapacityIndex} is enabled.
+     * @return
+     * @see #enableHostCapacityIndex()
+     */
+    public boolean isHostCapacityIndexEnabled() {
+        return hostCapacityIndex != null;
+    }
+
+    /**
+     * Gets the {@link HostCapacityIndex} to find a suitable Host for a given VM.
+     * @param vm the VM to find a Host to
+     * @return an {@link Optional} containing the index;
+     *         or an empty {@link Optional} if the index is not enabled or the VM is already created
+     * @see #enableHostCapacityIndex()
+     */
+    protected Optional<HostCapacityIndex> getHostCapacityIndex(final Vm vm) {
+        return hostCapacityIndex == null || vm.isCreated() ? Optional.empty() : Optional.of(hostCapacityIndex);
+    }
+
+    /**
+     * A candidate Host together with its score to place a VM.
+     */
+    private record ScoredHost(Host host, double score) {}
+}
@@ -28,6 +28,8 @@ import org.cloudbus.cloudsim.vms.Vm;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
 
 /**
  * A <b>First Fit VM allocation policy</b>
@@ -60,6 +62,21 @@ public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract imple
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
         final List<Host> hostList = getHostList();
+        final var capacityIndex = getHostCapacityIndex(vm);
+        if (capacityIndex.isPresent()) {
+            final int position = capacityIndex.get().firstFit(vm, lastHostIndex);
+            if (position < 0) {
+                return Optional.empty();
+            }
+
+            lastHostIndex = position;
+            return Optional.of(hostList.get(position));
+        }
+
+        if (isParallelHostSearchEnabled()) {
+            return findHostForVmInParallel(vm);
+        }
+
         /* The for loop just defines the maximum number of Hosts to try.
          * When a suitable Host is found, the method returns immediately. */
         final int maxTries = hostList.size();
@@ -77,6 +94,31 @@ public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract imple
         return Optional.empty();
     }
 
+    /**
+     * Checks Hosts in parallel, starting from the {@link #getLastHostIndex() last Host where a VM was placed},
+     * to find the first one suitable for a given VM.
+     * The selected Host is the same as when Hosts are checked sequentially.
+     *
+     * @param vm the VM to find a suitable Host to
+     * @return an {@link Optional} containing a suitable Host to place the VM or an empty {@link Optional} if not found
+     */
+    private Optional<Host> findHostForVmInParallel(final Vm vm) {
+        final List<Host> hostList = getHostList();
+        final int hostCount = hostList.size();
+        final int firstIndex = lastHostIndex;
+        final OptionalInt position = IntStream.range(0, hostCount)
+                                              .parallel()
+                                              .map(i -> (firstIndex + i) % hostCount)
+                                              .filter(i -> hostList.get(i).isSuitableForVm(vm))
+                                              .findFirst();
+        if (position.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lastHostIndex = position.getAsInt();
+        return Optional.of(hostList.get(lastHostIndex));
+    }
+
     /**
      * Gets the index of the last host where a VM was placed.
      */
@@ -60,6 +60,17 @@ public class VmAllocationPolicyRoundRobin extends VmAllocationPolicyAbstract imp
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
         final var hostList = getHostList();
+        final var capacityIndex = getHostCapacityIndex(vm);
+        if (capacityIndex.isPresent()) {
+            final int position = capacityIndex.get().firstFit(vm, lastHostIndex);
+            if (position < 0) {
+                return Optional.empty();
+            }
+
+            lastHostIndex = (position + 1) % hostList.size();
+            return Optional.of(hostList.get(position));
+        }
+
         /* The for loop just defines the maximum number of Hosts to try.
          * When a suitable Host is found, the method returns immediately. */
         final int maxTries = hostList.size();
@@ -61,9 +61,14 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+        final var capacityIndex = getHostCapacityIndex(vm);
+        if (capacityIndex.isPresent()) {
+            return capacityIndex.get().worstFit(vm);
+        }
+
         final Comparator<Host> comparator = comparing(Host::isActive).thenComparingLong(Host::getFreePesNumber);
 
-        final var hostStream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
+        final var hostStream = getHostSearchStream(this.<Host>getHostList().stream());
         return hostStream.filter(host -> host.isSuitableForVm(vm)).max(comparator);
     }
 
@@ -0,0 +1,139 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A priority queue of the underloaded Hosts that VMs may be migrated from,
+ * sorted by the CPU utilization of Hosts (the least utilized Host first).
+ * It's used by a {@link VmAllocationPolicyMigrationAbstract} to select the underloaded Hosts
+ * in order, without checking all Hosts again each time a new one is selected.
+ *
+ * <p>Hosts are checked just when the queue is created.
+ * If some Host is changed after that (such as when VMs are temporarily placed into it),
+ * it must be {@link #update(Host) updated}, since its current entry in the queue is outdated.
+ * Outdated entries are just ignored when Hosts are {@link #poll() polled}.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class UnderloadedHostQueue {
+    /**
+     * Sorts entries by the CPU utilization of Hosts, then by their position in the Host list.
+     * That ensures Hosts having the same utilization are selected in the order they are in the list.
+     */
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+        Comparator.comparingDouble(Entry::utilization).thenComparingInt(Entry::index);
+
+    private final PriorityQueue<Entry> queue;
+
+    /**
+     * The current entry of each Host inside the {@link #queue}.
+     * Entries in the queue that are not here anymore are outdated and just ignored.
+     */
+    private final Map<Host, Entry> entries;
+
+    /**
+     * The position of each Host in the Host list.
+     */
+    private final Map<Host, Integer> positions;
+
+    /**
+     * The Hosts that must not be selected.
+     * Since Hosts may be added to such a set after the queue is created, it's checked when Hosts are polled.
+     */
+    private final Set<? extends Host> excludedHosts;
+
+    private final Predicate<Host> underloadedPredicate;
+    private final ToDoubleFunction<Host> utilizationFunction;
+
+    /**
+     * Creates a queue of underloaded Hosts.
+     * @param hostList the Hosts to check
+     * @param excludedHosts the Hosts that must not be selected
+     * @param underloadedPredicate a {@link Predicate} that checks if a Host is underloaded and may have VMs migrated from
+     * @param utilizationFunction a function that gets the current CPU utilization of a Host
+     */
+    UnderloadedHostQueue(
+        final List<? extends Host> hostList,
+        final Set<? extends Host> excludedHosts,
+        final Predicate<Host> underloadedPredicate,
+        final ToDoubleFunction<Host> utilizationFunction)
+    {
+        this.queue = new PriorityQueue<>(ENTRY_COMPARATOR);
+        this.entries = new IdentityHashMap<>();
+        this.positions = new IdentityHashMap<>();
+        this.excludedHosts = excludedHosts;
+        this.underloadedPredicate = underloadedPredicate;
+        this.utilizationFunction = utilizationFunction;
+
+        int index = 0;
+        for (final Host host : hostList) {
+            positions.put(host, index++);
+            update(host);
+        }
+    }
+
+    /**
+     * Checks a Host again, after it was changed.
+     * If it's not underloaded anymore, it's removed from the queue.
+     * Otherwise, it's placed according to its current CPU utilization.
+     * @param host the Host to check
+     */
+    void update(final Host host) {
+        entries.remove(host);
+        if (!excludedHosts.contains(host) && underloadedPredicate.test(host)) {
+            final var entry = new Entry(utilizationFunction.applyAsDouble(host), positions.get(host), host);
+            entries.put(host, entry);
+            queue.add(entry);
+        }
+    }
+
+    /**
+     * Removes the least utilized underloaded Host from the queue.
+     * @return the least utilized underloaded Host or {@link Host#NULL} if there isn't any
+     */
+    Host poll() {
+        while (!queue.isEmpty()) {
+            final Entry entry = queue.poll();
+            if (entries.get(entry.host()) == entry) {
+                entries.remove(entry.host());
+                if (!excludedHosts.contains(entry.host())) {
+                    return entry.host();
+                }
+            }
+        }
+
+        return Host.NULL;
+    }
+
+    /**
+     * The CPU utilization of an underloaded Host when it was checked.
+     */
+    private record Entry(double utilization, int index, Host host) {}
+}
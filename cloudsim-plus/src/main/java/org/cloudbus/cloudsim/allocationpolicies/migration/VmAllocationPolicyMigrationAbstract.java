@@ -19,6 +19,7 @@ import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparingDouble;
@@ -68,6 +69,16 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     /** @see #areHostsOverloaded() */
     private boolean hostsOverloaded;
 
+    /**
+     * The what-if model used to evaluate a new VM placement,
+     * or null if the {@link #enableShadowPlacement() shadow placement} is disabled
+     * or not supported by the {@link #getVmSelectionPolicy() VmSelectionPolicy}.
+     */
+    private VmPlacementShadow placementShadow;
+
+    /** @see #enableShadowPlacement() */
+    private boolean shadowPlacementRequested;
+
     /**
      * Creates a VmAllocationPolicy.
      * It uses a {@link #DEF_UNDERLOAD_THRESHOLD default under utilization threshold}.
@@ -104,6 +115,10 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> overloadedHosts = getOverloadedHosts();
         this.hostsOverloaded = !overloadedHosts.isEmpty();
         printOverUtilizedHosts(overloadedHosts);
+        if (placementShadow != null) {
+            return getOptimizedAllocationMapFromShadow(overloadedHosts);
+        }
+
         saveAllocation();
 
         final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
@@ -116,6 +131,90 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return migrationMap;
     }
 
+    /**
+     * Computes the migration map over the {@link #enableShadowPlacement() shadow placement},
+     * which is discarded at the end, since no Host was changed.
+     *
+     * @param overloadedHosts the List of over utilized hosts
+     * @return the migration map
+     */
+    private Map<Vm, Host> getOptimizedAllocationMapFromShadow(final Set<Host> overloadedHosts) {
+        try {
+            final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
+            updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
+            return migrationMap;
+        } finally {
+            placementShadow.clear();
+        }
+    }
+
+    /**
+     * Enables the evaluation of new VM placements over a shadow (what-if) model of the Hosts.
+     * By default, the policy evaluates a new placement by temporarily
+     * destroying and creating VMs into the actual Hosts,
+     * then restoring the original placement.
+     * The shadow model instead keeps just the VMs supposed to be removed from or placed into each Host,
+     * together with the resources they release or require.
+     * This way, Hosts are not changed until the final migration map is performed by the Datacenter.
+     *
+     * <p>The shadow placement is just used if the {@link #getVmSelectionPolicy() VmSelectionPolicy}
+     * {@link VmSelectionPolicy#isSelectionFromListSupported() supports} selecting VMs
+     * from the ones supposed to remain inside a Host.
+     * Otherwise, new placements are still evaluated by temporarily changing the Hosts.
+     * As when a VM is temporarily created into a Host, a VM supposed to be placed into a Host
+     * is considered to require its entire MIPS capacity.</p>
+     *
+     * @return
+     */
+    public VmAllocationPolicy enableShadowPlacement() {
+        shadowPlacementRequested = true;
+        updatePlacementShadow();
+        return this;
+    }
+
+    /**
+     * Creates the {@link #enableShadowPlacement() shadow placement} model if it was requested
+     * and the current {@link #getVmSelectionPolicy() VmSelectionPolicy} supports it,
+     * or discards it otherwise.
+     */
+    private void updatePlacementShadow() {
+        if (!shadowPlacementRequested || !vmSelectionPolicy.isSelectionFromListSupported()) {
+            if (shadowPlacementRequested) {
+                LOGGER.warn(
+                    "{}: {} doesn't support selecting VMs from a list. VM placements will be evaluated by temporarily changing Hosts.",
+                    getClass().getSimpleName(), vmSelectionPolicy.getClass().getSimpleName());
+            }
+
+            placementShadow = null;
+        } else if (placementShadow == null) {
+            placementShadow = new VmPlacementShadow();
+        }
+    }
+
+    /**
+     * Checks if the {@link #enableShadowPlacement() shadow placement} is enabled
+     * and supported by the current {@link #getVmSelectionPolicy() VmSelectionPolicy}.
+     * @return
+     */
+    public boolean isShadowPlacementEnabled() {
+        return placementShadow != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The parallel search is just enabled when the {@link #enableShadowPlacement() shadow placement} is enabled.
+     * Otherwise, VMs are temporarily created into candidate Hosts to check if they will be overloaded,
+     * what cannot be performed in parallel.
+     * </p>
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isParallelHostSearchEnabled() {
+        return placementShadow != null && super.isParallelHostSearchEnabled();
+    }
+
     /**
      * Updates the  map of VMs that will be migrated from under utilized hosts.
      *
@@ -147,6 +246,8 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         final Set<Host> ignoredTargetHosts = getIgnoredHosts(overloadedHosts, switchedOffHosts);
 
         final int numberOfHosts = getHostList().size();
+        final var underloadedHosts = new UnderloadedHostQueue(
+            getHostList(), ignoredSourceHosts, this::isUnderloadedHostCandidate, this::getHostCpuPercentUtilization);
 
         this.hostsUnderloaded = false;
         while (true) {
@@ -154,7 +255,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
                 break;
             }
 
-            final Host underloadedHost = getUnderloadedHost(ignoredSourceHosts);
+            final Host underloadedHost = underloadedHosts.poll();
             if (Host.NULL.equals(underloadedHost)) {
                 break;
             }
@@ -168,12 +269,15 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
             final var vmsToMigrateList = getVmsToMigrateFromUnderUtilizedHost(underloadedHost);
             if (!vmsToMigrateList.isEmpty()) {
                 logVmsToBeReallocated(underloadedHost, vmsToMigrateList);
-                final Map<Vm, Host> newVmPlacement = getNewVmPlacementFromUnderloadedHost(
-                    vmsToMigrateList,
-                    ignoredTargetHosts);
-
-                ignoredSourceHosts.addAll(extractHostListFromMigrationMap(newVmPlacement));
-                migrationMap.putAll(newVmPlacement);
+                final var newVmPlacement = new HashMap<Vm, Host>();
+                if (placeVmsFromUnderloadedHost(vmsToMigrateList, ignoredTargetHosts, newVmPlacement)) {
+                    ignoredSourceHosts.addAll(extractHostListFromMigrationMap(newVmPlacement));
+                    migrationMap.putAll(newVmPlacement);
+                } else {
+                    /*The VMs placed before the placement was cancelled are kept into their target Hosts,
+                    changing the utilization of such Hosts.*/
+                    newVmPlacement.values().forEach(underloadedHosts::update);
+                }
             }
         }
     }
@@ -227,7 +331,31 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     protected double getPowerDifferenceAfterAllocation(final Host host, final Vm vm){
         final double powerAfterAllocation = getPowerAfterAllocation(host, vm);
         if (powerAfterAllocation > 0) {
-            return powerAfterAllocation - host.getPowerModel().getPower();
+            return powerAfterAllocation - getHostPower(host);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Gets the current power consumption of a Host, considering the VMs supposed to be
+     * placed into or removed from it by the {@link #enableShadowPlacement() shadow placement}.
+     * @param host the host to get the power consumption
+     * @return the host power consumption or 0 if it could not be determined
+     */
+    private double getHostPower(final Host host) {
+        if (placementShadow == null || !placementShadow.isChanged(host)) {
+            return host.getPowerModel().getPower();
+        }
+
+        if (!host.isActive()) {
+            return 0;
+        }
+
+        try {
+            return host.getPowerModel().getPower(getHostCpuMipsUtilization(host) / host.getTotalMipsCapacity());
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Power consumption for {} could not be determined: {}", host, e.getMessage());
         }
 
         return 0;
@@ -242,6 +370,11 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      *         false otherwise
      */
     private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm vm) {
+        if (placementShadow != null) {
+            final double usagePercent = placementShadow.getCpuMipsRequestedAfterPlacing(host, vm) / host.getTotalMipsCapacity();
+            return !isHostOverloaded(host, usagePercent);
+        }
+
         final var tempVm = new VmSocial(vm);
 
         if (!host.createTemporaryVm(tempVm).fully()) {
@@ -263,7 +396,34 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      */
     @Override
     public boolean isHostOverloaded(final Host host) {
-        return isHostOverloaded(host, host.getCpuPercentUtilization());
+        return isHostOverloaded(host, getHostCpuPercentUtilization(host));
+    }
+
+    /**
+     * Gets the current total CPU utilization (in MIPS) of a Host.
+     * While a new VM placement is evaluated over the {@link #enableShadowPlacement() shadow placement},
+     * it considers the VMs supposed to be removed from or placed into the Host.
+     * Sub-classes must use it instead of {@link Host#getCpuMipsUtilization()}
+     * to compare candidate Hosts for a VM.
+     *
+     * @param host the Host to get the CPU utilization
+     * @return
+     */
+    protected double getHostCpuMipsUtilization(final Host host) {
+        return placementShadow == null ? host.getCpuMipsUtilization() : placementShadow.getCpuMipsUtilization(host);
+    }
+
+    /**
+     * Gets the current percentage of CPU capacity (MIPS %) used by a Host.
+     * While a new VM placement is evaluated over the {@link #enableShadowPlacement() shadow placement},
+     * it considers the VMs supposed to be removed from or placed into the Host.
+     *
+     * @param host the Host to get the CPU utilization
+     * @return the CPU utilization percentage (between [0 and 1])
+     * @see #getHostCpuMipsUtilization(Host)
+     */
+    protected double getHostCpuPercentUtilization(final Host host) {
+        return placementShadow == null ? host.getCpuPercentUtilization() : placementShadow.getCpuPercentUtilization(host);
     }
 
     /**
@@ -338,20 +498,49 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @see #findHostForVmInternal(Vm, Stream)
      */
     private Optional<Host> findHostForVm(final Vm vm, final Set<? extends Host> excludedHosts, final Predicate<Host> predicate) {
-        final var hostStream = this.getHostList().stream()
+        final var hostStream = getCandidateHostStream(vm)
             .filter(host -> !excludedHosts.contains(host))
-            .filter(host -> host.isSuitableForVm(vm))
+            .filter(host -> isSuitableForVm(host, vm))
             .filter(host -> isNotHostOverloadedAfterAllocation(host, vm))
             .filter(predicate);
 
         return findHostForVmInternal(vm, hostStream);
     }
 
+    /**
+     * Checks if a Host has enough resources to place a VM,
+     * considering the {@link #enableShadowPlacement() shadow placement} (if enabled).
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return
+     */
+    private boolean isSuitableForVm(final Host host, final Vm vm) {
+        return placementShadow == null ? host.isSuitableForVm(vm) : placementShadow.isSuitableForVm(host, vm);
+    }
+
+    /**
+     * Gets a {@link Stream} of the Hosts that may be selected to place a given VM,
+     * before any filtering is applied.
+     * It includes all Hosts by default, but sub-classes can override it to restrict
+     * the Hosts a VM is allowed to be placed into, avoiding to check the resources of the other ones.
+     *
+     * @param vm the VM to find a Host to be placed into
+     * @return a {@link Stream} containing the candidate Hosts for the VM
+     * @see #findHostForVm(Vm, Set, Predicate)
+     */
+    protected Stream<Host> getCandidateHostStream(final Vm vm) {
+        return this.<Host>getHostList().stream();
+    }
+
     /**
      * Applies additional filters to the Hosts Stream and performs the actual Host selection.
      * This method is a Stream's final operation, that it, it closes the Stream and returns an {@link Optional} value.
      *
-     * <p>This method can be overridden by sub-classes to change the method used to select the Host for the given VM.</p>
+     * <p>This method can be overridden by sub-classes to change the method used to select the Host for the given VM.
+     * They should use {@link #findHostWithMinScore(Stream, ToDoubleFunction)} or
+     * {@link #findHostWithMaxScore(Stream, ToDoubleFunction)} to select the Host,
+     * so that candidate Hosts are evaluated in parallel when the
+     * {@link #isParallelHostSearchEnabled() parallel Host search} is enabled.</p>
      *
      * @param vm the VM to find a Host to be placed into
      * @param hostStream a {@link Stream} containing the Hosts after passing the basic filtering
@@ -359,10 +548,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @see #findHostForVm(Vm, Set)
      */
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Stream<Host> hostStream){
-        final Comparator<Host> hostPowerConsumptionComparator =
-            comparingDouble(host -> getPowerDifferenceAfterAllocation(host, vm));
-
-        return hostStream.min(hostPowerConsumptionComparator);
+        return findHostWithMinScore(hostStream, host -> getPowerDifferenceAfterAllocation(host, vm));
     }
 
     /**
@@ -421,13 +607,15 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param vmsToMigrate the list of VMs to migrate from the underloaded Host
      * @param excludedHosts the list of hosts that aren't selected as
      * destination hosts
-     * @return the new vm placement for the given VMs or an empty Map if no suitable Host was found
+     * @param migrationMap the map where the new vm placement for the given VMs is added.
+     *                     If some VM cannot be placed, it contains just the VMs placed before that one.
+     * @return true if all VMs were placed, false if no suitable Host was found for some VM
      */
-    private Map<Vm, Host> getNewVmPlacementFromUnderloadedHost(
+    private boolean placeVmsFromUnderloadedHost(
         final List<? extends Vm> vmsToMigrate,
-        final Set<? extends Host> excludedHosts)
+        final Set<? extends Host> excludedHosts,
+        final Map<Vm, Host> migrationMap)
     {
-        final var migrationMap = new HashMap<Vm, Host>();
         sortByCpuUtilization(vmsToMigrate, getDatacenter().getSimulation().clock());
         for (final Vm vm : vmsToMigrate) {
             //try to find a target Host to place a VM from an underloaded Host that is not underloaded too
@@ -436,12 +624,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
                 LOGGER.warn(
                     "{}: VmAllocationPolicy: A new Host, which isn't also underloaded or won't be overloaded, couldn't be found to migrate {}. Migration of VMs from the underloaded {} cancelled.",
                     getDatacenter().getSimulation().clockStr(), vm, vm.getHost());
-                return new HashMap<>();
+                return false;
             }
             addVmToMigrationMap(migrationMap, vm, optional.get());
         }
 
-        return migrationMap;
+        return true;
     }
 
     /**
@@ -463,7 +651,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         used by the previous VM will be considered when
         assessing the suitability of such a Host for the next VM.
          */
-        targetHost.createTemporaryVm(vm);
+        if (placementShadow == null) {
+            targetHost.createTemporaryVm(vm);
+        } else {
+            placementShadow.placeVm(targetHost, vm);
+        }
+
         migrationMap.put(vm, targetHost);
     }
 
@@ -490,7 +683,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         */
         final var vmsToMigrateList = new LinkedList<Vm>();
         while (true) {
-            final var optionalVm = getVmSelectionPolicy().getVmToMigrate(host);
+            final var optionalVm = selectVmToMigrate(host);
             if (optionalVm.isEmpty()) {
                 break;
             }
@@ -499,7 +692,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
             vmsToMigrateList.add(vm);
             /*Temporarily destroys the selected VM into the overloaded Host so that
             the loop gets VMs from such a Host until it is not overloaded anymore.*/
-            host.destroyTemporaryVm(vm);
+            if (placementShadow == null) {
+                host.destroyTemporaryVm(vm);
+            } else {
+                placementShadow.removeVm(host, vm);
+            }
+
             if (!isHostOverloaded(host)) {
                 break;
             }
@@ -508,6 +706,20 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return vmsToMigrateList;
     }
 
+    /**
+     * Selects a VM to migrate from a Host using the {@link #getVmSelectionPolicy() VmSelectionPolicy},
+     * considering just the VMs not removed from the Host by the {@link #enableShadowPlacement() shadow placement}.
+     * @param host the Host to select a VM from
+     * @return
+     */
+    private Optional<Vm> selectVmToMigrate(final Host host) {
+        if (placementShadow == null) {
+            return getVmSelectionPolicy().getVmToMigrate(host);
+        }
+
+        return getVmSelectionPolicy().getVmToMigrate(host, placementShadow.getMigratableVms(host));
+    }
+
     /**
      * Gets the VMs to migrate from under utilized host.
      *
@@ -550,27 +762,24 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Gets the most underloaded Host.
+     * Checks if a Host is underloaded and may have VMs migrated from.
      * If a Host is underloaded but it has VMs migrating in,
-     * then it's not included in the returned List
+     * then VMs are not migrated from it
      * because the VMs to be migrated to move the Host from
      * the underload state already are in migration to it.
      * Likewise, if all VMs are migrating out, nothing has to be
      * done anymore. It just has to wait the VMs to finish
      * the migration.
      *
-     * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
-     * @return the most under utilized host or {@link Host#NULL} if no Host is found
+     * @param host the Host to check
+     * @return
+     * @see UnderloadedHostQueue
      */
-    private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
-            .filter(host -> !excludedHosts.contains(host))
-            .filter(Host::isActive)
-            .filter(this::isHostUnderloaded)
-            .filter(host -> host.getVmsMigratingIn().isEmpty())
-            .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
-            .orElse(Host.NULL);
+    private boolean isUnderloadedHostCandidate(final Host host) {
+        return host.isActive()
+            && isHostUnderloaded(host)
+            && host.getVmsMigratingIn().isEmpty()
+            && notAllVmsAreMigratingOut(host);
     }
 
     private double getHostCpuPercentRequested(final Host host) {
@@ -583,6 +792,10 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return
      */
     private double getHostTotalRequestedMips(final Host host) {
+        if (placementShadow != null) {
+            return placementShadow.getCpuMipsRequested(host);
+        }
+
         return host.getVmList().stream()
             .mapToDouble(Vm::getTotalCpuMipsRequested)
             .sum();
@@ -597,7 +810,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return true if at least one VM isn't migrating, false if all VMs are migrating
      */
     private boolean notAllVmsAreMigratingOut(final Host host) {
-        return host.getVmList().stream().anyMatch(vm -> !vm.isInMigration());
+        return getHostVmList(host).stream().anyMatch(vm -> !vm.isInMigration());
     }
 
     /**
@@ -693,14 +906,22 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      */
     protected double getUtilizationOfCpuMips(final Host host) {
         double hostUtilizationMips = 0;
-        for (final Vm vm : host.getVmList()) {
+        for (final Vm vm : getHostVmList(host)) {
             final double additionalMips = additionalCpuUtilizationDuringMigration(host, vm);
-            hostUtilizationMips += additionalMips + host.getTotalAllocatedMipsForVm(vm);
+            hostUtilizationMips += additionalMips + getTotalAllocatedMipsForVm(host, vm);
         }
 
         return hostUtilizationMips;
     }
 
+    private List<Vm> getHostVmList(final Host host) {
+        return placementShadow == null ? host.getVmList() : placementShadow.getVmList(host);
+    }
+
+    private double getTotalAllocatedMipsForVm(final Host host, final Vm vm) {
+        return placementShadow == null ? host.getTotalAllocatedMipsForVm(vm) : placementShadow.getTotalAllocatedMipsForVm(host, vm);
+    }
+
     /**
      * Calculate additional potential CPU usage of a VM migrating into a given Host.
      * @param host the Hosts that is being computed the current utilization of CPU MIPS
@@ -720,6 +941,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     @Override
     public final void setVmSelectionPolicy(final VmSelectionPolicy vmSelectionPolicy) {
         this.vmSelectionPolicy = Objects.requireNonNull(vmSelectionPolicy);
+        updatePlacementShadow();
     }
 
     @Override
@@ -12,7 +12,6 @@ import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -85,6 +84,6 @@ public class VmAllocationPolicyMigrationBestFitStaticThreshold extends VmAllocat
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Stream<Host> hostStream) {
         /*It's ignoring the super class intentionally to avoid the additional filtering performed there
         * and to apply a different method to select the Host to place the VM.*/
-        return hostStream.max(Comparator.comparingDouble(Host::getCpuMipsUtilization));
+        return findHostWithMaxScore(hostStream, this::getHostCpuMipsUtilization);
     }
 }
@@ -0,0 +1,139 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.allocationpolicies.SocialHostEligibility;
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A {@link VmAllocationPolicy} that uses a Static CPU utilization Threshold (THR) to
+ * detect host {@link #getUnderUtilizationThreshold() under} and
+ * {@link #getOverUtilizationThreshold(Host)} over} utilization,
+ * which just places a {@link VmSocial} into {@link SocialHost}s trusted by the VM owner.
+ *
+ * <p>A Host is trusted when its owner is up to {@link VmSocial#securityLevel} friendship hops
+ * away from the VM owner (see {@link SocialHostEligibility#isTrusted(int, int)}).
+ * Such a constraint is enforced both for the initial placement and for every migration.
+ * The trusted Hosts are precomputed for each VM owner and security level,
+ * so that just them are checked to place a VM, without querying the social graph for each Host.</p>
+ *
+ * <p>By default, it's a <b>Worst Fit policy</b> which selects the trusted Host having the least used amount of CPU
+ * MIPS to place a given VM, <b>disregarding energy consumption</b>.
+ * It can be changed to a Best Fit policy by {@link #setBestFit(boolean)}.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class VmAllocationPolicyMigrationStaticThresholdSocial extends VmAllocationPolicyMigrationStaticThreshold {
+    private final SocialHostEligibility hostEligibility;
+
+    /**
+     * @see #setBestFit(boolean)
+     */
+    private boolean bestFit;
+
+    /**
+     * Creates a VmAllocationPolicyMigrationStaticThresholdSocial.
+     * It uses a {@link #DEF_OVER_UTILIZATION_THRESHOLD default over utilization threshold}
+     * and a {@link #DEF_UNDERLOAD_THRESHOLD default under utilization threshold}.
+     *
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     * @see #setUnderUtilizationThreshold(double)
+     * @see #setOverUtilizationThreshold(double)
+     */
+    public VmAllocationPolicyMigrationStaticThresholdSocial(final VmSelectionPolicy vmSelectionPolicy) {
+        this(vmSelectionPolicy, DEF_OVER_UTILIZATION_THRESHOLD);
+    }
+
+    public VmAllocationPolicyMigrationStaticThresholdSocial(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double overUtilizationThreshold)
+    {
+        this(vmSelectionPolicy, overUtilizationThreshold, null);
+    }
+
+    /**
+     * Creates a new VmAllocationPolicy, changing the {@link Function} to select a Host for a Vm.
+     * @param vmSelectionPolicy the policy that defines how VMs are selected for migration
+     * @param overUtilizationThreshold the over utilization threshold
+     * @param findHostForVmFunction a {@link Function} to select a Host for a given Vm.
+     *                              Passing null makes the Function to be set as the default {@link #findHostForVm(Vm)}.
+     * @see VmAllocationPolicy#setFindHostForVmFunction(BiFunction)
+     */
+    public VmAllocationPolicyMigrationStaticThresholdSocial(
+        final VmSelectionPolicy vmSelectionPolicy,
+        final double overUtilizationThreshold,
+        final BiFunction<VmAllocationPolicy, Vm, Optional<Host>> findHostForVmFunction)
+    {
+        super(vmSelectionPolicy, overUtilizationThreshold, findHostForVmFunction);
+        this.hostEligibility = new SocialHostEligibility(this);
+    }
+
+    /**
+     * Gets just the Hosts trusted by the VM owner, in the order of the Host list.
+     * @param vm {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Stream<Host> getCandidateHostStream(final Vm vm) {
+        return hostEligibility.stream(vm);
+    }
+
+    /**
+     * Gets the trusted Host having the most available MIPS capacity (min used MIPS)
+     * or the least available MIPS capacity (max used MIPS) if it's a {@link #isBestFit() Best Fit} policy.
+     *
+     * <p>This method is ignoring the additional filtering performed by the super class.
+     * This way, Host selection is performed ignoring energy consumption.
+     * However, all the basic filters defined in the super class are ensured, since
+     * this method is called just after they are applied.
+     * </p>
+     *
+     * @param vm {@inheritDoc}
+     * @param hostStream {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Optional<Host> findHostForVmInternal(final Vm vm, final Stream<Host> hostStream) {
+        return bestFit ?
+                   findHostWithMaxScore(hostStream, this::getHostCpuMipsUtilization) :
+                   findHostWithMinScore(hostStream, this::getHostCpuMipsUtilization);
+    }
+
+    /**
+     * Checks if it's a Best Fit policy, which selects the trusted Host having the least
+     * available MIPS capacity, or a Worst Fit one (the default), which selects the trusted Host
+     * having the most available MIPS capacity.
+     * @return
+     */
+    public boolean isBestFit() {
+        return bestFit;
+    }
+
+    /**
+     * Defines if it's a Best Fit policy, which selects the trusted Host having the least
+     * available MIPS capacity, or a Worst Fit one (the default), which selects the trusted Host
+     * having the most available MIPS capacity.
+     * @param bestFit true to use Best Fit, false to use Worst Fit
+     * @return
+     */
+    public VmAllocationPolicyMigrationStaticThresholdSocial setBestFit(final boolean bestFit) {
+        this.bestFit = bestFit;
+        return this;
+    }
+
+    /**
+     * Gets the object that keeps track of the Hosts trusted by each VM owner.
+     * @return
+     */
+    public SocialHostEligibility getHostEligibility() {
+        return hostEligibility;
+    }
+}
@@ -12,7 +12,6 @@ import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -72,6 +71,6 @@ public class VmAllocationPolicyMigrationWorstFitStaticThreshold extends VmAlloca
     protected Optional<Host> findHostForVmInternal(final Vm vm, final Stream<Host> hostStream) {
         /*It's ignoring the super class to intentionally avoid the additional filtering performed there
         * and to apply a different method to select the Host to place the VM.*/
-        return hostStream.min(Comparator.comparingDouble(Host::getCpuMipsUtilization));
+        return findHostWithMinScore(hostStream, this::getHostCpuMipsUtilization);
     }
 }
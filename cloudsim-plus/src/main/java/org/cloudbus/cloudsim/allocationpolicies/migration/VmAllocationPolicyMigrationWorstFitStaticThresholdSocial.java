@@ -13,7 +13,6 @@ import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSocial;
 
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -81,6 +80,6 @@ public class VmAllocationPolicyMigrationWorstFitStaticThresholdSocial extends Vm
                 stream = hostStream.filter(host->this.socialVmGetViableHosts((VmSocial)vm).contains(host));
         }
         */
-        return stream.min(Comparator.comparingDouble(Host::getCpuMipsUtilization));
+        return findHostWithMinScore(stream, this::getHostCpuMipsUtilization);
     }
 }
@@ -0,0 +1,340 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.schedulers.MipsShare;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.*;
+
+/**
+ * A what-if model of a VM placement, which enables a {@link VmAllocationPolicyMigrationAbstract}
+ * to evaluate a new placement for VMs without actually destroying and creating VMs into Hosts.
+ *
+ * <p>It's an overlay over the Hosts of the policy, which keeps just the changes
+ * on Hosts that are supposed to have VMs removed from or placed into them.
+ * The first time a Host is changed, a {@link HostShadow} is created for it
+ * (a copy-on-write), storing the VMs removed and placed,
+ * together with the amount of resources they release or require.
+ * Every query for a Host that was not changed is forwarded to the Host itself.</p>
+ *
+ * <p>A VM placed into a Host is supposed to require its entire MIPS,
+ * RAM, Bandwidth and Storage capacity, as when it's created into that Host.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class VmPlacementShadow {
+    /**
+     * The changes performed on each Host, where Hosts without changes are not included.
+     */
+    private final Map<Host, HostShadow> hostShadows;
+
+    VmPlacementShadow() {
+        this.hostShadows = new HashMap<>();
+    }
+
+    /**
+     * Supposes a VM is removed from a given Host.
+     * @param host the Host the VM is placed into
+     * @param vm the VM to remove
+     */
+    void removeVm(final Host host, final Vm vm) {
+        getHostShadow(host).removeVm(vm);
+    }
+
+    /**
+     * Supposes a VM is placed into a given Host.
+     * @param host the Host to place the VM into
+     * @param vm the VM to place
+     */
+    void placeVm(final Host host, final Vm vm) {
+        getHostShadow(host).placeVm(vm);
+    }
+
+    private HostShadow getHostShadow(final Host host) {
+        return hostShadows.computeIfAbsent(host, HostShadow::new);
+    }
+
+    /**
+     * Discards all changes, so that the model reflects the actual VM placement again.
+     */
+    void clear() {
+        hostShadows.clear();
+    }
+
+    /**
+     * Gets the VMs supposed to be placed into a Host,
+     * which are the VMs actually placed into it that were not removed,
+     * followed by the ones placed.
+     * @param host the Host to get the VMs
+     * @return
+     */
+    List<Vm> getVmList(final Host host) {
+        final var shadow = hostShadows.get(host);
+        return shadow == null ? host.getVmList() : shadow.getVmList();
+    }
+
+    /**
+     * Gets the VMs supposed to be placed into a Host which are not in migration.
+     * @param host the Host to get the VMs
+     * @return
+     * @see Host#getMigratableVms()
+     */
+    List<Vm> getMigratableVms(final Host host) {
+        final var shadow = hostShadows.get(host);
+        if (shadow == null) {
+            return host.getMigratableVms();
+        }
+
+        final var vmList = new ArrayList<Vm>();
+        for (final Vm vm : shadow.getVmList()) {
+            if (!vm.isInMigration()) {
+                vmList.add(vm);
+            }
+        }
+
+        return vmList;
+    }
+
+    /**
+     * Gets the total CPU MIPS supposed to be used by all VMs inside a Host.
+     * @param host the Host to get the CPU utilization
+     * @return
+     * @see Host#getCpuMipsUtilization()
+     */
+    double getCpuMipsUtilization(final Host host) {
+        final var shadow = hostShadows.get(host);
+        if (shadow == null) {
+            return host.getCpuMipsUtilization();
+        }
+
+        return shadow.getVmList().stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+    }
+
+    /**
+     * Gets the percentage of CPU capacity supposed to be used by all VMs inside a Host.
+     * @param host the Host to get the CPU utilization
+     * @return the CPU utilization percentage (between [0 and 1])
+     * @see Host#getCpuPercentUtilization()
+     */
+    double getCpuPercentUtilization(final Host host) {
+        if (!hostShadows.containsKey(host)) {
+            return host.getCpuPercentUtilization();
+        }
+
+        final double totalMips = host.getTotalMipsCapacity();
+        if (totalMips == 0) {
+            return 0;
+        }
+
+        final double utilization = getCpuMipsUtilization(host) / totalMips;
+        return utilization > 1 && utilization < 1.01 ? 1 : utilization;
+    }
+
+    /**
+     * Gets the total CPU MIPS supposed to be requested by all VMs inside a Host.
+     * @param host the Host to get the requested MIPS
+     * @return
+     */
+    double getCpuMipsRequested(final Host host) {
+        final var shadow = hostShadows.get(host);
+        if (shadow == null) {
+            return host.getVmList().stream().mapToDouble(Vm::getTotalCpuMipsRequested).sum();
+        }
+
+        return shadow.getVmList().stream().mapToDouble(shadow::getRequestedMips).sum();
+    }
+
+    /**
+     * Gets the total CPU MIPS supposed to be requested by all VMs inside a Host
+     * after a given VM is placed into it.
+     * @param host the Host to get the requested MIPS
+     * @param vm the VM to be placed into the Host
+     * @return
+     */
+    double getCpuMipsRequestedAfterPlacing(final Host host, final Vm vm) {
+        return getCpuMipsRequested(host) + vm.getTotalMipsCapacity();
+    }
+
+    /**
+     * Gets the total MIPS supposed to be allocated to a VM inside a Host.
+     * A VM supposed to be placed into a Host has its entire MIPS capacity allocated.
+     * @param host the Host to get the MIPS allocated to the VM
+     * @param vm the VM to get its allocated MIPS
+     * @return
+     */
+    double getTotalAllocatedMipsForVm(final Host host, final Vm vm) {
+        final var shadow = hostShadows.get(host);
+        if (shadow != null && shadow.placedVms.contains(vm)) {
+            return vm.getTotalMipsCapacity();
+        }
+
+        return host.getTotalAllocatedMipsForVm(vm);
+    }
+
+    /**
+     * Checks if a Host was supposed to have some VM removed or placed.
+     * @param host the Host to check
+     * @return
+     */
+    boolean isChanged(final Host host) {
+        return hostShadows.containsKey(host);
+    }
+
+    /**
+     * Checks if a Host is supposed to have enough resources to place a VM,
+     * including the entire VM MIPS capacity, which is allocated when the VM is migrated.
+     * For a Host that was not changed, it calls {@link Host#isSuitableForVm(Vm)}.
+     * Otherwise, the available resources of the Host are adjusted by the resources
+     * released by removed VMs and required by the placed ones.
+     *
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return true if the Host is supposed to be suitable for the VM, false otherwise
+     */
+    boolean isSuitableForVm(final Host host, final Vm vm) {
+        final var shadow = hostShadows.get(host);
+        if (shadow == null) {
+            return host.isSuitableForVm(vm) && host.getVmScheduler().isSuitableForVm(vm, new MipsShare(vm.getProcessor()));
+        }
+
+        return shadow.isSuitableForVm(vm);
+    }
+
+    /**
+     * The changes supposed to be performed on a Host.
+     */
+    private static final class HostShadow {
+        private final Host host;
+        private final Set<Vm> removedVms;
+        private final List<Vm> placedVms;
+
+        /** The amount of RAM released by removed VMs, minus the amount required by placed ones. */
+        private long ram;
+
+        /** The amount of Bandwidth released by removed VMs, minus the amount required by placed ones. */
+        private long bw;
+
+        /** The amount of Storage released by removed VMs, minus the amount required by placed ones. */
+        private long storage;
+
+        /** The number of PEs released by removed VMs, minus the number required by placed ones. */
+        private long pes;
+
+        /** The MIPS released by removed VMs, minus the MIPS required by placed ones. */
+        private double mips;
+
+        private HostShadow(final Host host) {
+            this.host = host;
+            this.removedVms = new HashSet<>();
+            this.placedVms = new ArrayList<>();
+        }
+
+        private void removeVm(final Vm vm) {
+            if (placedVms.remove(vm)) {
+                updateResources(vm, 1);
+                return;
+            }
+
+            if (removedVms.add(vm)) {
+                ram += host.getRamProvisioner().getAllocatedResourceForVm(vm);
+                bw += host.getBwProvisioner().getAllocatedResourceForVm(vm);
+                storage += vm.getStorage().getCapacity();
+                pes += vm.getNumberOfPes();
+                mips += host.getTotalAllocatedMipsForVm(vm);
+            }
+        }
+
+        private void placeVm(final Vm vm) {
+            placedVms.add(vm);
+            updateResources(vm, -1);
+        }
+
+        /**
+         * Updates the resources available when a VM is supposed to be placed or not.
+         * @param vm the VM placed or not
+         * @param signal -1 to reduce the available resources (when the VM is placed),
+         *               1 to increase them (when the VM is not placed anymore)
+         */
+        private void updateResources(final Vm vm, final int signal) {
+            ram += signal * vm.getRam().getCapacity();
+            bw += signal * vm.getBw().getCapacity();
+            storage += signal * vm.getStorage().getCapacity();
+            pes += signal * vm.getNumberOfPes();
+            mips += signal * vm.getTotalMipsCapacity();
+        }
+
+        /**
+         * Gets the MIPS supposed to be requested by a VM inside the Host.
+         * @param vm the VM to get the requested MIPS
+         * @return the entire VM MIPS capacity if it's supposed to be placed into the Host,
+         *         its current requested MIPS otherwise
+         */
+        private double getRequestedMips(final Vm vm) {
+            return placedVms.contains(vm) ? vm.getTotalMipsCapacity() : vm.getTotalCpuMipsRequested();
+        }
+
+        private List<Vm> getVmList() {
+            final List<Vm> hostVms = host.getVmList();
+            final var vmList = new ArrayList<Vm>(hostVms.size() + placedVms.size());
+            for (final Vm vm : hostVms) {
+                if (!removedVms.contains(vm)) {
+                    vmList.add(vm);
+                }
+            }
+
+            vmList.addAll(placedVms);
+            return vmList;
+        }
+
+        private boolean isSuitableForVm(final Vm vm) {
+            if (host.isFailed()) {
+                return false;
+            }
+
+            final var requestedMips = new MipsShare(vm.getProcessor());
+            return host.getStorage().getAvailableResource() + storage >= vm.getStorage().getCapacity() &&
+                   host.getRam().getAvailableResource() + ram >= vm.getRam().getCapacity() &&
+                   host.getBw().getAvailableResource() + bw >= vm.getBw().getCapacity() &&
+                   isSuitableForPes(requestedMips);
+        }
+
+        /**
+         * Checks if the PEs supposed to be available are enough for the requested MIPS,
+         * according to the kind of VmScheduler of the Host.
+         * @param requestedMips the MIPS requested by the VM
+         * @return
+         */
+        private boolean isSuitableForPes(final MipsShare requestedMips) {
+            if (host.getVmScheduler() instanceof VmSchedulerSpaceShared) {
+                return host.getFreePesNumber() + pes >= requestedMips.pes();
+            }
+
+            return host.getWorkingPesNumber() >= requestedMips.pes() &&
+                   host.getVmScheduler().getTotalAvailableMips() + mips >= requestedMips.totalMips();
+        }
+    }
+}
@@ -505,4 +505,25 @@ public interface DatacenterBroker extends SimEntity {
      * @return
      */
     DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle);
+
+    /**
+     * Checks if Cloudlets sent to the same Datacenter with the same submission delay
+     * are submitted together in a single event, instead of one event for each Cloudlet.
+     * @return
+     * @see #setBatchCloudletSubmission(boolean)
+     */
+    boolean isBatchCloudletSubmission();
+
+    /**
+     * Enables or disables the submission of Cloudlets in batches.
+     * When enabled, all Cloudlets sent to the same Datacenter with the same
+     * submission delay are delivered in a single
+     * {@link org.cloudbus.cloudsim.core.CloudSimTag#CLOUDLET_SUBMIT_BATCH} event,
+     * reducing the number of events to process in the simulation.
+     * It's disabled by default.
+     *
+     * @param batchCloudletSubmission true to enable the submission of Cloudlets in batches, false to disable it
+     * @return
+     */
+    DatacenterBroker setBatchCloudletSubmission(boolean batchCloudletSubmission);
 }
@@ -139,6 +139,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     private boolean shutdownWhenIdle;
     private boolean vmCreationRetrySent;
 
+    /** @see #isBatchCloudletSubmission() */
+    private boolean batchCloudletSubmission;
+
     /**
      * Indicates if new VMs have arrived during simulation runtime.
      */
@@ -582,7 +585,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         if(prevLength < 0){
             final double delay = cloudlet.getSimulation().getMinTimeBetweenEvents();
             final Datacenter dc = cloudlet.getVm().getHost().getDatacenter();
-            dc.schedule(delay, CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+            dc.schedule(delay, CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING, cloudlet.getVm());
         }
 
         return true;
@@ -795,6 +798,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         final var cloudlet = (Cloudlet) evt.getData();
         cloudletsFinishedList.add(cloudlet);
         ((VmSocial) cloudlet.getVm()).addExpectedFreePesNumber(cloudlet.getNumberOfPes());
+        onVmExpectedFreePesNumberChange(cloudlet.getVm());
         LOGGER.info("{}: {}: {} finished in {} and returned to broker.", getSimulation().clockStr(), getName(), cloudlet, cloudlet.getVm());
 
         if (cloudlet.getVm().getCloudletScheduler().isEmpty()) {
@@ -806,6 +810,16 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return true;
     }
 
+    /**
+     * Notifies that the {@link Vm#getExpectedFreePesNumber() expected number of free PEs} of a VM
+     * has just changed, due to a Cloudlet mapped to it or returned from it.
+     * It does nothing by default, but allows subclasses
+     * to keep track of the free PEs of VMs.
+     *
+     * @param vm the VM whose expected free PEs has changed
+     */
+    protected void onVmExpectedFreePesNumberChange(final Vm vm) {/**/}
+
     /**
      * Request the destruction of VMs after all running cloudlets have finished and returned to the broker.
      * If there is no waiting Cloudlet, request all VMs to be destroyed.
@@ -840,10 +854,12 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             }
 
             if(isVmIdlenessVerificationRequired((VmSocial)vm)) {
+                /*The VM is sent so that the Datacenter knows which Host to update,
+                if it just updates the Hosts affected by events.*/
                 getSimulation().send(
                     new CloudSimEvent(vmDestructionDelayFunction.apply(vm),
                         vm.getHost().getDatacenter(),
-                        CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING));
+                        CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING, vm));
                 return this;
             }
         }
@@ -985,6 +1001,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
          * Cloudlets in such new list were removed just after the loop,
          * degrading performance in large scale simulations. */
         int createdCloudlets = 0;
+        final var batches = new LinkedHashMap<Datacenter, Map<Double, List<Cloudlet>>>();
         for (final var iterator = cloudletWaitingList.iterator(); iterator.hasNext(); ) {
             final CloudletSimple cloudlet = (CloudletSimple)iterator.next();
             if (!cloudlet.getLastTriedDatacenter().equals(Datacenter.NULL)) {
@@ -999,20 +1016,41 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
             }
 
             ((VmSocial) lastSelectedVm).removeExpectedFreePesNumber(cloudlet.getNumberOfPes());
+            onVmExpectedFreePesNumberChange(lastSelectedVm);
 
             logCloudletCreationRequest(cloudlet);
             cloudlet.setVm(lastSelectedVm);
             final Datacenter dc = getDatacenter(lastSelectedVm);
-            send(dc, cloudlet.getSubmissionDelay(), CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
+            if (batchCloudletSubmission) {
+                batches.computeIfAbsent(dc, key -> new LinkedHashMap<>())
+                       .computeIfAbsent(cloudlet.getSubmissionDelay(), key -> new ArrayList<>())
+                       .add(cloudlet);
+            } else {
+                send(dc, cloudlet.getSubmissionDelay(), CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
+            }
             cloudlet.setLastTriedDatacenter(dc);
             cloudletsCreatedList.add(cloudlet);
             iterator.remove();
             createdCloudlets++;
         }
 
+        sendCloudletBatches(batches);
+
         allWaitingCloudletsSubmittedToVm(createdCloudlets);
     }
 
+    /**
+     * Sends a {@link CloudSimTag#CLOUDLET_SUBMIT_BATCH} event for each group of Cloudlets
+     * that must be submitted to the same Datacenter with the same delay.
+     * @param batches a map where each key is a Datacenter and each value
+     *                is a map of Cloudlets grouped by submission delay
+     * @see #setBatchCloudletSubmission(boolean)
+     */
+    private void sendCloudletBatches(final Map<Datacenter, Map<Double, List<Cloudlet>>> batches) {
+        batches.forEach((dc, batchesByDelay) ->
+            batchesByDelay.forEach((delay, cloudlets) -> send(dc, delay, CloudSimTag.CLOUDLET_SUBMIT_BATCH, cloudlets)));
+    }
+
     private void logPostponingCloudletExecution(final Cloudlet cloudlet) {
         if(getSimulation().isAborted() || getSimulation().isAbortRequested())
             return;
@@ -1329,4 +1367,15 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.shutdownWhenIdle = shutdownWhenIdle;
         return this;
     }
+
+    @Override
+    public boolean isBatchCloudletSubmission() {
+        return batchCloudletSubmission;
+    }
+
+    @Override
+    public DatacenterBroker setBatchCloudletSubmission(final boolean batchCloudletSubmission) {
+        this.batchCloudletSubmission = batchCloudletSubmission;
+        return this;
+    }
 }
@@ -3,15 +3,9 @@ package org.cloudbus.cloudsim.brokers;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.SocialCloudlet;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.hosts.HostSimple;
-import org.cloudbus.cloudsim.hosts.SocialHost;
-import org.cloudbus.cloudsim.user.User;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.List;
 
 /**
  * A implementation of {@link DatacenterBroker} that uses a Best Fit
@@ -25,6 +19,19 @@ import java.util.HashMap;
  */
 public class DatacenterBrokerBestFitSocial extends DatacenterBrokerSimple {
 
+    /**
+     * An index of created VMs by Host owner and expected free PEs,
+     * used to find the best-fit VM without going through every created VM.
+     */
+    private final SocialVmIndex vmIndex;
+
+    /**
+     * The number of VMs from the {@link #getVmCreatedList()} already added to the {@link #vmIndex}.
+     * Since VMs are just appended to such a List, this is the position from where
+     * newly created VMs must be indexed.
+     */
+    private int indexedVmsNumber;
+
     /**
      * Creates a DatacenterBroker object.
      *
@@ -32,10 +39,16 @@ public class DatacenterBrokerBestFitSocial extends DatacenterBrokerSimple {
      */
     public DatacenterBrokerBestFitSocial(final CloudSim simulation) {
         super(simulation);
+        this.vmIndex = new SocialVmIndex();
     }
 
     /**
      * Selects the VM with the lowest number of PEs that is able to run a given Cloudlet.
+     * Just VMs placed into Hosts whose owner is trusted by the Cloudlet owner
+     * (according to the security level of the Cloudlet) are considered.
+     * In case of ties, VMs whose Host owner is exactly at the security level distance
+     * are preferred, then the ones whose Host owner is closer, then the ones
+     * whose Host belongs to the Cloudlet owner.
      * In case the algorithm can't find such a VM, it uses the
      * default DatacenterBroker VM mapper as a fallback.
      *
@@ -48,41 +61,9 @@ public class DatacenterBrokerBestFitSocial extends DatacenterBrokerSimple {
             return cloudlet.getVm();
         }
 
-        ArrayList<Vm> temp_vm_list = new ArrayList<Vm>();
-
-        for(Vm vm_choice: getVmCreatedList())
-        {
-            HashMap<User, Integer> myadjacency_list = ((SocialCloudlet)cloudlet).owner.adjacency_map;
-            if( myadjacency_list.get( ((SocialHost)(vm_choice.getHost())).owner) == ((SocialCloudlet)cloudlet).securityLevel ) {
-                temp_vm_list.add(vm_choice);
-            }
-        }
-        for(Vm vm_choice: getVmCreatedList())
-        {
-            HashMap<User, Integer> myadjacency_list = ((SocialCloudlet)cloudlet).owner.adjacency_map;
-            if( myadjacency_list.get( ((SocialHost)(vm_choice.getHost())).owner) < ((SocialCloudlet)cloudlet).securityLevel && myadjacency_list.get( ((SocialHost)(vm_choice.getHost())).owner) != 0) {
-                temp_vm_list.add(vm_choice);
-            }
-        }
-        for(Vm vm_choice: getVmCreatedList())
-        {
-            HashMap<User, Integer> myadjacency_list = ((SocialCloudlet)cloudlet).owner.adjacency_map;
-            if( myadjacency_list.get( ((SocialHost)(vm_choice.getHost())).owner) == 0) {
-                temp_vm_list.add(vm_choice);
-            }
-        }
-        //Collections.reverse(temp_vm_list);
-
-        System.out.println(temp_vm_list);
-
-        final Vm mappedVm = temp_vm_list
-            .stream()
-            .filter(vm -> vm.getExpectedFreePesNumber() >= cloudlet.getNumberOfPes())
-            .min(Comparator.comparingLong(Vm::getExpectedFreePesNumber))
-            .orElse(Vm.NULL);
-
-
-        //System.out.println(mappedVm.getCloudletScheduler().getCloudletList());
+        indexCreatedVms();
+        final var socialCloudlet = (SocialCloudlet)cloudlet;
+        final Vm mappedVm = vmIndex.findBestFit(socialCloudlet.owner, socialCloudlet.securityLevel, cloudlet.getNumberOfPes());
 
         if (mappedVm == Vm.NULL) {
             LOGGER.warn("{}: {}: {} (PEs: {}) couldn't be mapped to any suitable VM.",
@@ -95,4 +76,25 @@ public class DatacenterBrokerBestFitSocial extends DatacenterBrokerSimple {
 
         return mappedVm;
     }
+
+    /**
+     * Adds the VMs created since the last call to the {@link #vmIndex}.
+     * The index is updated when a VM finishes migrating, since its Host owner may change.
+     */
+    private void indexCreatedVms() {
+        final List<Vm> vmCreatedList = getVmCreatedList();
+        for (; indexedVmsNumber < vmCreatedList.size(); indexedVmsNumber++) {
+            final Vm vm = vmCreatedList.get(indexedVmsNumber);
+            if (vmIndex.add(vm)) {
+                /* The listener is called while the Datacenter processes the migration,
+                which may happen in parallel with other Datacenters. */
+                vm.addOnMigrationFinishListener(info -> getSimulation().runInEventOrder(() -> vmIndex.update(info.getVm())));
+            }
+        }
+    }
+
+    @Override
+    protected void onVmExpectedFreePesNumberChange(final Vm vm) {
+        vmIndex.update(vm);
+    }
 }
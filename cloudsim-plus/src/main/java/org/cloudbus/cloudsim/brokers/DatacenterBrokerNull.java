@@ -87,6 +87,8 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public void setFailedVmsRetryDelay(double failedVmsRetryDelay) {/**/}
     @Override public boolean isShutdownWhenIdle() { return false; }
     @Override public DatacenterBroker setShutdownWhenIdle(boolean shutdownWhenIdle) { return this; }
+    @Override public boolean isBatchCloudletSubmission() { return false; }
+    @Override public DatacenterBroker setBatchCloudletSubmission(boolean batchCloudletSubmission) { return this; }
     @Override public DatacenterBroker setVmComparator(Comparator<Vm> comparator) { return this; }
     @Override public void setCloudletComparator(Comparator<Cloudlet> comparator) {/**/}
     @Override public DatacenterBroker submitCloudlet(Cloudlet cloudlet) { return this; }
@@ -0,0 +1,225 @@
+package org.cloudbus.cloudsim.brokers;
+
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.*;
+
+/**
+ * An index of created VMs used by {@link DatacenterBrokerBestFitSocial} to
+ * find the best-fit VM for a Cloudlet without going through every created VM.
+ *
+ * <p>VMs are grouped into buckets by the {@link SocialHost#owner owner} of the Host
+ * where they are placed. Each bucket keeps its VMs sorted by the
+ * {@link Vm#getExpectedFreePesNumber() expected number of free PEs},
+ * so that the VM with the least expected free PEs able to run a Cloudlet
+ * is found in logarithmic time. This way, a lookup just computes the social distance
+ * from the Cloudlet owner to each Host owner, in order to get the trust tier of each bucket.</p>
+ *
+ * <p>VMs are sorted in the same order they were {@link #add(Vm) added} in case of ties,
+ * so that the selected VM is the same one that a linear search
+ * over the list of created VMs would select.
+ * The index must be {@link #update(Vm) notified} every time the
+ * expected free PEs or the Host of an indexed VM changes.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class SocialVmIndex {
+    /**
+     * Sorts VMs by the expected number of free PEs,
+     * then by the order they were added to the index.
+     */
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+        Comparator.comparingLong((Entry entry) -> entry.freePes).thenComparingLong(entry -> entry.sequence);
+
+    /**
+     * The tier of VMs whose Host owner is exactly at the security level distance from the Cloudlet owner.
+     */
+    static final int EXACT_LEVEL_TIER = 0;
+
+    /**
+     * The tier of VMs whose Host owner is closer than the security level distance
+     * (or not connected at all) to the Cloudlet owner.
+     */
+    static final int CLOSER_TIER = 1;
+
+    /**
+     * The tier of VMs whose Host belongs to the Cloudlet owner.
+     */
+    static final int OWN_HOST_TIER = 2;
+
+    /**
+     * Indicates that VMs are not eligible for a Cloudlet.
+     */
+    static final int NO_TIER = -1;
+
+    /**
+     * Buckets of VMs indexed by the Host owner, in the order they were created.
+     */
+    private final Map<User, Bucket> buckets;
+
+    /**
+     * The index entry of each VM.
+     */
+    private final Map<Vm, Entry> entries;
+
+    /**
+     * The sequence number to be assigned to the next added VM.
+     */
+    private long nextSequence;
+
+    SocialVmIndex() {
+        this.buckets = new LinkedHashMap<>();
+        this.entries = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gets the trust tier of a VM for a Cloudlet.
+     * A lower tier has precedence over the next ones in case of ties.
+     *
+     * @param distance the social distance from the Cloudlet owner to the owner of the VM's Host
+     * @param securityLevel the security level of the Cloudlet
+     * @return the tier or {@link #NO_TIER} if the VM can't run the Cloudlet
+     */
+    static int tier(final int distance, final int securityLevel) {
+        if (distance == securityLevel) {
+            return EXACT_LEVEL_TIER;
+        }
+
+        if (distance < securityLevel && distance != 0) {
+            return CLOSER_TIER;
+        }
+
+        return distance == 0 ? OWN_HOST_TIER : NO_TIER;
+    }
+
+    /**
+     * Adds a VM to the index, if it's not indexed yet.
+     * @param vm the VM to add, which must be placed into a {@link SocialHost}
+     * @return true if the VM was added, false if it was already indexed
+     */
+    boolean add(final Vm vm) {
+        if (entries.containsKey(vm)) {
+            return false;
+        }
+
+        final var entry = new Entry(vm, nextSequence++);
+        entries.put(vm, entry);
+        insert(entry);
+        return true;
+    }
+
+    /**
+     * Updates the position of a VM in the index, after its expected number of free PEs
+     * or its Host has changed. VMs that are not indexed are ignored.
+     * @param vm the VM to update
+     */
+    void update(final Vm vm) {
+        final Entry entry = entries.get(vm);
+        if (entry == null) {
+            return;
+        }
+
+        entry.bucket.vms.remove(entry);
+        insert(entry);
+    }
+
+    private void insert(final Entry entry) {
+        entry.freePes = entry.vm.getExpectedFreePesNumber();
+        entry.bucket = buckets.computeIfAbsent(((SocialHost) entry.vm.getHost()).owner, Bucket::new);
+        entry.bucket.vms.add(entry);
+    }
+
+    /**
+     * Finds the VM with the least expected number of free PEs that is able to run a Cloudlet,
+     * among the VMs whose Host owner is within the {@link #tier(int, int) trust tiers} of the Cloudlet.
+     * Ties are broken by the tier and then by the order VMs were added.
+     *
+     * @param owner the owner of the Cloudlet
+     * @param securityLevel the security level of the Cloudlet
+     * @param pes the number of PEs required by the Cloudlet
+     * @return the selected VM or {@link Vm#NULL} if no suitable VM was found
+     */
+    Vm findBestFit(final User owner, final int securityLevel, final long pes) {
+        /* Distances beyond the security level are not relevant,
+        so that just the neighbourhood of the Cloudlet owner needs to be explored. */
+        final int maxHops = Math.max(securityLevel, 0);
+        final var probe = new Entry(Vm.NULL, Long.MIN_VALUE);
+        probe.freePes = pes;
+
+        Entry best = null;
+        int bestTier = NO_TIER;
+        for (final Bucket bucket : buckets.values()) {
+            if (bucket.vms.isEmpty()) {
+                continue;
+            }
+
+            final int tier = tier(owner.distance_to(bucket.hostOwner, maxHops), securityLevel);
+            if (tier == NO_TIER) {
+                continue;
+            }
+
+            final Entry candidate = bucket.vms.ceiling(probe);
+            if (candidate != null && (best == null || isBetter(candidate, tier, best, bestTier))) {
+                best = candidate;
+                bestTier = tier;
+            }
+        }
+
+        return best == null ? Vm.NULL : best.vm;
+    }
+
+    private static boolean isBetter(final Entry candidate, final int tier, final Entry best, final int bestTier) {
+        if (candidate.freePes != best.freePes) {
+            return candidate.freePes < best.freePes;
+        }
+
+        return tier != bestTier ? tier < bestTier : candidate.sequence < best.sequence;
+    }
+
+    /**
+     * Gets the number of indexed VMs.
+     * @return
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of distinct Host owners of the indexed VMs.
+     * @return
+     */
+    int getHostOwnersNumber() {
+        return (int) buckets.values().stream().filter(bucket -> !bucket.vms.isEmpty()).count();
+    }
+
+    /**
+     * The VMs placed into Hosts of a given owner.
+     */
+    private static final class Bucket {
+        private final User hostOwner;
+        private final TreeSet<Entry> vms;
+
+        private Bucket(final User hostOwner) {
+            this.hostOwner = hostOwner;
+            this.vms = new TreeSet<>(ENTRY_COMPARATOR);
+        }
+    }
+
+    /**
+     * An indexed VM, keeping the values used to sort it,
+     * since they must not change while the VM is inside a bucket.
+     */
+    private static final class Entry {
+        private final Vm vm;
+        private final long sequence;
+        private long freePes;
+        private Bucket bucket;
+
+        private Entry(final Vm vm, final long sequence) {
+            this.vm = vm;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -19,7 +19,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -82,12 +84,14 @@ public class CloudSim implements Simulation {
     private final List<CloudSimEntity> entities;
 
     /**
-     * The queue of events that will be sent in a future simulation time.
+     * The queue of events that will be sent in a future simulation time,
+     * indexed by source entity and tag to speed up events cancellation.
+     * @see #CloudSim(double, FutureEventQueue)
      */
-    private final FutureQueue future;
+    private final FutureQueueIndexed future;
 
     /**
-     * The deferred event queue.
+     * The deferred event queue, where events are partitioned by destination entity.
      */
     private final DeferredQueue deferred;
 
@@ -132,8 +136,24 @@ public class CloudSim implements Simulation {
     private final Set<EventListener<EventInfo>> onClockTickListeners;
     private final Set<EventListener<EventInfo>> onSimulationStartListeners;
 
+    /** @see #isProcessEventsInParallel() */
     private boolean processEventsInParallel;
 
+    /**
+     * The events sent and the actions requested by the entity that is being executed
+     * by the current thread, when such an entity is executed in parallel with other ones.
+     * It's null when entities are being executed sequentially.
+     * @see #executeDatacentersInParallel(int, double)
+     */
+    private final ThreadLocal<List<PendingAction>> pendingActions;
+
+    /**
+     * The list of pending actions of the task being executed by the current thread,
+     * when it's executing a task from {@link #runInParallel(List, Function)}.
+     * @see #runInTaskOrder(Runnable)
+     */
+    private final ThreadLocal<List<PendingAction>> taskActions;
+
     /**
      * Creates a CloudSim simulation.
      * Internally it creates a CloudInformationService.
@@ -155,10 +175,42 @@ public class CloudSim implements Simulation {
      * @see CloudInformationService
      */
     public CloudSim(final double minTimeBetweenEvents) {
+        this(minTimeBetweenEvents, new FutureQueue());
+    }
+
+    /**
+     * Creates a CloudSim simulation that uses a given engine to store and order future events.
+     * Internally it creates a {@link CloudInformationService}.
+     *
+     * @param futureQueue the queue to store future events, such as
+     *                    a {@link FutureQueue}, {@link FutureQueueHeap} or {@link FutureQueueCalendar}.
+     *                    It must be empty and exclusive for this simulation.
+     * @see #CloudSim(double, FutureEventQueue)
+     */
+    public CloudSim(final FutureEventQueue futureQueue){
+        this(0.1, futureQueue);
+    }
+
+    /**
+     * Creates a CloudSim simulation that tracks events happening in a time interval
+     * as little as the minTimeBetweenEvents parameter
+     * and uses a given engine to store and order future events.
+     * Internally it creates a {@link CloudInformationService}.
+     *
+     * @param minTimeBetweenEvents the minimal period between events.
+     * Events within shorter periods after the last event are discarded.
+     * @param futureQueue the queue to store future events, such as
+     *                    a {@link FutureQueue}, {@link FutureQueueHeap} or {@link FutureQueueCalendar}.
+     *                    It must be empty and exclusive for this simulation.
+     * @see CloudInformationService
+     */
+    public CloudSim(final double minTimeBetweenEvents, final FutureEventQueue futureQueue) {
         this.entities = new ArrayList<>();
-        this.future = new FutureQueue();
+        this.future = new FutureQueueIndexed(requireNonNull(futureQueue));
         this.deferred = new DeferredQueue();
         this.waitPredicates = new HashMap<>();
+        this.pendingActions = new ThreadLocal<>();
+        this.taskActions = new ThreadLocal<>();
         this.networkTopology = NetworkTopology.NULL;
         this.clock = 0;
         this.running = false;
@@ -453,9 +505,16 @@ public class CloudSim implements Simulation {
     @Override
     public void addEntity(final CloudSimEntity entity) {
         requireNonNull(entity);
+        if (pendingActions.get() != null) {
+            /* Entities created while executing entities in parallel are just added
+            * after all parallel entities finish, so that they get deterministic ids. */
+            runInEventOrder(() -> addEntity(entity));
+            return;
+        }
+
         if (running) {
             final var evt = new CloudSimEvent(SimEvent.Type.CREATE, 0, entity, SimEntity.NULL, CloudSimTag.NONE, entity);
-            future.addEvent(evt);
+            enqueue(evt, false);
         }
 
         if (entity.getId() == -1) { // Only add once!
@@ -535,34 +594,208 @@ public class CloudSim implements Simulation {
     }
 
     private void processFutureEventsHappeningAtSameTimeOfTheFirstOne(final SimEvent firstEvent) {
-        processEvent(firstEvent);
-        future.remove(firstEvent);
+        processEvent(future.pollFirst());
 
-        while(!future.isEmpty()) {
-            final SimEvent evt = future.first();
-            if(evt.getTime() != firstEvent.getTime())
-                break;
-            processEvent(evt);
-            future.remove(evt);
+        while(!future.isEmpty() && future.first().getTime() == firstEvent.getTime()) {
+            processEvent(future.pollFirst());
         }
     }
 
     /**
      * Gets the list of entities that are in {@link SimEntity.State#RUNNABLE}
      * and execute them.
+     * If {@link #isProcessEventsInParallel() parallel processing} is enabled,
+     * consecutive {@link Datacenter}s are executed in parallel.
      */
-    @SuppressWarnings("ForLoopReplaceableByForEach")
     private void executeRunnableEntities(final double until) {
         /* Uses an indexed loop instead of anything else to avoid
         ConcurrencyModificationException when a HostFaultInjection is created inside a DC. */
         for (int i = 0; i < entities.size(); i++) {
             final CloudSimEntity ent = entities.get(i);
-            if (ent.getState() == SimEntity.State.RUNNABLE) {
+            if (processEventsInParallel && ent instanceof Datacenter) {
+                i = executeDatacentersInParallel(i, until) - 1;
+            } else if (ent.getState() == SimEntity.State.RUNNABLE) {
                 ent.run(until);
             }
         }
     }
 
+    /**
+     * Executes, in parallel, the runnable {@link Datacenter}s
+     * placed consecutively in the entity list, starting from a given index.
+     * Datacenters just interact with other entities by sending events,
+     * which are processed only after the current batch of events.
+     * This way, they can process the events they have received at the current time independently.
+     *
+     * <p>The events sent and actions requested by each Datacenter are not applied while it's executing,
+     * but stored in its {@link #pendingActions} list.
+     * After all Datacenters finish, the pending actions are applied in the order of the Datacenters ids,
+     * which is the order they would be executed sequentially.
+     * That assigns the same {@link SimEvent#getSerial() serial numbers} to events
+     * as a sequential execution, so that results are exactly the same.</p>
+     *
+     * @param first index of the first Datacenter in the entity list
+     * @param until the time up to which events must be processed
+     * @return the index in the entity list after the last Datacenter
+     */
+    private int executeDatacentersInParallel(final int first, final double until) {
+        final var runnableDatacenters = new ArrayList<CloudSimEntity>();
+        int i = first;
+        for (; i < entities.size() && entities.get(i) instanceof Datacenter; i++) {
+            final CloudSimEntity ent = entities.get(i);
+            if (ent.getState() == SimEntity.State.RUNNABLE) {
+                runnableDatacenters.add(ent);
+            }
+        }
+
+        if (runnableDatacenters.size() < 2) {
+            runnableDatacenters.forEach(ent -> ent.run(until));
+            return i;
+        }
+
+        //The list of pending actions returned by the parallel stream keeps the order of Datacenters
+        runnableDatacenters
+            .parallelStream()
+            .map(ent -> runAndGetPendingActions(ent, until))
+            .toList()
+            .forEach(actions -> actions.forEach(this::applyPendingAction));
+
+        return i;
+    }
+
+    /**
+     * Runs an entity in the current thread,
+     * collecting the events it sends and the actions it requests to be applied later.
+     *
+     * @param ent the entity to run
+     * @param until the time up to which events must be processed
+     * @return the list of pending events and actions, in the order they were requested
+     */
+    private List<PendingAction> runAndGetPendingActions(final CloudSimEntity ent, final double until) {
+        return runAndGetPendingActions(() -> ent.run(until), false);
+    }
+
+    /**
+     * Runs an action in the current thread,
+     * collecting the events sent and the actions requested by it to be applied later.
+     *
+     * <p>The previous list of pending actions of the thread is restored at the end,
+     * since a thread of the {@link java.util.concurrent.ForkJoinPool} waiting for some parallel task to finish
+     * may execute other tasks in the meantime.</p>
+     *
+     * @param action the action to run
+     * @param task true if the action is a task from {@link #runInParallel(List, Function)}, false if it's an entity
+     * @return the list of pending events and actions, in the order they were requested
+     */
+    private List<PendingAction> runAndGetPendingActions(final Runnable action, final boolean task) {
+        final var previousActions = pendingActions.get();
+        final var previousTaskActions = taskActions.get();
+        final var actions = new ArrayList<PendingAction>();
+        pendingActions.set(actions);
+        taskActions.set(task ? actions : null);
+        try {
+            action.run();
+        } finally {
+            pendingActions.set(previousActions);
+            taskActions.set(previousTaskActions);
+        }
+
+        return actions;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The tasks are executed using the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param list {@inheritDoc}
+     * @param function {@inheritDoc}
+     * @param <T> {@inheritDoc}
+     * @param <R> {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public <T, R> List<R> runInParallel(final List<? extends T> list, final Function<? super T, ? extends R> function) {
+        requireNonNull(function);
+        if (list.size() < 2) {
+            return list.stream().<R>map(function).toList();
+        }
+
+        final var results = new ArrayList<R>(list.size());
+        //The list of tasks returned by the parallel stream keeps the order of elements
+        list.parallelStream()
+            .map(element -> runTask(element, function))
+            .toList()
+            .forEach(task -> {
+                task.actions().forEach(this::applyPendingAction);
+                results.add(task.result());
+            });
+
+        return results;
+    }
+
+    private <T, R> TaskResult<R> runTask(final T element, final Function<? super T, ? extends R> function) {
+        final var result = new ArrayList<R>(1);
+        final var actions = runAndGetPendingActions(() -> result.add(function.apply(element)), true);
+        return new TaskResult<>(result.get(0), actions);
+    }
+
+    /**
+     * Adds an event to the future queue or, if the current thread is executing an entity in parallel,
+     * to the list of pending actions for that entity.
+     *
+     * @param evt the event to add
+     * @param first true to add the event as the first one among events with the same time and tag
+     *              (using {@link FutureEventQueue#addEventFirst(SimEvent)}), false otherwise
+     */
+    private void enqueue(final SimEvent evt, final boolean first) {
+        final var actions = pendingActions.get();
+        if (actions == null) {
+            if (first) future.addEventFirst(evt);
+            else future.addEvent(evt);
+            return;
+        }
+
+        /* Sets a provisional serial so that pending events are sorted
+        * after (or before, when added as first) the events already in the future queue.
+        * The definitive serial is set when the event is really added to the queue. */
+        evt.setSerial(first ? Long.MIN_VALUE / 2 - actions.size() : Long.MAX_VALUE / 2 + actions.size());
+        actions.add(new PendingAction(evt, first, null, false));
+    }
+
+    /**
+     * Applies an event or action requested by an entity or task executed in parallel.
+     * Since a task may be executed from an entity that is itself executed in parallel,
+     * events and actions are sent to the pending list of the current thread (if there is one).
+     * Actions requested by {@link #runInTaskOrder(Runnable)} are always run immediately.
+     *
+     * @param pending the event or action to apply
+     */
+    private void applyPendingAction(final PendingAction pending) {
+        if (pending.action() == null) {
+            enqueue(pending.evt(), pending.first());
+        } else if (pending.taskOrder()) {
+            pending.action().run();
+        } else runInEventOrder(pending.action());
+    }
+
+    @Override
+    public void runInEventOrder(final Runnable action) {
+        requireNonNull(action);
+        final var actions = pendingActions.get();
+        if (actions == null) {
+            action.run();
+        } else actions.add(new PendingAction(SimEvent.NULL, false, action, false));
+    }
+
+    @Override
+    public void runInTaskOrder(final Runnable action) {
+        requireNonNull(action);
+        final var actions = taskActions.get();
+        if (actions == null || actions != pendingActions.get()) {
+            action.run();
+        } else actions.add(new PendingAction(SimEvent.NULL, false, action, true));
+    }
+
     private void sendNow(final SimEntity dest, final CloudSimTag tag) {
         sendNow(cis, dest, tag, null);
     }
@@ -581,9 +814,7 @@ public class CloudSim implements Simulation {
     public void send(final SimEvent evt) {
         requireNonNull(evt);
         //Events with a negative tag have higher priority
-        if(evt.getPriority() < 0)
-            future.addEventFirst(evt);
-        else future.addEvent(evt);
+        enqueue(evt, evt.getPriority() < 0);
     }
 
     @Override
@@ -593,7 +824,7 @@ public class CloudSim implements Simulation {
 
     @Override
     public void sendFirst(SimEvent evt) {
-        future.addEventFirst(evt);
+        enqueue(evt, true);
     }
 
     @Override
@@ -601,69 +832,123 @@ public class CloudSim implements Simulation {
         src.setState(SimEntity.State.WAITING);
         if (predicate != ANY_EVT) {
             // If a predicate has been used, store it in order to check incoming events that matches it
-            waitPredicates.put(src, predicate);
+            sync(() -> waitPredicates.put(src, predicate));
         }
     }
 
     @Override
     public SimEvent select(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        final SimEvent evt = findFirstDeferred(dest, predicate);
-        if(evt != SimEvent.NULL) {
-            deferred.remove(evt);
-        }
-
-        return evt;
+        return sync(() -> deferred.removeFirst(dest, predicate));
     }
 
     @Override
     public SimEvent findFirstDeferred(final SimEntity dest, final Predicate<SimEvent> predicate) {
-        return filterEventsToDestinationEntity(deferred, predicate, dest).findFirst().orElse(SimEvent.NULL);
+        return deferred.findFirst(dest, predicate);
     }
 
     /**
-     * Gets a stream of events inside a specific queue that match a given predicate
-     * and are targeted to an specific entity.
+     * {@inheritDoc}
+     * It just looks up the events sent by the given entity, using the future queue indexes.
+     * If the predicate is a {@link PredicateType}, just the events with the given tag are checked.
      *
-     * @param queue the queue to get the events from
-     * @param predicate the event selection predicate
-     * @param dest id of entity that the event has to be sent to
-     * @return a Stream of events from the queue
+     * @param src {@inheritDoc}
+     * @param predicate {@inheritDoc}
+     * @return {@inheritDoc}
      */
-    private Stream<SimEvent> filterEventsToDestinationEntity(final EventQueue queue, final Predicate<SimEvent> predicate, final SimEntity dest) {
-        return filterEvents(queue, predicate.and(evt -> evt.getDestination() == dest));
-    }
-
     @Override
     public SimEvent cancel(final SimEntity src, final Predicate<SimEvent> predicate) {
-        final SimEvent canceled =
-                future.stream()
-                      .filter(isEventSourceEqualsTo(predicate, src))
-                      .findFirst()
-                      .orElse(SimEvent.NULL);
-        future.remove(canceled);
+        //The index doesn't store events in order, so the min() is used
+        final SimEvent canceled = sync(() ->
+                eventsFromSource(src, predicate)
+                      .filter(predicate)
+                      .min(Comparator.naturalOrder())
+                      .orElse(SimEvent.NULL));
+
+        final SimEvent pendingCanceled = cancelPending(src, predicate, canceled);
+        if (pendingCanceled != SimEvent.NULL) {
+            return pendingCanceled;
+        }
+
+        if(canceled != SimEvent.NULL) {
+            sync(() -> future.remove(canceled));
+        }
+
         return canceled;
     }
 
+    /**
+     * Cancels the first event sent by an entity being executed in parallel,
+     * which is yet in its list of pending actions,
+     * if such an event is sorted before a given event from the future queue.
+     *
+     * @param src the entity that sent the event
+     * @param predicate the event selection predicate
+     * @param futureEvent the first matched event in the future queue or {@link SimEvent#NULL} if not found
+     * @return the cancelled pending event or {@link SimEvent#NULL} if no such event was cancelled
+     */
+    private SimEvent cancelPending(final SimEntity src, final Predicate<SimEvent> predicate, final SimEvent futureEvent) {
+        final var actions = pendingActions.get();
+        if (actions == null) {
+            return SimEvent.NULL;
+        }
+
+        final var pendingAction =
+                actions.stream()
+                       .filter(action -> action.isEventFrom(src) && predicate.test(action.evt()))
+                       .min(Comparator.comparing(PendingAction::evt))
+                       .orElse(null);
+        if (pendingAction == null || futureEvent != SimEvent.NULL && pendingAction.evt().compareTo(futureEvent) > 0) {
+            return SimEvent.NULL;
+        }
+
+        actions.remove(pendingAction);
+        return pendingAction.evt();
+    }
+
+    /**
+     * {@inheritDoc}
+     * It just looks up the events sent by the given entity, using the future queue indexes.
+     * If the predicate is a {@link PredicateType}, just the events with the given tag are checked.
+     *
+     * @param src {@inheritDoc}
+     * @param predicate {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public boolean cancelAll(final SimEntity src, final Predicate<SimEvent> predicate) {
-        final int previousSize = future.size();
-        future.removeIf(isEventSourceEqualsTo(predicate, src));
-        return previousSize < future.size();
+        final boolean pendingCanceled = cancelAllPending(src, predicate);
+        return sync(() -> future.removeAll(eventsFromSource(src, predicate).filter(predicate).toList())) || pendingCanceled;
     }
 
-    private Predicate<SimEvent> isEventSourceEqualsTo(final Predicate<SimEvent> predicate, final SimEntity src) {
-        return predicate.and(evt -> evt.getSource().equals(src));
+    @Override
+    public boolean cancelAll(final SimEntity src, final CloudSimTag tag) {
+        final boolean pendingCanceled = cancelAllPending(src, evt -> evt.getTag() == tag);
+        return sync(() -> future.removeAll(future.stream(src, tag).toList())) || pendingCanceled;
     }
 
     /**
-     * Gets a stream of events inside a specific queue that match a given predicate.
+     * Cancels all events sent by an entity being executed in parallel,
+     * which are yet in its list of pending actions.
      *
-     * @param queue the queue to get the events from
+     * @param src the entity that sent the events
      * @param predicate the event selection predicate
-     * @return a Stream of events from the queue
+     * @return true if at least one event has been cancelled; false otherwise
      */
-    private Stream<SimEvent> filterEvents(final EventQueue queue, final Predicate<SimEvent> predicate) {
-        return queue.stream().filter(predicate);
+    private boolean cancelAllPending(final SimEntity src, final Predicate<SimEvent> predicate) {
+        final var actions = pendingActions.get();
+        return actions != null && actions.removeIf(action -> action.isEventFrom(src) && predicate.test(action.evt()));
+    }
+
+    /**
+     * Gets a stream of the future events sent by a given entity
+     * that are candidates to be selected by a predicate.
+     * @param src the entity that sent the events
+     * @param predicate the event selection predicate
+     * @return the stream of events sent by the entity,
+     *         restricted to a given tag when the predicate is a {@link PredicateType}
+     */
+    private Stream<SimEvent> eventsFromSource(final SimEntity src, final Predicate<SimEvent> predicate) {
+        return predicate instanceof PredicateType type ? future.stream(src, type.tag()) : future.stream(src);
     }
 
     /**
@@ -705,6 +990,22 @@ public class CloudSim implements Simulation {
         else runnable.run();
     }
 
+    /**
+     * Checks if the simulation must {@link #processEventsInParallel process events in parallel}
+     * and then synchronizes some code block that returns a value.
+     *
+     * @param supplier the {@link Supplier} that encapsulates the code block to be called synchronously.
+     * @param <T> the type of the value returned by the code block
+     * @return the value returned by the code block
+     * @see #sync(Runnable)
+     */
+    private <T> T sync(final Supplier<T> supplier){
+        if(processEventsInParallel)
+            synchronized(this){ return supplier.get(); }
+
+        return supplier.get();
+    }
+
     private void processEventByType(final SimEvent evt) {
         switch (evt.getType()) {
             case NULL -> throw new IllegalArgumentException("Event has a null type.");
@@ -814,7 +1115,7 @@ public class CloudSim implements Simulation {
     }
 
     private void addHoldingFutureEvent(final SimEntity src, final SimEvent evt) {
-        future.addEvent(evt);
+        enqueue(evt, false);
         src.setState(SimEntity.State.HOLDING);
     }
 
@@ -889,7 +1190,7 @@ public class CloudSim implements Simulation {
     }
 
     private boolean isNextFutureEventHappeningAfterTimeToPause() {
-        return future.iterator().next().getTime() >= pauseAt;
+        return future.first().getTime() >= pauseAt;
     }
 
     @Override
@@ -969,13 +1270,13 @@ public class CloudSim implements Simulation {
 
     /**
      * Gets the maximum number of events that have ever existed at the same time
-     * inside the {@link FutureQueue}.
+     * inside the {@link FutureEventQueue}.
      */
     public long getMaxEventsNumber() {
         return future.getMaxEventsNumber();
     }
 
-    /** Gets the total number of events generated in the {@link FutureQueue} */
+    /** Gets the total number of events generated in the {@link FutureEventQueue} */
     public long getGeneratedEventsNumber() {
         return future.getSerial();
     }
@@ -988,4 +1289,68 @@ public class CloudSim implements Simulation {
     public boolean isAbortRequested() {
         return abortRequested;
     }
+
+    /**
+     * Enables or disables the parallel execution of {@link Datacenter}s
+     * that have events to process at the same simulation time.
+     * @param processEventsInParallel true to enable parallel execution, false to disable
+     * @see #isProcessEventsInParallel()
+     */
+    public void setProcessEventsInParallel(final boolean processEventsInParallel) {
+        this.processEventsInParallel = processEventsInParallel;
+    }
+
+    /**
+     * Checks if {@link Datacenter}s having events to process at the same simulation time
+     * are executed in parallel (disabled by default).
+     *
+     * <p>Datacenters are executed using the common {@link java.util.concurrent.ForkJoinPool}
+     * and the events they send are added to the future queue in the same order
+     * they would be in a sequential execution. This way, simulation results are
+     * the same in both modes, as long as Datacenters (and their Hosts, VMs and related listeners)
+     * don't directly change the state of other entities, but rely on sending events
+     * or on {@link #runInEventOrder(Runnable)}.</p>
+     *
+     * <p>Entities created while Datacenters are executing in parallel
+     * are just added to the simulation after all Datacenters finish.
+     * Log messages from different Datacenters may be interleaved.</p>
+     *
+     * <p>Datacenters are just executed in parallel when they have events at the same time.
+     * They aren't allowed to advance to different times (using the {@link NetworkTopology} delays
+     * as lookahead), since the processing of VMs requests actions from brokers
+     * (such as {@link org.cloudbus.cloudsim.brokers.DatacenterBroker#requestIdleVmDestruction(org.cloudbus.cloudsim.vms.Vm)})
+     * that may schedule events with no delay. Processing those events out of order
+     * would require rolling back the state of Datacenters, Hosts, VMs and Cloudlets.</p>
+     *
+     * @return true if parallel execution is enabled, false otherwise
+     */
+    public boolean isProcessEventsInParallel() {
+        return processEventsInParallel;
+    }
+
+    /**
+     * An event sent or an action requested by an entity executing in parallel,
+     * which will be applied after all parallel entities finish.
+     *
+     * @param evt the event sent by the entity or {@link SimEvent#NULL} if this is an action
+     * @param first true if the event must be added using {@link FutureEventQueue#addEventFirst(SimEvent)},
+     *              false to use {@link FutureEventQueue#addEvent(SimEvent)}
+     * @param action the action requested by the entity or null if this is an event
+     * @param taskOrder true if the action was requested by {@link #runInTaskOrder(Runnable)},
+     *                  false if it was requested by {@link #runInEventOrder(Runnable)}
+     */
+    private record PendingAction(SimEvent evt, boolean first, Runnable action, boolean taskOrder) {
+        private boolean isEventFrom(final SimEntity src) {
+            return action == null && evt.getSource() == src;
+        }
+    }
+
+    /**
+     * The result of a task executed by {@link #runInParallel(List, Function)}.
+     *
+     * @param result the value returned by the task
+     * @param actions the events sent and the actions requested by the task
+     * @param <R> the type of the result
+     */
+    private record TaskResult<R>(R result, List<PendingAction> actions) {}
 }
@@ -109,6 +109,16 @@ public enum CloudSimTag implements Comparable<CloudSimTag> {
      */
     CLOUDLET_SUBMIT_ACK,
 
+    /**
+     * Denotes the submission of a batch of Cloudlets at once. This tag is
+     * normally used between a DatacenterBroker and Datacenter entity,
+     * to deliver in a single event all Cloudlets sent to the same Datacenter
+     * with the same submission delay.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * must be a {@link java.util.List} of {@link Cloudlet} objects.
+     */
+    CLOUDLET_SUBMIT_BATCH,
+
     /**
      * Cancels a Cloudlet submitted in the Datacenter entity.
      * When an event of this type is sent, the {@link SimEvent#getData()}
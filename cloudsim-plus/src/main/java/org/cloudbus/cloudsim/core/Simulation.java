@@ -18,6 +18,7 @@ import org.cloudsimplus.listeners.EventListener;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -137,6 +138,63 @@ public interface Simulation {
      */
     boolean cancelAll(SimEntity src, Predicate<SimEvent> predicate);
 
+    /**
+     * Cancels all events from the future event queue that have a given tag
+     * and were sent by a given entity, then removes those ones from the queue.
+     * This is faster than {@link #cancelAll(SimEntity, Predicate)}
+     * when the events to cancel are selected just by their tag.
+     *
+     * @param src entity that scheduled the events
+     * @param tag the tag of the events to cancel
+     * @return true if at least one event has been cancelled; false otherwise
+     */
+    boolean cancelAll(SimEntity src, CloudSimTag tag);
+
+    /**
+     * Runs an action that changes the state of entities other than the one currently being executed
+     * (such as the broker of a VM being processed by a Datacenter).
+     * If the simulation is executing entities in parallel,
+     * the action is delayed until all parallel entities finish,
+     * then it's run in the same order it would be in a sequential execution,
+     * interleaved with the events sent by the requesting entity.
+     * Otherwise, the action is run immediately.
+     *
+     * @param action the action to run
+     * @see CloudSim#isProcessEventsInParallel()
+     */
+    void runInEventOrder(Runnable action);
+
+    /**
+     * Applies a function to each element of a list in parallel and returns the results in the list order.
+     * Each element must be processed independently, changing just its own state
+     * (such as the state of a Host and its VMs and Cloudlets).
+     *
+     * <p>The events sent and the actions requested by {@link #runInEventOrder(Runnable)}
+     * and {@link #runInTaskOrder(Runnable)} while processing each element are delayed until all elements
+     * are processed. Then they are applied in the order of the elements,
+     * which is the order they would be in a sequential execution.
+     * This way, results are reproducible, regardless of the number of threads used.</p>
+     *
+     * @param list the list of elements to process
+     * @param function the function to apply to each element
+     * @param <T> the type of the elements
+     * @param <R> the type of the results
+     * @return the list of results, in the same order as the elements
+     * @see #runInTaskOrder(Runnable)
+     */
+    <T, R> List<R> runInParallel(List<? extends T> list, Function<? super T, ? extends R> function);
+
+    /**
+     * Runs an action that must be executed in the same order it would be in a sequential execution,
+     * but doesn't need to wait for other entities (such as calling listeners of a Host).
+     * If the current thread is processing an element of {@link #runInParallel(List, Function)},
+     * the action is delayed until all elements are processed,
+     * then it's run in the order of the elements. Otherwise, the action is run immediately.
+     *
+     * @param action the action to run
+     */
+    void runInTaskOrder(Runnable action);
+
     /**
      * Gets the current simulation time in seconds.
      *
@@ -8,6 +8,7 @@ import org.cloudsimplus.listeners.EventListener;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -28,6 +29,14 @@ final class SimulationNull implements Simulation {
     @Override public boolean cancelAll(SimEntity src, Predicate<SimEvent> predicate) {
         return false;
     }
+    @Override public boolean cancelAll(SimEntity src, CloudSimTag tag) {
+        return false;
+    }
+    @Override public void runInEventOrder(Runnable action) { action.run(); }
+    @Override public <T, R> List<R> runInParallel(List<? extends T> list, Function<? super T, ? extends R> function) {
+        return list.stream().<R>map(function).toList();
+    }
+    @Override public void runInTaskOrder(Runnable action) { action.run(); }
     @Override public double clock() { return 0.0; }
     @Override public String clockStr() { return ""; }
     @Override public double clockInMinutes() { return 0.0; }
@@ -56,6 +56,13 @@ public final class CloudSimEvent implements SimEvent {
     /** @see #getSerial() */
     private long serial = -1;
 
+    /**
+     * The index of this event inside a {@link FutureQueueHeap},
+     * enabling the event to be removed from the heap without searching for it.
+     * It's -1 when the event isn't in any heap.
+     */
+    int heapIndex = -1;
+
     /**
      * Creates a {@link Type#SEND} CloudSimEvent.
      * @param delay how many seconds after the current simulation time the event should be scheduled
@@ -1,16 +1,22 @@
 package org.cloudbus.cloudsim.core.events;
 
+import org.cloudbus.cloudsim.core.SimEntity;
+
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
  * An {@link EventQueue} that orders {@link SimEvent}s based on their time attribute.
- * Since a new event's time is usually equal or higher than the previous event
- * in regular simulations, this classes uses a {@link LinkedList} instead
+ * Events are partitioned into mailboxes, one for each {@link SimEvent#getDestination() destination entity},
+ * indexed by the entity id. This way, getting the next event for a given entity
+ * doesn't require traversing events sent to other entities.
+ *
+ * <p>Since a new event's time is usually equal or higher than the previous event
+ * in regular simulations, each mailbox uses a {@link LinkedList} instead
  * of a {@link java.util.SortedSet} such as {@link java.util.TreeSet}
  * because the {@link LinkedList} provides constant O(1) complexity
- * to add elements to the end.
+ * to add elements to the end and to get/remove the head.</p>
  *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
@@ -18,18 +24,28 @@ import java.util.stream.Stream;
  */
 public class DeferredQueue implements EventQueue {
     /**
+     * An empty mailbox returned for entities that have never received deferred events.
+     * It must never be changed.
+     */
+    private static final LinkedList<SimEvent> EMPTY_MAILBOX = new LinkedList<>();
+
+    /**
+     * The mailboxes of events, where the index is the id of the destination entity.
      * Despite the events are sorted by time and there are
      * sorted collections such as {@link java.util.SortedSet},
      * since the time of a new event is usually higher than the previous
      * one, in such a case, the {@link LinkedList#add(Object)} provides
      * better performance, which is O(1).
      */
-    private final List<SimEvent> eventList = new LinkedList<>();
+    private final List<LinkedList<SimEvent>> mailboxes = new ArrayList<>();
 
     /**
-     * The max time that an added event is scheduled.
+     * A mailbox for events whose destination entity doesn't have a valid id yet.
      */
-    private double maxTime = -1;
+    private final LinkedList<SimEvent> unregisteredMailbox = new LinkedList<>();
+
+    /** @see #size() */
+    private int size;
 
     private int addedToTail;
     private int addedToMiddle;
@@ -37,60 +53,140 @@ public class DeferredQueue implements EventQueue {
 
     /**
      * Adds a new event to the queue, preserving the temporal order
-     * of the events.
+     * of the events sent to the same destination entity.
      *
      * @param newEvent the event to be added to the queue.
      */
     public void addEvent(final SimEvent newEvent) {
+        maxSize = Math.max(maxSize, size);
+        size++;
+
         // The event has to be inserted as the last of all events
         // with the same event_time(). Yes, this matters.
+        final var mailbox = mailbox(newEvent.getDestination(), true);
         final double eventTime = newEvent.getTime();
-        maxSize = Math.max(maxSize, eventList.size());
-        if (eventTime >= maxTime) {
-            eventList.add(newEvent);
-            maxTime = eventTime;
+        if (mailbox.isEmpty() || eventTime >= mailbox.getLast().getTime()) {
+            mailbox.add(newEvent);
             addedToTail++;
             return;
         }
 
         /*
-         * Adds an event in some position from the tail of the list.
-         * If the event time is smaller than the maxTime, traverses the list
+         * Adds an event in some position from the tail of the mailbox.
+         * If the event time is smaller than the last event time, traverses the mailbox
          * to find the place to insert the event.
          * It uses a reverse iterator because usually in such cases,
          * the time of the new event is close to the last events.
          * Starting from the tail of the list will ensure the lowest number
          * of iterations on the best cases.
          * */
-        final var reverseEvtIterator = eventList.listIterator(eventList.size() - 1);
+        addedToMiddle++;
+        final var reverseEvtIterator = mailbox.listIterator(mailbox.size());
         while (reverseEvtIterator.hasPrevious()) {
             if (reverseEvtIterator.previous().getTime() <= eventTime) {
                 reverseEvtIterator.next();
                 reverseEvtIterator.add(newEvent);
-                addedToMiddle++;
                 return;
             }
         }
 
-        eventList.add(newEvent);
+        mailbox.addFirst(newEvent);
+    }
+
+    /**
+     * Gets the mailbox of events sent to a given entity.
+     *
+     * @param dest the destination entity
+     * @param create whether to create the mailbox if it doesn't exist yet
+     * @return the entity mailbox or an empty list if it doesn't exist and create is false
+     */
+    private LinkedList<SimEvent> mailbox(final SimEntity dest, final boolean create) {
+        final long id = dest.getId();
+        if (id < 0) {
+            return unregisteredMailbox;
+        }
+
+        if (id < mailboxes.size()) {
+            return mailboxes.get((int) id);
+        }
+
+        if (!create) {
+            return EMPTY_MAILBOX;
+        }
+
+        while (mailboxes.size() <= id) {
+            mailboxes.add(new LinkedList<>());
+        }
+
+        return mailboxes.get((int) id);
+    }
+
+    /**
+     * Finds the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the destination entity
+     * @param predicate the event selection predicate
+     * @return the first matched event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent findFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        for (final SimEvent evt : mailbox(dest, false)) {
+            if (evt.getDestination() == dest && predicate.test(evt)) {
+                return evt;
+            }
+        }
+
+        return SimEvent.NULL;
+    }
+
+    /**
+     * Finds and removes the first event sent to a given entity that matches a predicate.
+     *
+     * @param dest the destination entity
+     * @param predicate the event selection predicate
+     * @return the removed event or {@link SimEvent#NULL} if not found
+     */
+    public SimEvent removeFirst(final SimEntity dest, final Predicate<SimEvent> predicate) {
+        final var iterator = mailbox(dest, false).iterator();
+        while (iterator.hasNext()) {
+            final SimEvent evt = iterator.next();
+            if (evt.getDestination() == dest && predicate.test(evt)) {
+                iterator.remove();
+                size--;
+                return evt;
+            }
+        }
+
+        return SimEvent.NULL;
+    }
+
+    /**
+     * Returns a stream to the events sent to a given entity, ordered by time.
+     *
+     * @param dest the destination entity
+     * @return the stream
+     */
+    public Stream<SimEvent> stream(final SimEntity dest) {
+        return mailbox(dest, false).stream().filter(evt -> evt.getDestination() == dest);
     }
 
     /**
      * Returns an iterator to the events in the queue.
+     * Events are grouped by destination entity and ordered by time inside each group.
      *
      * @return the iterator
      */
     public Iterator<SimEvent> iterator() {
-        return eventList.iterator();
+        return stream().iterator();
     }
 
     /**
      * Returns a stream to the elements into the queue.
+     * Events are grouped by destination entity and ordered by time inside each group.
      *
      * @return the stream
      */
     public Stream<SimEvent> stream() {
-        return eventList.stream();
+        return Stream.concat(mailboxes.stream(), Stream.of(unregisteredMailbox)).flatMap(List::stream);
     }
 
     /**
@@ -99,12 +195,12 @@ public class DeferredQueue implements EventQueue {
      * @return the number of events in the queue.
      */
     public int size() {
-        return eventList.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return eventList.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -114,7 +210,12 @@ public class DeferredQueue implements EventQueue {
      * @return true if successful; false otherwise
      */
     public boolean remove(final SimEvent event) {
-        return eventList.remove(event);
+        if (mailbox(event.getDestination(), false).remove(event)) {
+            size--;
+            return true;
+        }
+
+        return false;
     }
 
     /**
@@ -124,27 +225,50 @@ public class DeferredQueue implements EventQueue {
      * @return true if successful; false otherwise
      */
     public boolean removeAll(final Collection<SimEvent> events) {
-        return eventList.removeAll(events);
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
     }
 
     public boolean removeIf(final Predicate<SimEvent> predicate) {
-        return eventList.removeIf(predicate);
+        final int previousSize = size;
+        mailboxes.forEach(mailbox -> size -= removeIf(mailbox, predicate));
+        size -= removeIf(unregisteredMailbox, predicate);
+        return size < previousSize;
+    }
+
+    private static int removeIf(final List<SimEvent> mailbox, final Predicate<SimEvent> predicate) {
+        final int previousSize = mailbox.size();
+        mailbox.removeIf(predicate);
+        return previousSize - mailbox.size();
     }
 
     /**
      * Clears the queue removing all elements.
      */
     public void clear() {
-        eventList.clear();
+        mailboxes.forEach(List::clear);
+        unregisteredMailbox.clear();
+        size = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     * Since events are partitioned by destination entity,
+     * it requires checking the first event for every entity.
+     * If several entities have events at the lowest time,
+     * the one for the entity with the lowest id is returned.
+     *
+     * @return {@inheritDoc}
+     * @throws NoSuchElementException {@inheritDoc}
+     */
     @Override
     public SimEvent first() throws NoSuchElementException {
-        if (eventList.isEmpty()) {
-            throw new NoSuchElementException("The Deferred Queue is empty.");
-        }
-
-        return eventList.get(0);
+        return stream().min(Comparator.comparingDouble(SimEvent::getTime))
+                       .orElseThrow(() -> new NoSuchElementException("The Deferred Queue is empty."));
     }
 
     /**
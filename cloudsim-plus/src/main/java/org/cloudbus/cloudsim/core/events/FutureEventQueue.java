@@ -0,0 +1,107 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * An {@link EventQueue} that stores the future events of a simulation,
+ * defining the engine used by {@link CloudSim} to order and dispatch such events.
+ * Implementations must keep events ordered according to
+ * {@link SimEvent#compareTo(SimEvent)}, that is, by time, then by
+ * {@link SimEvent#getTag() tag} priority and finally by {@link SimEvent#getSerial() serial}.
+ *
+ * <p>The engine to be used can be selected when a {@link CloudSim} instance
+ * is created. The available implementations are:</p>
+ * <ul>
+ *     <li>{@link FutureQueue}: a {@link java.util.TreeSet}-based queue (the default);</li>
+ *     <li>{@link FutureQueueHeap}: a d-ary array heap, with cheaper insertions and
+ *     removal of the first event, which reduces memory usage for huge queues;</li>
+ *     <li>{@link FutureQueueCalendar}: a calendar queue, which provides amortized
+ *     constant time insertion and removal of the first event when events are evenly
+ *     spread along the simulation time.</li>
+ * </ul>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public interface FutureEventQueue extends EventQueue {
+    /**
+     * Adds a new event to the head of the queue,
+     * ensuring it's the first one among the events happening at the same time
+     * and having the same tag.
+     *
+     * @param newEvent The event to be put in the queue.
+     */
+    void addEventFirst(SimEvent newEvent);
+
+    /**
+     * Gets and removes the first element of the queue.
+     *
+     * @return the first element
+     * @throws NoSuchElementException when the queue is empty
+     */
+    SimEvent pollFirst() throws NoSuchElementException;
+
+    /**
+     * Removes the event from the queue.
+     *
+     * @param event the event
+     * @return true if successful; false if not event was removed
+     */
+    boolean remove(SimEvent event);
+
+    /**
+     * Removes all the events from the queue.
+     *
+     * @param events the events
+     * @return true if successful; false if not event was removed
+     */
+    boolean removeAll(Collection<SimEvent> events);
+
+    /**
+     * Removes all the events matching a given predicate.
+     *
+     * @param predicate the predicate to select the events to remove
+     * @return true if any event was removed; false otherwise
+     */
+    boolean removeIf(Predicate<SimEvent> predicate);
+
+    /**
+     * Clears the queue.
+     */
+    void clear();
+
+    /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
+    long getSerial();
+
+    /**
+     * Maximum number of events that have ever existed at the same time
+     * inside the queue.
+     */
+    long getMaxEventsNumber();
+}
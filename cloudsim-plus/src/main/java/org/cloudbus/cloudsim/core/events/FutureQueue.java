@@ -13,23 +13,26 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
- * An {@link EventQueue} that stores future simulation events.
+ * A {@link FutureEventQueue} that stores future simulation events.
  * It uses a {@link TreeSet} in order ensure the events
  * are stored ordered. Using a {@link java.util.LinkedList}
  * as defined by {@link DeferredQueue} to improve performance
  * doesn't work for this queue.
+ * This is the default queue used by {@link org.cloudbus.cloudsim.core.CloudSim}.
  *
  * @author Marcos Dias de Assuncao
  * @author Manoel Campos da Silva Filho
  * @see java.util.TreeSet
+ * @see FutureQueueHeap
+ * @see FutureQueueCalendar
  * @since CloudSim Toolkit 1.0
  */
-public class FutureQueue implements EventQueue {
+public class FutureQueue implements FutureEventQueue {
 
     /**
      * The sorted set of events.
      */
-    private final SortedSet<SimEvent> sortedSet = new TreeSet<>();
+    private final NavigableSet<SimEvent> sortedSet = new TreeSet<>();
 
     /** @see #getSerial() */
     private long serial;
@@ -46,11 +49,7 @@ public class FutureQueue implements EventQueue {
         maxEventsNumber = Math.max(maxEventsNumber, sortedSet.size());
     }
 
-    /**
-     * Adds a new event to the head of the queue.
-     *
-     * @param newEvent The event to be put in the queue.
-     */
+    @Override
     public void addEventFirst(final SimEvent newEvent) {
         newEvent.setSerial(--lowestSerial);
         sortedSet.add(newEvent);
@@ -76,26 +75,19 @@ public class FutureQueue implements EventQueue {
         return sortedSet.isEmpty();
     }
 
-    /**
-     * Removes the event from the queue.
-     *
-     * @param event the event
-     * @return true if successful; false if not event was removed
-     */
+    @Override
     public boolean remove(final SimEvent event) {
-        return sortedSet.remove(event);
+        /* SimEvent.NULL is considered equal to any event by compareTo(),
+         * so it would remove an arbitrary event from the set. */
+        return event != SimEvent.NULL && sortedSet.remove(event);
     }
 
-    /**
-     * Removes all the events from the queue.
-     *
-     * @param events the events
-     * @return true if successful; false if not event was removed
-     */
+    @Override
     public boolean removeAll(final Collection<SimEvent> events) {
         return sortedSet.removeAll(events);
     }
 
+    @Override
     public boolean removeIf(final Predicate<SimEvent> predicate){
         return sortedSet.removeIf(predicate);
     }
@@ -105,22 +97,26 @@ public class FutureQueue implements EventQueue {
         return sortedSet.first();
     }
 
-    /**
-     * Clears the queue.
-     */
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        if (sortedSet.isEmpty()) {
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return sortedSet.pollFirst();
+    }
+
+    @Override
     public void clear() {
         sortedSet.clear();
     }
 
-    /** Gets an incremental number used for {@link SimEvent#getSerial()} event attribute. */
+    @Override
     public long getSerial() {
         return serial;
     }
 
-    /**
-     * Maximum number of events that have ever existed at the same time
-     * inside the queue.
-     */
+    @Override
     public long getMaxEventsNumber() {
         return maxEventsNumber;
     }
@@ -0,0 +1,362 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} implemented as a calendar queue,
+ * as proposed by R. Brown in
+ * <a href="https://doi.org/10.1145/63039.63045">Calendar queues: a fast O(1) priority queue implementation for the simulation event set problem</a>.
+ *
+ * <p>Events are spread into a list of buckets (the days of a year in the calendar),
+ * each one covering a time interval of {@link #getBucketWidth() width} seconds.
+ * An event with a given time goes to the bucket {@code floor(time/width) mod buckets}.
+ * Since the simulation time always advances, the first event is found by scanning
+ * buckets from the one holding the last dequeued event.
+ * The number of buckets and their width are adapted as the queue grows or shrinks,
+ * so that each bucket has just a few events. That gives amortized O(1) insertion
+ * and removal of the first event when event times are spread along the simulation.</p>
+ *
+ * <p>Each bucket is a small binary heap, so that lots of events happening
+ * at the same time (such as the submission of thousands of Cloudlets at once)
+ * don't degrade the queue to linear time.
+ * {@link #iterator()} and {@link #stream()} return the events in no particular order.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class FutureQueueCalendar implements FutureEventQueue {
+    private static final int MIN_BUCKETS = 2;
+
+    /**
+     * Number of first events used to estimate the bucket width when the calendar is resized.
+     */
+    private static final int WIDTH_SAMPLE_SIZE = 25;
+
+    /**
+     * The buckets (days) of the calendar, which are created on demand.
+     */
+    private List<PriorityQueue<SimEvent>> buckets;
+
+    /** @see #getBucketWidth() */
+    private double bucketWidth;
+
+    /**
+     * The virtual bucket number where the first event currently is (or may be),
+     * computed as {@code floor(time/width)} without wrapping around the list of buckets.
+     * No event in the queue has a virtual bucket lower than this one.
+     */
+    private long currentVirtualBucket;
+
+    /** @see #size() */
+    private int size;
+
+    /** @see #getSerial() */
+    private long serial;
+
+    private long lowestSerial;
+
+    /** @see #getMaxEventsNumber() */
+    private long maxEventsNumber;
+
+    /**
+     * Creates a calendar queue with an initial bucket width of 1 second,
+     * which is automatically adjusted as events are added.
+     */
+    public FutureQueueCalendar() {
+        this(1.0);
+    }
+
+    /**
+     * Creates a calendar queue with a given initial bucket width,
+     * which is automatically adjusted as events are added.
+     * @param initialBucketWidth the initial time interval (in seconds) covered by each bucket
+     */
+    public FutureQueueCalendar(final double initialBucketWidth) {
+        if(initialBucketWidth <= 0){
+            throw new IllegalArgumentException("The bucket width must be greater than 0.");
+        }
+
+        this.bucketWidth = initialBucketWidth;
+        this.buckets = newBuckets(MIN_BUCKETS);
+    }
+
+    private static List<PriorityQueue<SimEvent>> newBuckets(final int number) {
+        return new ArrayList<>(Collections.nCopies(number, null));
+    }
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        insert(newEvent);
+        maxEventsNumber = Math.max(maxEventsNumber, size);
+    }
+
+    @Override
+    public void addEventFirst(final SimEvent newEvent) {
+        newEvent.setSerial(--lowestSerial);
+        insert(newEvent);
+    }
+
+    private void insert(final SimEvent newEvent) {
+        final long virtualBucket = virtualBucket(newEvent);
+        if (size == 0 || virtualBucket < currentVirtualBucket) {
+            currentVirtualBucket = virtualBucket;
+        }
+
+        bucket(virtualBucket).add(newEvent);
+        if (++size > 2 * buckets.size()) {
+            resize(buckets.size() * 2);
+        }
+    }
+
+    /**
+     * Gets the bucket for a given virtual bucket number, creating it if it doesn't exist yet.
+     * @param virtualBucket the virtual bucket number
+     * @return the bucket
+     */
+    private PriorityQueue<SimEvent> bucket(final long virtualBucket) {
+        final int index = physicalBucket(virtualBucket);
+        if (buckets.get(index) == null) {
+            buckets.set(index, new PriorityQueue<>());
+        }
+
+        return buckets.get(index);
+    }
+
+    private long virtualBucket(final SimEvent evt) {
+        return (long) Math.floor(evt.getTime() / bucketWidth);
+    }
+
+    private int physicalBucket(final long virtualBucket) {
+        return Math.floorMod(virtualBucket, buckets.size());
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        return firstBucket().peek();
+    }
+
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        final SimEvent first = firstBucket().poll();
+        size--;
+        if (size < buckets.size() / 2 && buckets.size() > MIN_BUCKETS) {
+            resize(buckets.size() / 2);
+        }
+
+        return first;
+    }
+
+    /**
+     * Finds the bucket containing the first event, updating the {@link #currentVirtualBucket}.
+     * @return the bucket with the first event
+     * @throws NoSuchElementException when the queue is empty
+     */
+    private PriorityQueue<SimEvent> firstBucket() {
+        if (size == 0) {
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        // Scans a whole year from the current bucket, looking for an event inside the current day
+        for (int i = 0; i < buckets.size(); i++) {
+            final var bucket = buckets.get(physicalBucket(currentVirtualBucket));
+            if (bucket != null && !bucket.isEmpty() && virtualBucket(bucket.peek()) == currentVirtualBucket) {
+                return bucket;
+            }
+
+            currentVirtualBucket++;
+        }
+
+        // The next event is more than a year ahead: directly searches the lowest event among all buckets
+        PriorityQueue<SimEvent> minBucket = null;
+        for (final var bucket : buckets) {
+            if (bucket != null && !bucket.isEmpty() && (minBucket == null || bucket.peek().compareTo(minBucket.peek()) < 0)) {
+                minBucket = bucket;
+            }
+        }
+
+        currentVirtualBucket = virtualBucket(Objects.requireNonNull(minBucket).peek());
+        return minBucket;
+    }
+
+    /**
+     * Changes the number of buckets, re-estimating the bucket width
+     * and redistributing all events.
+     * @param newBucketsNumber the new number of buckets
+     */
+    private void resize(final int newBucketsNumber) {
+        final double newWidth = estimateBucketWidth();
+        final var events = stream().toList();
+        buckets = newBuckets(newBucketsNumber);
+        bucketWidth = newWidth;
+        size = 0;
+        events.forEach(this::insert);
+    }
+
+    /**
+     * Estimates the bucket width as 3 times the average time separation between the first events,
+     * after discarding separations much larger than the average.
+     * @return the new bucket width
+     */
+    private double estimateBucketWidth() {
+        final int samples = Math.min(size, WIDTH_SAMPLE_SIZE);
+        if (samples < 2) {
+            return bucketWidth;
+        }
+
+        //Selects the first events using a bounded max-heap, avoiding sorting the entire queue
+        final var sampleHeap = new PriorityQueue<SimEvent>(samples, Comparator.reverseOrder());
+        stream().forEach(evt -> {
+            if (sampleHeap.size() < samples) {
+                sampleHeap.add(evt);
+            } else if (evt.compareTo(sampleHeap.peek()) < 0) {
+                sampleHeap.poll();
+                sampleHeap.add(evt);
+            }
+        });
+
+        final double[] firstEvents = sampleHeap.stream().mapToDouble(SimEvent::getTime).sorted().toArray();
+        final double avgSeparation = (firstEvents[samples - 1] - firstEvents[0]) / (samples - 1);
+        double sum = 0;
+        int count = 0;
+        for (int i = 1; i < samples; i++) {
+            final double separation = firstEvents[i] - firstEvents[i - 1];
+            if (separation <= avgSeparation * 2) {
+                sum += separation;
+                count++;
+            }
+        }
+
+        final double width = count == 0 ? 0 : 3 * sum / count;
+        return width > 0 ? width : bucketWidth;
+    }
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        if (event == null || event == SimEvent.NULL || size == 0) {
+            return false;
+        }
+
+        final var bucket = buckets.get(physicalBucket(virtualBucket(event)));
+        if (bucket != null && bucket.remove(event)) {
+            size--;
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        boolean removed = false;
+        for (final var bucket : buckets) {
+            if (bucket == null) {
+                continue;
+            }
+
+            final int previousSize = bucket.size();
+            if (bucket.removeIf(predicate)) {
+                size -= previousSize - bucket.size();
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events are returned in no particular order.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return stream().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events are returned in no particular order.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<SimEvent> stream() {
+        return buckets.stream().filter(Objects::nonNull).flatMap(PriorityQueue::stream);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        Collections.fill(buckets, null);
+        size = 0;
+    }
+
+    @Override
+    public long getSerial() {
+        return serial;
+    }
+
+    @Override
+    public long getMaxEventsNumber() {
+        return maxEventsNumber;
+    }
+
+    /**
+     * Gets the current time interval (in seconds) covered by each bucket of the calendar.
+     * @return
+     */
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Gets the current number of buckets in the calendar.
+     * @return
+     */
+    public int getBucketsNumber() {
+        return buckets.size();
+    }
+}
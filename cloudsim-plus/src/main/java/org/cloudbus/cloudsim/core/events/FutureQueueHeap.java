@@ -0,0 +1,348 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} implemented as a d-ary min-heap stored in a plain array.
+ * Compared to the {@link FutureQueue}, it doesn't allocate a tree node for each event
+ * and the array layout is cache-friendly, making insertions and the removal of the first event
+ * cheaper for queues holding millions of events.
+ *
+ * <p>Since the heap is just partially ordered, {@link #iterator()} and {@link #stream()}
+ * return the events in no particular order.
+ * {@link CloudSimEvent}s keep track of their position inside the heap,
+ * so that they can be removed in O(log n) time.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class FutureQueueHeap implements FutureEventQueue {
+    /**
+     * The default number of children for each node in the heap.
+     * A 4-ary heap usually performs better than a binary one
+     * since it's shallower and sibling nodes are close in memory.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** @see #getArity() */
+    private final int arity;
+
+    /**
+     * The array storing the heap, where the children of the event at index i
+     * are at indexes [arity*i + 1, arity*i + arity].
+     */
+    private SimEvent[] heap;
+
+    /** @see #size() */
+    private int size;
+
+    /** @see #getSerial() */
+    private long serial;
+
+    private long lowestSerial;
+
+    /** @see #getMaxEventsNumber() */
+    private long maxEventsNumber;
+
+    /**
+     * Creates a 4-ary heap.
+     * @see #DEFAULT_ARITY
+     */
+    public FutureQueueHeap() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a d-ary heap.
+     * @param arity the number of children for each node in the heap (the d in d-ary).
+     */
+    public FutureQueueHeap(final int arity) {
+        if(arity < 2){
+            throw new IllegalArgumentException("The heap arity must be at least 2.");
+        }
+
+        this.arity = arity;
+        this.heap = new SimEvent[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        newEvent.setSerial(serial++);
+        insert(newEvent);
+        maxEventsNumber = Math.max(maxEventsNumber, size);
+    }
+
+    @Override
+    public void addEventFirst(final SimEvent newEvent) {
+        newEvent.setSerial(--lowestSerial);
+        insert(newEvent);
+    }
+
+    private void insert(final SimEvent newEvent) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        siftUp(size++, newEvent);
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException("The Future Queue is empty.");
+        }
+
+        return heap[0];
+    }
+
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        final SimEvent first = first();
+        removeAt(0);
+        return first;
+    }
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        final int index = indexOf(event);
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Gets the index of an event inside the heap.
+     * @param event the event to get its index
+     * @return the event index or -1 if it's not in the heap
+     */
+    private int indexOf(final SimEvent event) {
+        if (event instanceof CloudSimEvent cloudSimEvent) {
+            final int index = cloudSimEvent.heapIndex;
+            return index >= 0 && index < size && heap[index] == event ? index : -1;
+        }
+
+        if (event == null || event == SimEvent.NULL) {
+            return -1;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (event.equals(heap[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes the event at a given index, moving the last event
+     * to its place and restoring the heap order.
+     * @param index the index of the event to remove
+     */
+    private void removeAt(final int index) {
+        setIndex(heap[index], -1);
+        final int last = --size;
+        final SimEvent moved = heap[last];
+        heap[last] = null;
+        if (index == last) {
+            return;
+        }
+
+        siftDown(index, moved);
+        if (heap[index] == moved) {
+            siftUp(index, moved);
+        }
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            final SimEvent evt = heap[i];
+            if (predicate.test(evt)) {
+                setIndex(evt, -1);
+            } else heap[newSize++] = evt;
+        }
+
+        if (newSize == size) {
+            return false;
+        }
+
+        Arrays.fill(heap, newSize, size, null);
+        size = newSize;
+        heapify();
+        return true;
+    }
+
+    /**
+     * Rebuilds the heap order after several events were removed at once, in O(n) time.
+     */
+    private void heapify() {
+        for (int i = 0; i < size; i++) {
+            setIndex(heap[i], i);
+        }
+
+        for (int i = (size - 2) / arity; i >= 0; i--) {
+            siftDown(i, heap[i]);
+        }
+    }
+
+    /**
+     * Moves an event up to its position in the heap, starting from a given index.
+     * @param index the index where the event is initially placed
+     * @param evt the event to move
+     */
+    private void siftUp(int index, final SimEvent evt) {
+        while (index > 0) {
+            final int parent = (index - 1) / arity;
+            final SimEvent parentEvt = heap[parent];
+            if (evt.compareTo(parentEvt) >= 0) {
+                break;
+            }
+
+            place(index, parentEvt);
+            index = parent;
+        }
+
+        place(index, evt);
+    }
+
+    /**
+     * Moves an event down to its position in the heap, starting from a given index.
+     * @param index the index where the event is initially placed
+     * @param evt the event to move
+     */
+    private void siftDown(int index, final SimEvent evt) {
+        while (true) {
+            final int firstChild = arity * index + 1;
+            if (firstChild >= size) {
+                break;
+            }
+
+            final int lastChild = Math.min(firstChild + arity, size);
+            int minChild = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (heap[child].compareTo(heap[minChild]) < 0) {
+                    minChild = child;
+                }
+            }
+
+            if (evt.compareTo(heap[minChild]) <= 0) {
+                break;
+            }
+
+            place(index, heap[minChild]);
+            index = minChild;
+        }
+
+        place(index, evt);
+    }
+
+    private void place(final int index, final SimEvent evt) {
+        heap[index] = evt;
+        setIndex(evt, index);
+    }
+
+    private static void setIndex(final SimEvent evt, final int index) {
+        if (evt instanceof CloudSimEvent cloudSimEvent) {
+            cloudSimEvent.heapIndex = index;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events are returned in no particular order.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return stream().iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The events are returned in no particular order.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Stream<SimEvent> stream() {
+        return Arrays.stream(heap, 0, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            setIndex(heap[i], -1);
+        }
+
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public long getSerial() {
+        return serial;
+    }
+
+    @Override
+    public long getMaxEventsNumber() {
+        return maxEventsNumber;
+    }
+
+    /**
+     * Gets the number of children for each node in the heap (the d in d-ary).
+     * @return
+     */
+    public int getArity() {
+        return arity;
+    }
+}
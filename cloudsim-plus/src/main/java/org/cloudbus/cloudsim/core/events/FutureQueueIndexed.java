@@ -0,0 +1,227 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.SimEntity;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FutureEventQueue} decorator that keeps secondary indexes of the events
+ * stored in another queue, by {@link SimEvent#getSource() source entity} and
+ * {@link SimEvent#getTag() tag}.
+ * It enables finding the future events sent by a given entity
+ * without traversing the entire queue, which is usually required to cancel events.
+ *
+ * <p>The indexes are updated for every event added or removed,
+ * while the ordering and dispatching of events is performed by the decorated queue.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class FutureQueueIndexed implements FutureEventQueue {
+    /** @see #getQueue() */
+    private final FutureEventQueue queue;
+
+    /**
+     * Events sent by each source entity, grouped by tag.
+     * Empty sets are kept since entities usually schedule events of the same tags
+     * along the simulation, avoiding re-creating such sets.
+     */
+    private final Map<SimEntity, Map<CloudSimTag, Set<SimEvent>>> sourceIndex;
+
+    /**
+     * Creates a decorator that indexes the events of a given queue.
+     * @param queue the queue to have its events indexed, which must be empty
+     */
+    public FutureQueueIndexed(final FutureEventQueue queue) {
+        if(!queue.isEmpty()){
+            throw new IllegalArgumentException("The queue to be indexed must be empty.");
+        }
+
+        this.queue = queue;
+        this.sourceIndex = new HashMap<>();
+    }
+
+    @Override
+    public void addEvent(final SimEvent newEvent) {
+        queue.addEvent(newEvent);
+        index(newEvent).add(newEvent);
+    }
+
+    @Override
+    public void addEventFirst(final SimEvent newEvent) {
+        queue.addEventFirst(newEvent);
+        index(newEvent).add(newEvent);
+    }
+
+    /**
+     * Gets the set indexing events with the same source and tag of a given one,
+     * creating the set if it doesn't exist yet.
+     * @param evt the event to get the index set for
+     * @return the index set
+     */
+    private Set<SimEvent> index(final SimEvent evt) {
+        return sourceIndex
+                .computeIfAbsent(evt.getSource(), src -> new EnumMap<>(CloudSimTag.class))
+                .computeIfAbsent(evt.getTag(), tag -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private void unindex(final SimEvent evt) {
+        final var tagIndex = sourceIndex.get(evt.getSource());
+        if (tagIndex != null) {
+            final var events = tagIndex.get(evt.getTag());
+            if (events != null) {
+                events.remove(evt);
+            }
+        }
+    }
+
+    @Override
+    public SimEvent pollFirst() throws NoSuchElementException {
+        final SimEvent first = queue.pollFirst();
+        unindex(first);
+        return first;
+    }
+
+    @Override
+    public boolean remove(final SimEvent event) {
+        if (queue.remove(event)) {
+            unindex(event);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<SimEvent> events) {
+        boolean removed = false;
+        for (final SimEvent evt : events) {
+            removed |= remove(evt);
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<SimEvent> predicate) {
+        return queue.removeIf(evt -> {
+            if (predicate.test(evt)) {
+                unindex(evt);
+                return true;
+            }
+
+            return false;
+        });
+    }
+
+    /**
+     * Returns a stream of the events sent by a given entity, in no particular order.
+     *
+     * @param src the entity that sent the events
+     * @return the stream
+     */
+    public Stream<SimEvent> stream(final SimEntity src) {
+        final var tagIndex = sourceIndex.get(src);
+        return tagIndex == null ? Stream.empty() : tagIndex.values().stream().flatMap(Set::stream);
+    }
+
+    /**
+     * Returns a stream of the events sent by a given entity with a given tag, in no particular order.
+     *
+     * @param src the entity that sent the events
+     * @param tag the tag of the events
+     * @return the stream
+     */
+    public Stream<SimEvent> stream(final SimEntity src, final CloudSimTag tag) {
+        final var tagIndex = sourceIndex.get(src);
+        final var events = tagIndex == null ? null : tagIndex.get(tag);
+        return events == null ? Stream.empty() : events.stream();
+    }
+
+    /**
+     * Gets the number of events sent by a given entity with a given tag.
+     *
+     * @param src the entity that sent the events
+     * @param tag the tag of the events
+     * @return the number of events
+     */
+    public int size(final SimEntity src, final CloudSimTag tag) {
+        final var tagIndex = sourceIndex.get(src);
+        final var events = tagIndex == null ? null : tagIndex.get(tag);
+        return events == null ? 0 : events.size();
+    }
+
+    @Override
+    public Iterator<SimEvent> iterator() {
+        return queue.iterator();
+    }
+
+    @Override
+    public Stream<SimEvent> stream() {
+        return queue.stream();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public SimEvent first() throws NoSuchElementException {
+        return queue.first();
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+        sourceIndex.clear();
+    }
+
+    @Override
+    public long getSerial() {
+        return queue.getSerial();
+    }
+
+    @Override
+    public long getMaxEventsNumber() {
+        return queue.getMaxEventsNumber();
+    }
+
+    /**
+     * Gets the decorated queue which effectively stores and orders the events.
+     * @return
+     */
+    public FutureEventQueue getQueue() {
+        return queue;
+    }
+}
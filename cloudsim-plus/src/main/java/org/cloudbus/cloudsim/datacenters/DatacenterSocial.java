@@ -24,6 +24,7 @@ import org.cloudbus.cloudsim.power.models.PowerModelDatacenter;
 import org.cloudbus.cloudsim.power.models.PowerModelDatacenterSimple;
 import org.cloudbus.cloudsim.resources.DatacenterStorage;
 import org.cloudbus.cloudsim.resources.SanStorage;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.util.InvalidEventDataTypeException;
 import org.cloudbus.cloudsim.util.MathUtil;
 import org.cloudbus.cloudsim.util.TimeUtil;
@@ -101,6 +102,60 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
     private PowerModelDatacenter powerModel = PowerModelDatacenter.NULL;
     private long activeHostsNumber;
 
+    /** @see #isEventDrivenHostsUpdate() */
+    private boolean eventDrivenHostsUpdate;
+
+    /** @see #isParallelHostsUpdate() */
+    private boolean parallelHostsUpdate;
+
+    /**
+     * Indicates if the delay returned by the last {@link #updateHostsProcessing()}
+     * doesn't need to be bounded by the {@link #getSchedulingInterval() scheduling interval}.
+     * That happens when the processing of all updated Hosts
+     * {@link CloudletScheduler#canFastForward() can be fast-forwarded}
+     * or when the next update of each Host was already bounded (in {@link #isEventDrivenHostsUpdate() event-driven mode}).
+     */
+    private boolean hostsUpdateDelayUnbounded;
+
+    /**
+     * Tracks the Hosts that need to be updated when the {@link #isEventDrivenHostsUpdate() event-driven update}
+     * is enabled.
+     */
+    private final HostUpdateTracker hostUpdateTracker;
+
+    /** @see #isUpdateEventsCoalescing() */
+    private boolean updateEventsCoalescing;
+
+    /**
+     * The time of the {@link CloudSimTag#VM_UPDATE_CLOUDLET_PROCESSING} event
+     * sent by this Datacenter that is pending when {@link #isUpdateEventsCoalescing() coalescing} is enabled,
+     * or {@link Double#MAX_VALUE} if there is no pending event.
+     */
+    private double pendingUpdateTime = Double.MAX_VALUE;
+
+    /** @see #getCoalescedUpdateEventsNumber() */
+    private long coalescedUpdateEventsNumber;
+
+    /** @see #getRescheduledUpdateEventsNumber() */
+    private long rescheduledUpdateEventsNumber;
+
+    /** @see #getDroppedUpdateEventsNumber() */
+    private long droppedUpdateEventsNumber;
+
+    /**
+     * The simulation time the {@link #cpuMipsUtilization} and {@link #totalMipsCapacity}
+     * refer to, or a negative value if they must be computed again.
+     * It's volatile because Hosts may invalidate it when they are
+     * {@link #setParallelHostsUpdate(boolean) updated in parallel}.
+     */
+    private volatile double cpuUtilizationEpoch = -1;
+
+    /** @see #getCpuMipsUtilization() */
+    private double cpuMipsUtilization;
+
+    /** The total MIPS capacity of all Hosts at the {@link #cpuUtilizationEpoch}. */
+    private double totalMipsCapacity;
+
     /**
      * Creates a Datacenter with an empty {@link #getDatacenterStorage() storage}
      * and a {@link VmAllocationPolicySimple} by default.
@@ -190,6 +245,7 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
 
         this.onHostAvailableListeners = new ArrayList<>();
         this.onVmMigrationFinishListeners = new ArrayList<>();
+        this.hostUpdateTracker = new HostUpdateTracker(this);
         this.characteristics = new DatacenterCharacteristicsSimple(this);
         this.bandwidthPercentForMigration = DEF_BW_PERCENT_FOR_MIGRATION;
         this.migrationsEnabled = true;
@@ -231,13 +287,47 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
 
     @Override
     public void processEvent(final SimEvent evt) {
-        if (processCloudletEvents(evt) || processVmEvents(evt) || processNetworkEvents(evt) || processHostEvents(evt)) {
+        markHostsToUpdate(evt);
+        final boolean processed = processCloudletEvents(evt) || processVmEvents(evt) || processNetworkEvents(evt) || processHostEvents(evt);
+        /*Hosts are marked again since they may have changed by the event,
+        such as when a VM is created or migrated.*/
+        markHostsToUpdate(evt);
+        if (processed) {
             return;
         }
 
         LOGGER.trace("{}: {}: Unknown event {} received.", getSimulation().clockStr(), this, evt.getTag());
     }
 
+    /**
+     * Marks the Hosts related to a received event to be updated,
+     * when the {@link #isEventDrivenHostsUpdate() event-driven update} is enabled.
+     * @param evt the received event
+     */
+    private void markHostsToUpdate(final SimEvent evt) {
+        if (!eventDrivenHostsUpdate) {
+            return;
+        }
+
+        final Object data = evt.getData();
+        if (data instanceof Cloudlet cloudlet) {
+            hostUpdateTracker.markDirty(cloudlet.getVm().getHost());
+        } else if (evt.getTag() == CloudSimTag.CLOUDLET_SUBMIT_BATCH && data instanceof List<?> cloudlets) {
+            cloudlets.forEach(cloudlet -> hostUpdateTracker.markDirty(((Cloudlet) cloudlet).getVm().getHost()));
+        } else if (data instanceof Vm vm) {
+            hostUpdateTracker.markDirty(vm.getHost());
+        } else if (data instanceof VerticalVmScaling scaling) {
+            hostUpdateTracker.markDirty(scaling.getVm().getHost());
+        } else if (data instanceof Map.Entry<?, ?> entry && entry.getKey() instanceof Vm vm) {
+            hostUpdateTracker.markDirty(vm.getHost());
+            if (entry.getValue() instanceof Host targetHost) {
+                hostUpdateTracker.markDirty(targetHost);
+            }
+        } else if (data instanceof Host || evt.getTag() == CloudSimTag.HOST_REMOVE) {
+            hostUpdateTracker.markAllDirty();
+        }
+    }
+
     private boolean processHostEvents(final SimEvent evt) {
         if (evt.getTag() == CloudSimTag.HOST_ADD) {
             processHostAdditionRequest(evt);
@@ -330,7 +420,7 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
             case VM_DESTROY_ACK -> processVmDestroy(evt, true);
             case VM_MIGRATE -> finishVmMigration(evt, false);
             case VM_MIGRATE_ACK -> finishVmMigration(evt, true);
-            case VM_UPDATE_CLOUDLET_PROCESSING -> updateCloudletProcessing() != Double.MAX_VALUE;
+            case VM_UPDATE_CLOUDLET_PROCESSING -> processCloudletProcessingUpdate(evt);
             default -> false;
         };
     }
@@ -356,6 +446,8 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
             case CLOUDLET_SUBMIT -> processCloudletSubmit(evt, false);
             // New Cloudlet arrives, but the sender asks for an ack
             case CLOUDLET_SUBMIT_ACK -> processCloudletSubmit(evt, true);
+            // A batch of new Cloudlets arrives at once
+            case CLOUDLET_SUBMIT_BATCH -> processCloudletSubmitBatch(evt);
             // Cancels a previously submitted Cloudlet
             case CLOUDLET_CANCEL -> processCloudlet(evt, CloudSimTag.CLOUDLET_CANCEL);
             // Pauses a previously submitted Cloudlet
@@ -399,7 +491,8 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
             return false;
         }
 
-        return switch (tag) {
+        final boolean fastForwarded = updateFastForwardedHostProcessing(cloudlet);
+        final boolean processed = switch (tag) {
             case CLOUDLET_CANCEL -> processCloudletCancel(cloudlet);
             case CLOUDLET_PAUSE -> processCloudletPause(cloudlet, false);
             case CLOUDLET_PAUSE_ACK -> processCloudletPause(cloudlet, true);
@@ -412,6 +505,36 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
                 yield false;
             }
         };
+
+        invalidateHostCpuUtilization(cloudlet);
+
+        /* Cancelling or pausing a Cloudlet may speed up the other ones,
+         * which then will finish before the processing update already scheduled. */
+        if (fastForwarded && processed) {
+            scheduleCloudletProcessingUpdate(getSimulation().getMinTimeBetweenEvents());
+        }
+
+        return processed;
+    }
+
+    /**
+     * Updates the processing of the Host running the VM of a given Cloudlet,
+     * if the processing of Cloudlets inside such a VM {@link CloudletScheduler#canFastForward() is fast-forwarded}.
+     * Since such a VM may not have been updated for a while, that ensures
+     * the progress of its Cloudlets up to the current time is computed
+     * before some event changes the MIPS allocated to them.
+     *
+     * @param cloudlet the Cloudlet affected by an event
+     * @return true if the Host processing was updated, false otherwise
+     */
+    private boolean updateFastForwardedHostProcessing(final Cloudlet cloudlet) {
+        final Vm vm = cloudlet.getVm();
+        if (vm.isCreated() && vm.getCloudletScheduler().canFastForward()) {
+            vm.getHost().updateProcessing(clock());
+            return true;
+        }
+
+        return false;
     }
 
     /**
@@ -428,10 +551,75 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
         }
 
         cloudlet.assignToDatacenter(this);
+        updateFastForwardedHostProcessing(cloudlet);
         submitCloudletToVm(cloudlet, ack);
+        invalidateHostCpuUtilization(cloudlet);
         return true;
     }
 
+    /**
+     * Invalidates the {@link Host#isCpuUtilizationCaching() cached CPU utilization}
+     * of the Host running the VM of a given Cloudlet, after the Cloudlet state is changed.
+     * @param cloudlet the Cloudlet affected by an event
+     */
+    private void invalidateHostCpuUtilization(final Cloudlet cloudlet) {
+        cloudlet.getVm().getHost().invalidateCpuUtilization();
+    }
+
+    /**
+     * Processes the submission of a batch of Cloudlets by a DatacenterBroker,
+     * where all Cloudlets arrive at the same time.
+     * The Host of each affected VM is updated at most once, by the first Cloudlet
+     * submitted to a fast-forwarded VM inside it (which updates all VMs in the Host),
+     * and a single update of Cloudlets processing is scheduled for the earliest
+     * expected completion among the submitted Cloudlets,
+     * instead of one update for each Cloudlet.
+     *
+     * @param evt information about the event just happened,
+     *            whose data must be a List of Cloudlets
+     * @return true if some Cloudlet was submitted, false otherwise
+     * @see org.cloudbus.cloudsim.brokers.DatacenterBrokerAbstract#setBatchCloudletSubmission(boolean)
+     */
+    protected boolean processCloudletSubmitBatch(final SimEvent evt) {
+        if (!(evt.getData() instanceof List<?> cloudlets)) {
+            throw new InvalidEventDataTypeException(evt, "CLOUDLET_SUBMIT_BATCH", "List<Cloudlet>");
+        }
+
+        final var affectedHosts = new HashSet<Host>();
+        final var updatedHosts = new HashSet<Host>();
+        double nextUpdateDelay = Double.MAX_VALUE;
+        boolean submitted = false;
+        for (final Object data : cloudlets) {
+            final var cloudlet = (Cloudlet) data;
+            if (cloudlet.isFinished()) {
+                notifyBrokerAboutAlreadyFinishedCloudlet(cloudlet, false);
+                continue;
+            }
+
+            cloudlet.assignToDatacenter(this);
+            final Host host = cloudlet.getVm().getHost();
+            affectedHosts.add(host);
+            if (!updatedHosts.contains(host) && updateFastForwardedHostProcessing(cloudlet)) {
+                updatedHosts.add(host);
+            }
+
+            final double estimatedFinishTime = submitCloudletToVmScheduler(cloudlet);
+            if (isCloudletInExecList(estimatedFinishTime)) {
+                final var scheduler = cloudlet.getVm().getCloudletScheduler();
+                nextUpdateDelay = Math.min(nextUpdateDelay, getCloudletProcessingUpdateInterval(scheduler, estimatedFinishTime));
+            }
+
+            submitted = true;
+        }
+
+        affectedHosts.forEach(Host::invalidateCpuUtilization);
+        if (nextUpdateDelay != Double.MAX_VALUE) {
+            scheduleCloudletProcessingUpdate(nextUpdateDelay);
+        }
+
+        return submitted;
+    }
+
     /**
      * Submits a cloudlet to be executed inside its bind VM.
      *
@@ -440,21 +628,42 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
      * receives the cloudlet submission
      */
     private void submitCloudletToVm(final Cloudlet cloudlet, final boolean ack) {
+        final double estimatedFinishTime = submitCloudletToVmScheduler(cloudlet);
+
+        if (isCloudletInExecList(estimatedFinishTime)) {
+            final var scheduler = cloudlet.getVm().getCloudletScheduler();
+            scheduleCloudletProcessingUpdate(getCloudletProcessingUpdateInterval(scheduler, estimatedFinishTime));
+        }
+
+        sendCloudletSubmitAckToBroker(cloudlet, ack);
+    }
+
+    /**
+     * Submits a cloudlet to the {@link CloudletScheduler} of its bind VM.
+     *
+     * @param cloudlet the cloudlet to the executed
+     * @return the estimated finish time of the Cloudlet
+     * (which is a relative delay from the current simulation time)
+     * @see CloudletScheduler#cloudletSubmit(Cloudlet, double)
+     */
+    private double submitCloudletToVmScheduler(final Cloudlet cloudlet) {
         // time to transfer cloudlet's files
         final double fileTransferTime = getDatacenterStorage().predictFileTransferTime(cloudlet.getRequiredFiles());
 
         final var scheduler = cloudlet.getVm().getCloudletScheduler();
         final double estimatedFinishTime = scheduler.cloudletSubmit(cloudlet, fileTransferTime);
-
-        // if this cloudlet is in the exec queue
-        if (estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime)) {
-            send(this,
-                getCloudletProcessingUpdateInterval(estimatedFinishTime),
-                CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
-        }
-
         ((CustomerEntityAbstract)cloudlet).setCreationTime();
-        sendCloudletSubmitAckToBroker(cloudlet, ack);
+        return estimatedFinishTime;
+    }
+
+    /**
+     * Checks if a submitted Cloudlet was placed into the execution list of its VM,
+     * according to its estimated finish time.
+     * @param estimatedFinishTime the estimated finish time returned when the Cloudlet was submitted
+     * @return
+     */
+    private static boolean isCloudletInExecList(final double estimatedFinishTime) {
+        return estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime);
     }
 
     /**
@@ -487,6 +696,38 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
         return Math.min(nextFinishingCloudletTime, delay);
     }
 
+    /**
+     * Gets the time when the next update of cloudlets has to be performed,
+     * considering the Cloudlets' processing inside a given scheduler.
+     * If such a processing {@link CloudletScheduler#canFastForward() can be fast-forwarded},
+     * the given time is returned, without considering the {@link #getSchedulingInterval()}.
+     *
+     * @param scheduler the scheduler whose Cloudlets' processing has to be updated
+     * @param nextFinishingCloudletTime the predicted completion time of the earliest finishing cloudlet
+     * (which is a relative delay from the current simulation time)
+     * @return next time cloudlets processing will be updated (a relative delay from the current simulation time)
+     * @see #getCloudletProcessingUpdateInterval(double)
+     */
+    private double getCloudletProcessingUpdateInterval(final CloudletScheduler scheduler, final double nextFinishingCloudletTime){
+        return scheduler.canFastForward() ? nextFinishingCloudletTime : getCloudletProcessingUpdateInterval(nextFinishingCloudletTime);
+    }
+
+    /**
+     * Checks if the Cloudlets' processing inside all VMs of a given Host
+     * {@link CloudletScheduler#canFastForward() can be fast-forwarded}.
+     * @param host the Host to check
+     * @return
+     */
+    private boolean canFastForward(final Host host) {
+        for (final Vm vm : host.getVmList()) {
+            if (!vm.getCloudletScheduler().canFastForward()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private double clock() {
         return getSimulation().clock();
     }
@@ -498,12 +739,11 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
      * @return
      */
     protected boolean processCloudletResume(final Cloudlet cloudlet, final boolean ack) {
-        final double estimatedFinishTime = cloudlet.getVm().getCloudletScheduler().cloudletResume(cloudlet);
+        final var scheduler = cloudlet.getVm().getCloudletScheduler();
+        final double estimatedFinishTime = scheduler.cloudletResume(cloudlet);
 
         if (estimatedFinishTime > 0.0 && estimatedFinishTime > clock()) {
-            schedule(this,
-                getCloudletProcessingUpdateInterval(estimatedFinishTime),
-                CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+            scheduleCloudletProcessingUpdate(getCloudletProcessingUpdateInterval(scheduler, estimatedFinishTime));
         }
 
         sendAck(ack, cloudlet, CloudSimTag.CLOUDLET_RESUME_ACK);
@@ -581,7 +821,7 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
             sendNow(vm.getBroker(), CloudSimTag.VM_DESTROY_ACK, vm);
         }
 
-        vm.getBroker().requestShutdownWhenIdle();
+        getSimulation().runInEventOrder(() -> vm.getBroker().requestShutdownWhenIdle());
         if(getSimulation().isAborted() || getSimulation().isAbortRequested()) {
             return true;
         }
@@ -641,7 +881,7 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
             ((VmSocial)vm).updateMigrationFinishListeners(targetHost);
             /*When the VM is destroyed from the source host, it's removed from the vmExecList.
             After migration, we need to add it again.*/
-            vm.getBroker().getVmExecList().add(vm);
+            getSimulation().runInEventOrder(() -> vm.getBroker().getVmExecList().add(vm));
 
             if (ack) {
                 sendNow(evt.getSource(), CloudSimTag.VM_CREATE_ACK, vm);
@@ -721,9 +961,21 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
      */
     protected double updateHostsProcessing() {
         double nextSimulationDelay = Double.MAX_VALUE;
-        for (final Host host : getHostList()) {
-            final double delay = host.updateProcessing(clock());
-            nextSimulationDelay = Math.min(delay, nextSimulationDelay);
+        if (eventDrivenHostsUpdate) {
+            nextSimulationDelay = updateDueHostsProcessing();
+            hostsUpdateDelayUnbounded = true;
+        } else {
+            final List<Host> hosts = getHostList();
+            final List<Double> delays = parallelHostsUpdate ? updateHostsProcessingInParallel(hosts) : null;
+            boolean fastForward = true;
+            for (int i = 0; i < hosts.size(); i++) {
+                final Host host = hosts.get(i);
+                final double delay = delays == null ? host.updateProcessing(clock()) : delays.get(i);
+                nextSimulationDelay = Math.min(delay, nextSimulationDelay);
+                fastForward = fastForward && canFastForward(host);
+            }
+
+            hostsUpdateDelayUnbounded = fastForward;
         }
 
         // Guarantees a minimal interval before scheduling the event
@@ -733,6 +985,45 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
         return nextSimulationDelay;
     }
 
+    /**
+     * Updates the processing of the Hosts that have reached the time of their next update
+     * (usually the completion of some Cloudlet) or that had their state changed by some event.
+     *
+     * @return the delay for the next update of some Host (a relative delay from the current simulation time),
+     * or {@link Double#MAX_VALUE} if there is no Cloudlet running
+     * @see #setEventDrivenHostsUpdate(boolean)
+     */
+    private double updateDueHostsProcessing() {
+        final double minTimeBetweenEvents = getSimulation().getMinTimeBetweenEvents();
+        final List<Host> hosts = hostUpdateTracker.pollHostsToUpdate(clock(), minTimeBetweenEvents);
+        final List<Double> delays = parallelHostsUpdate ? updateHostsProcessingInParallel(hosts) : null;
+        for (int i = 0; i < hosts.size(); i++) {
+            final Host host = hosts.get(i);
+            final double delay = delays == null ? host.updateProcessing(clock()) : delays.get(i);
+            final double interval = canFastForward(host) ? delay : getCloudletProcessingUpdateInterval(delay);
+            final double nextUpdateTime = delay == Double.MAX_VALUE ? delay : clock() + interval;
+            hostUpdateTracker.hostUpdated(host, nextUpdateTime);
+        }
+
+        final double nextUpdateTime = hostUpdateTracker.getNextUpdateTime();
+        return nextUpdateTime == Double.MAX_VALUE ? nextUpdateTime : nextUpdateTime - clock();
+    }
+
+    /**
+     * Updates the processing of a list of Hosts in parallel.
+     * Each Host (with its VMs and Cloudlets) is updated by a single thread,
+     * while the events sent and listeners called during the update are
+     * applied in the order of the Hosts in the list.
+     *
+     * @param hosts the Hosts to update
+     * @return the delay for the next update of each Host (in the same order of the given list)
+     * @see #setParallelHostsUpdate(boolean)
+     */
+    private List<Double> updateHostsProcessingInParallel(final List<? extends Host> hosts) {
+        final double time = clock();
+        return getSimulation().runInParallel(hosts, host -> host.updateProcessing(time));
+    }
+
     /**
      * Updates processing of each Host, that fires the update of VMs,
      * which in turn updates cloudlets running in this Datacenter.
@@ -748,14 +1039,20 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
      */
     protected double updateCloudletProcessing() {
         if (!isTimeToUpdateCloudletsProcessing()){
+            droppedUpdateEventsNumber++;
             return Double.MAX_VALUE;
         }
 
         double nextSimulationDelay = updateHostsProcessing();
 
-        if (nextSimulationDelay != Double.MAX_VALUE) {
+        /* If the processing of all Hosts can be fast-forwarded,
+         * the next update just happens at the next Cloudlet completion. */
+        if (nextSimulationDelay != Double.MAX_VALUE && !hostsUpdateDelayUnbounded) {
             nextSimulationDelay = getCloudletProcessingUpdateInterval(nextSimulationDelay);
-            schedule(nextSimulationDelay, CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+        }
+
+        if (nextSimulationDelay != Double.MAX_VALUE) {
+            scheduleCloudletProcessingUpdate(nextSimulationDelay);
         }
         setLastProcessTime(clock());
 
@@ -763,6 +1060,76 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
         return nextSimulationDelay;
     }
 
+    /**
+     * Processes a {@link CloudSimTag#VM_UPDATE_CLOUDLET_PROCESSING} event,
+     * updating the processing of Cloudlets if it's time to.
+     *
+     * @param evt the update event
+     * @return true if some Cloudlet is yet to be processed, false otherwise
+     */
+    private boolean processCloudletProcessingUpdate(final SimEvent evt) {
+        if (isPendingUpdateEvent(evt)) {
+            pendingUpdateTime = Double.MAX_VALUE;
+
+            /* Updates requested while this event was pending were coalesced into it.
+             * If it's too close to the last update to be processed,
+             * it's postponed to avoid losing such requests. */
+            if (!isTimeToUpdateCloudletsProcessing()) {
+                scheduleCloudletProcessingUpdate(getLastProcessTime() + getSimulation().getMinTimeBetweenEvents() - clock());
+                return false;
+            }
+        }
+
+        return updateCloudletProcessing() != Double.MAX_VALUE;
+    }
+
+    /**
+     * Checks if an event is the pending update of Cloudlets processing sent when
+     * {@link #isUpdateEventsCoalescing() coalescing} is enabled.
+     * Update events sent by other objects (such as brokers and Cloudlet schedulers)
+     * carry the affected VM as data, so they are not coalesced.
+     *
+     * @param evt the update event
+     * @return true if the event is the pending update, false otherwise
+     */
+    private boolean isPendingUpdateEvent(final SimEvent evt) {
+        return evt.getTag() == CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING &&
+               evt.getSource() == this && evt.getData() == null &&
+               evt.getTime() == pendingUpdateTime;
+    }
+
+    /**
+     * Schedules an update of Cloudlets processing inside this Datacenter.
+     *
+     * <p>When {@link #isUpdateEventsCoalescing() coalescing} is enabled,
+     * at most one update event is kept pending:
+     * if there is a pending update no later than the requested time,
+     * no event is sent; if the pending update is later,
+     * it's cancelled and rescheduled to the requested time.</p>
+     *
+     * @param delay the delay (from the current simulation time) for the update
+     */
+    private void scheduleCloudletProcessingUpdate(final double delay) {
+        if (!updateEventsCoalescing) {
+            send(this, delay, CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+            return;
+        }
+
+        final double updateTime = clock() + Math.max(delay, 0);
+        if (pendingUpdateTime <= updateTime) {
+            coalescedUpdateEventsNumber++;
+            return;
+        }
+
+        if (pendingUpdateTime != Double.MAX_VALUE) {
+            getSimulation().cancel(this, this::isPendingUpdateEvent);
+            rescheduledUpdateEventsNumber++;
+        }
+
+        pendingUpdateTime = updateTime;
+        send(this, delay, CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+    }
+
     private boolean isTimeToUpdateCloudletsProcessing() {
         // if some time passed since last processing
         // R: for term is to allow loop at simulation start. Otherwise, one initial
@@ -973,6 +1340,167 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
         return this;
     }
 
+    /**
+     * Checks if the event-driven update of Hosts is enabled.
+     * @return
+     * @see #setEventDrivenHostsUpdate(boolean)
+     */
+    public boolean isEventDrivenHostsUpdate() {
+        return eventDrivenHostsUpdate;
+    }
+
+    /**
+     * Enables or disables the event-driven update of Hosts (disabled by default).
+     * When disabled, the processing of every Host is updated
+     * each time the Datacenter updates the processing of Cloudlets.
+     *
+     * <p>When enabled, each Host is just updated when the time of its next update comes
+     * (the completion of its next Cloudlet or the next {@link #getSchedulingInterval() scheduling interval})
+     * or when it's affected by an event received by the Datacenter
+     * (such as a Cloudlet submission, VM creation or migration).
+     * Hosts without running Cloudlets are not updated until they are idle enough
+     * to be shut down or to have some VM destroyed.
+     * This way, just the Hosts whose state has changed are updated, which is much faster
+     * for large Datacenters having few Hosts active at the same time.</p>
+     *
+     * <p>Since Hosts not updated keep their state from the last update,
+     * results may diverge from the default mode when Cloudlets use
+     * utilization models that change along the time, when
+     * the CPU utilization of Hosts is used (such as for VM migrations)
+     * or when there are listeners for the processing update of Hosts and VMs.
+     * Setting a {@link #getSchedulingInterval() scheduling interval} makes Hosts
+     * running Cloudlets to be updated at least at such an interval.</p>
+     *
+     * @param eventDrivenHostsUpdate true to enable the event-driven update, false to disable it
+     * @return
+     */
+    public Datacenter setEventDrivenHostsUpdate(final boolean eventDrivenHostsUpdate) {
+        this.eventDrivenHostsUpdate = eventDrivenHostsUpdate;
+        hostUpdateTracker.markAllDirty();
+        return this;
+    }
+
+    /**
+     * Checks if the processing of Hosts is updated in parallel.
+     * @return
+     * @see #setParallelHostsUpdate(boolean)
+     */
+    public boolean isParallelHostsUpdate() {
+        return parallelHostsUpdate;
+    }
+
+    /**
+     * Enables or disables the parallel update of Hosts processing (disabled by default).
+     * When enabled, the Hosts to be updated when the Datacenter processes Cloudlets
+     * are split among the threads of the common {@link java.util.concurrent.ForkJoinPool}
+     * (see {@link org.cloudbus.cloudsim.core.Simulation#runInParallel(List, java.util.function.Function)}).
+     * It's usually worth it just for Datacenters with a large number of Hosts running Cloudlets.
+     *
+     * <p>Each Host is updated by a single thread, which updates its {@link org.cloudbus.cloudsim.schedulers.vm.VmScheduler},
+     * VMs and {@link org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler}s.
+     * The events sent during the update (such as for returning finished Cloudlets to brokers)
+     * and the {@link Host#addOnUpdateProcessingListener(EventListener) Host update processing listeners}
+     * are applied after all Hosts are updated, in the order of the Hosts.
+     * The delay for the next update is the minimum among all Hosts.
+     * This way, results are the same as a sequential update.</p>
+     *
+     * <p>However, listeners for the update of VMs and Cloudlets (such as Cloudlet finish listeners)
+     * are called by the thread updating the Host. Such listeners must not change
+     * the state of other Hosts, VMs or entities, except by sending events or calling
+     * {@link org.cloudbus.cloudsim.core.Simulation#runInEventOrder(Runnable)}.</p>
+     *
+     * @param parallelHostsUpdate true to enable the parallel update, false to disable it
+     * @return
+     * @see #setEventDrivenHostsUpdate(boolean)
+     */
+    public Datacenter setParallelHostsUpdate(final boolean parallelHostsUpdate) {
+        this.parallelHostsUpdate = parallelHostsUpdate;
+        return this;
+    }
+
+    /**
+     * Checks if the coalescing of update events for Cloudlets processing is enabled.
+     * @return
+     * @see #setUpdateEventsCoalescing(boolean)
+     */
+    public boolean isUpdateEventsCoalescing() {
+        return updateEventsCoalescing;
+    }
+
+    /**
+     * Enables or disables the coalescing of {@link CloudSimTag#VM_UPDATE_CLOUDLET_PROCESSING} events
+     * (disabled by default).
+     * When disabled, every Cloudlet submission, resume and processing update
+     * sends a new update event, even if there is already one pending for an earlier time.
+     * Most of such events become stale and are just dropped when they are received.
+     *
+     * <p>When enabled, the Datacenter keeps at most one pending update event sent by itself.
+     * A request for an update at the same time or after the pending one is coalesced into it,
+     * while a request for an earlier update reschedules the pending event to such a time.
+     * Update events sent to the Datacenter by other objects (such as brokers and Cloudlet schedulers)
+     * are not affected.</p>
+     *
+     * <p>Hosts are updated at exactly the same times in both modes, giving the same results,
+     * as long as every update request coalesced into an earlier pending update
+     * is requested again for the very same time by the updates processed until then,
+     * or is less than the {@link Simulation#getMinTimeBetweenEvents() minimum time between events}
+     * after the previous update (so that its event would be dropped in the default mode).
+     * Otherwise, the default mode processes an update that doesn't happen when coalescing is enabled,
+     * changing the times the next updates happen and
+     * the start and finish times of Cloudlets detected at such updates.
+     * That is the case when:</p>
+     * <ul>
+     *   <li>the estimated finish time of a Cloudlet changes after an update is requested for it,
+     *   such as when another Cloudlet starts sharing the same VM PEs;</li>
+     *   <li>Cloudlets finish less than the minimum time between events plus 0.01 apart,
+     *   since the updates requested by the processing of Cloudlets are delayed at least by that time,
+     *   while the updates requested when Cloudlets are submitted aren't;</li>
+     *   <li>the time of an update requested again is computed from a different simulation time,
+     *   getting a slightly different floating-point rounding.</li>
+     * </ul>
+     *
+     * @param updateEventsCoalescing true to enable the coalescing of update events, false to disable it
+     * @return
+     * @see #getCoalescedUpdateEventsNumber()
+     * @see #getRescheduledUpdateEventsNumber()
+     * @see #getDroppedUpdateEventsNumber()
+     */
+    public Datacenter setUpdateEventsCoalescing(final boolean updateEventsCoalescing) {
+        this.updateEventsCoalescing = updateEventsCoalescing;
+        pendingUpdateTime = Double.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * Gets the number of requests for updating Cloudlets processing that were coalesced
+     * into a pending update event, instead of sending a new event.
+     * @return
+     * @see #setUpdateEventsCoalescing(boolean)
+     */
+    public long getCoalescedUpdateEventsNumber() {
+        return coalescedUpdateEventsNumber;
+    }
+
+    /**
+     * Gets the number of times a pending update event was cancelled and rescheduled to an earlier time.
+     * @return
+     * @see #setUpdateEventsCoalescing(boolean)
+     */
+    public long getRescheduledUpdateEventsNumber() {
+        return rescheduledUpdateEventsNumber;
+    }
+
+    /**
+     * Gets the number of {@link CloudSimTag#VM_UPDATE_CLOUDLET_PROCESSING} events received
+     * that were dropped because the processing of Cloudlets had already been updated
+     * less than the {@link Simulation#getMinTimeBetweenEvents() minimum time between events} before.
+     * @return
+     * @see #setUpdateEventsCoalescing(boolean)
+     */
+    public long getDroppedUpdateEventsNumber() {
+        return droppedUpdateEventsNumber;
+    }
+
     @Override
     public double getTimeZone() {
         return timeZone;
@@ -999,12 +1527,72 @@ public class DatacenterSocial extends CloudSimEntity implements Datacenter {
     }
 
     /**
-     * Update the number of active Hosts inside the datacenter
+     * Update the number of active Hosts inside the datacenter.
+     * It's synchronized since Hosts may be shut down when they
+     * are {@link #setParallelHostsUpdate(boolean) updated in parallel}.
      */
-    public void updateActiveHostsNumber(final Host host){
+    public synchronized void updateActiveHostsNumber(final Host host){
         activeHostsNumber += host.isActive() ? 1 : -1;
     }
 
+    /**
+     * Gets the current total CPU utilization (in MIPS) of all Hosts.
+     * The value is computed once for the current simulation time and then read from a cache,
+     * until some Host has its processing updated or its CPU utilization
+     * {@link Host#invalidateCpuUtilization() invalidated}.
+     * Enabling the {@link Host#setCpuUtilizationCaching(boolean) caching}
+     * of the CPU utilization for Hosts avoids iterating over all VMs
+     * when the value has to be computed again.
+     *
+     * @return
+     */
+    public double getCpuMipsUtilization() {
+        updateCpuUtilization();
+        return cpuMipsUtilization;
+    }
+
+    /**
+     * Gets the current percentage of CPU capacity (MIPS %) used by all Hosts,
+     * which is read from the same cache as {@link #getCpuMipsUtilization()}.
+     *
+     * @return the CPU utilization percentage (between [0 and 1]) for the current time
+     */
+    public double getCpuPercentUtilization() {
+        updateCpuUtilization();
+        return totalMipsCapacity == 0 ? 0 : cpuMipsUtilization / totalMipsCapacity;
+    }
+
+    /**
+     * Computes the CPU utilization of all Hosts again, if the cached value
+     * doesn't refer to the current simulation time.
+     */
+    private void updateCpuUtilization() {
+        final double time = clock();
+        if (cpuUtilizationEpoch == time) {
+            return;
+        }
+
+        double mipsUtilization = 0;
+        double mipsCapacity = 0;
+        for (final Host host : hostList) {
+            mipsUtilization += host.getCpuMipsUtilization();
+            mipsCapacity += host.getTotalMipsCapacity();
+        }
+
+        cpuMipsUtilization = mipsUtilization;
+        totalMipsCapacity = mipsCapacity;
+        cpuUtilizationEpoch = time;
+    }
+
+    /**
+     * Invalidates the cached {@link #getCpuMipsUtilization() CPU utilization of all Hosts},
+     * so that it's computed again when requested.
+     * It's called by Hosts when their CPU utilization may have changed.
+     */
+    public void invalidateCpuUtilization() {
+        cpuUtilizationEpoch = -1;
+    }
+
     @Override
     public long size() {
         return hostList.size();
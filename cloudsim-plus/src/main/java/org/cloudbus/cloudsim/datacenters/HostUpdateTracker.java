@@ -0,0 +1,236 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.*;
+
+/**
+ * Tracks the Hosts of a Datacenter that need to have their processing updated,
+ * so that the Datacenter doesn't update every Host when processing Cloudlets.
+ * It's used when the {@link DatacenterSimple#setEventDrivenHostsUpdate(boolean) event-driven Hosts update}
+ * is enabled.
+ *
+ * <p>After a Host is updated, it's registered into a priority queue
+ * according to the time of its next update, given by the completion of its next Cloudlet.
+ * This way, a Host is just updated when such a time comes or if it's {@link #markDirty(Host) marked as dirty}
+ * due to some event that changes its state (such as a Cloudlet submission or VM migration).
+ * Hosts without running Cloudlets aren't registered into such a queue,
+ * since there is no processing to update.</p>
+ *
+ * <p>However, the idleness of such Hosts and their VMs must still be checked,
+ * so that VMs are destroyed or Hosts are shutdown when they are idle enough.
+ * The time when that happens is kept in a separate queue,
+ * which doesn't require the Datacenter to be updated at such a time,
+ * but makes the Host to be updated in the first Datacenter update after that.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class HostUpdateTracker {
+    /**
+     * Sorts entries by the time of the next Host update, then by Host id.
+     */
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+        Comparator.comparingDouble(Entry::time).thenComparingLong(entry -> entry.host().getId());
+
+    private final Datacenter datacenter;
+
+    /**
+     * The time Hosts with running Cloudlets have to be updated.
+     */
+    private final PriorityQueue<Entry> nextUpdates;
+
+    /**
+     * The time Hosts or some of their VMs have to be checked for idleness.
+     */
+    private final PriorityQueue<Entry> idlenessChecks;
+
+    /**
+     * The current entry of each Host inside the {@link #nextUpdates} queue.
+     * Entries in the queue that are not here anymore are outdated and just ignored.
+     */
+    private final Map<Host, Entry> nextUpdateEntries;
+
+    /**
+     * The current entry of each Host inside the {@link #idlenessChecks} queue.
+     */
+    private final Map<Host, Entry> idlenessCheckEntries;
+
+    private final Set<Host> dirtyHosts;
+
+    /**
+     * Indicates if all Hosts have to be updated, such as at the beginning of the simulation.
+     */
+    private boolean allHostsDirty;
+
+    HostUpdateTracker(final Datacenter datacenter) {
+        this.datacenter = datacenter;
+        this.nextUpdates = new PriorityQueue<>(ENTRY_COMPARATOR);
+        this.idlenessChecks = new PriorityQueue<>(ENTRY_COMPARATOR);
+        this.nextUpdateEntries = new IdentityHashMap<>();
+        this.idlenessCheckEntries = new IdentityHashMap<>();
+        this.dirtyHosts = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.allHostsDirty = true;
+    }
+
+    /**
+     * Marks a Host to be updated in the next Datacenter update.
+     * @param host the Host to mark (Host.NULL is ignored)
+     */
+    void markDirty(final Host host) {
+        if (host != null && host != Host.NULL) {
+            dirtyHosts.add(host);
+        }
+    }
+
+    /**
+     * Marks all Hosts to be updated in the next Datacenter update.
+     */
+    void markAllDirty() {
+        allHostsDirty = true;
+    }
+
+    /**
+     * Gets the Hosts that have to be updated at a given time, removing them from the tracker.
+     * After being updated, they must be registered again by {@link #hostUpdated(Host, double)}.
+     *
+     * @param time the current simulation time
+     * @param tolerance a time interval after the current time, so that Hosts whose next update is inside it
+     *                  are updated now. It avoids scheduling a new update just after the current one.
+     * @return the Hosts to update, sorted by id
+     */
+    List<Host> pollHostsToUpdate(final double time, final double tolerance) {
+        if (allHostsDirty) {
+            allHostsDirty = false;
+            dirtyHosts.clear();
+            return new ArrayList<>(datacenter.getHostList());
+        }
+
+        final Set<Host> hostSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        hostSet.addAll(dirtyHosts);
+        dirtyHosts.clear();
+        pollDueHosts(nextUpdates, nextUpdateEntries, time + tolerance, hostSet);
+        pollDueHosts(idlenessChecks, idlenessCheckEntries, time + tolerance, hostSet);
+
+        final var hosts = new ArrayList<>(hostSet);
+        hosts.sort(Comparator.comparingLong(Host::getId));
+        return hosts;
+    }
+
+    private static void pollDueHosts(
+        final PriorityQueue<Entry> queue, final Map<Host, Entry> entries,
+        final double time, final Set<Host> hosts)
+    {
+        while (!queue.isEmpty() && queue.peek().time() <= time) {
+            final Entry entry = queue.poll();
+            if (entries.get(entry.host()) == entry) {
+                entries.remove(entry.host());
+                hosts.add(entry.host());
+            }
+        }
+    }
+
+    /**
+     * Registers a Host after it's updated, defining when it has to be updated again.
+     * @param host the updated Host
+     * @param nextUpdateTime the time of the next Host update (which must
+     *                       consider the Datacenter scheduling interval)
+     *                       or {@link Double#MAX_VALUE} if there are no running Cloudlets
+     */
+    void hostUpdated(final Host host, final double nextUpdateTime) {
+        nextUpdateEntries.remove(host);
+        idlenessCheckEntries.remove(host);
+        if (nextUpdateTime != Double.MAX_VALUE) {
+            addEntry(nextUpdates, nextUpdateEntries, new Entry(nextUpdateTime, host));
+        }
+
+        //The Host may have idle VMs, even if other ones are running Cloudlets
+        final double idlenessCheckTime = getIdlenessCheckTime(host);
+        if (idlenessCheckTime < nextUpdateTime) {
+            addEntry(idlenessChecks, idlenessCheckEntries, new Entry(idlenessCheckTime, host));
+        }
+    }
+
+    private static void addEntry(final PriorityQueue<Entry> queue, final Map<Host, Entry> entries, final Entry entry) {
+        entries.put(entry.host(), entry);
+        queue.add(entry);
+    }
+
+    /**
+     * Gets the time a Host will be idle enough to be shutdown
+     * or to have some VM without running Cloudlets destroyed.
+     * @param host the Host to check
+     * @return the time to check the idleness or {@link Double#MAX_VALUE} if it doesn't need to be checked
+     */
+    private static double getIdlenessCheckTime(final Host host) {
+        final List<Vm> vmList = host.getVmList();
+        if (vmList.isEmpty()) {
+            final double deadline = host.getIdleShutdownDeadline();
+            return host.isActive() && deadline >= 0 ? host.getLastBusyTime() + deadline : Double.MAX_VALUE;
+        }
+
+        double time = Double.MAX_VALUE;
+        for (final Vm vm : vmList) {
+            final double delay = vm.getBroker().getVmDestructionDelayFunction().apply(vm);
+            if (delay > DatacenterBroker.DEF_VM_DESTRUCTION_DELAY && vm.getCloudletScheduler().getCloudletExecList().isEmpty()) {
+                time = Math.min(time, vm.getLastBusyTime() + delay);
+            }
+        }
+
+        return time;
+    }
+
+    /**
+     * Gets the time of the next Host update, without considering idleness checks.
+     * @return the next update time or {@link Double#MAX_VALUE} if no Host has running Cloudlets
+     */
+    double getNextUpdateTime() {
+        while (!nextUpdates.isEmpty()) {
+            final Entry entry = nextUpdates.peek();
+            if (nextUpdateEntries.get(entry.host()) == entry) {
+                return entry.time();
+            }
+
+            nextUpdates.poll();
+        }
+
+        return Double.MAX_VALUE;
+    }
+
+    /**
+     * Gets the number of Hosts waiting for their next update.
+     * @return
+     */
+    int getScheduledHostsNumber() {
+        return nextUpdateEntries.size();
+    }
+
+    /**
+     * The time a Host has to be updated.
+     */
+    private record Entry(double time, Host host) {}
+}
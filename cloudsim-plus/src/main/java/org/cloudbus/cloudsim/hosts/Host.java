@@ -7,6 +7,7 @@
  */
 package org.cloudbus.cloudsim.hosts;
 
+import org.cloudbus.cloudsim.allocationpolicies.HostCapacityIndex;
 import org.cloudbus.cloudsim.core.Machine;
 import org.cloudbus.cloudsim.core.ResourceStatsComputer;
 import org.cloudbus.cloudsim.core.Simulation;
@@ -745,4 +746,57 @@ public interface Host extends Machine, Comparable<Host>, PowerAware<PowerModelHo
      * when calling {@link #getSuitabilityFor(Vm)}.
      */
     Host setLazySuitabilityEvaluation(boolean lazySuitabilityEvaluation);
+
+    /**
+     * Sets an index of the capacity available in Hosts, which this Host must notify
+     * whenever its available resources, its number of free or working PEs
+     * or its active state change.
+     * It's called by the index itself when the Host is indexed.
+     *
+     * @param capacityIndex the index to notify or null to not notify any index
+     * @return
+     */
+    Host setCapacityIndex(HostCapacityIndex capacityIndex);
+
+    /**
+     * Checks if the total CPU MIPS used and requested by all VMs is cached,
+     * so that {@link #getCpuMipsUtilization()}, {@link #getCpuPercentUtilization()}
+     * and {@link #getCpuPercentRequested()} don't iterate over all VMs
+     * every time they are called (such as inside comparators used to select Hosts).
+     *
+     * <p>The cached values are computed when the Host processing is updated
+     * and are valid just for the simulation time they were computed,
+     * which is the {@link #getCpuUtilizationEpoch() epoch} of the cache.
+     * If they are requested at a different time or after they were
+     * {@link #invalidateCpuUtilization() invalidated}
+     * (such as when some VM is placed/removed or some of its Cloudlets is submitted,
+     * paused, resumed or canceled), they are computed again.</p>
+     *
+     * @return true if caching is enabled, false otherwise (the default)
+     */
+    boolean isCpuUtilizationCaching();
+
+    /**
+     * Enables or disables the {@link #isCpuUtilizationCaching() caching} of the CPU utilization.
+     * @param enable true to enable, false to disable
+     * @return
+     */
+    Host setCpuUtilizationCaching(boolean enable);
+
+    /**
+     * Gets the simulation time the {@link #isCpuUtilizationCaching() cached} CPU utilization refers to.
+     * @return the time of the cached values or a negative value
+     * if caching is disabled or there is no valid cached value
+     */
+    double getCpuUtilizationEpoch();
+
+    /**
+     * Invalidates the {@link #isCpuUtilizationCaching() cached} CPU utilization
+     * (if any), so that it's computed again when requested.
+     * The Host and its {@link Datacenter} already call it when needed.
+     * It just has to be called when the MIPS used or requested by some VM
+     * are changed by other means, such as submitting Cloudlets
+     * directly to the VM's {@link org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler}.
+     */
+    void invalidateCpuUtilization();
 }
@@ -23,6 +23,7 @@
  */
 package org.cloudbus.cloudsim.hosts;
 
+import org.cloudbus.cloudsim.allocationpolicies.HostCapacityIndex;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
@@ -198,6 +199,11 @@ final class HostNull implements Host {
     @Override public List<Vm> getMigratableVms() { return Collections.emptyList(); }
     @Override public boolean isLazySuitabilityEvaluation() { return false; }
     @Override public Host setLazySuitabilityEvaluation(boolean lazySuitabilityEvaluation) { return this; }
+    @Override public Host setCapacityIndex(HostCapacityIndex capacityIndex) { return this; }
+    @Override public boolean isCpuUtilizationCaching() { return false; }
+    @Override public Host setCpuUtilizationCaching(boolean enable) { return this; }
+    @Override public double getCpuUtilizationEpoch() { return -1; }
+    @Override public void invalidateCpuUtilization() {/**/}
     @Override public double getTotalUpTime() { return 0; }
     @Override public double getTotalUpTimeHours() { return 0; }
     @Override public void setShutdownTime(double shutdownTime) {/**/}
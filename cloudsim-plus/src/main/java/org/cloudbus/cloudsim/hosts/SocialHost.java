@@ -6,6 +6,7 @@
  */
 package org.cloudbus.cloudsim.hosts;
 
+    import org.cloudbus.cloudsim.allocationpolicies.HostCapacityIndex;
     import org.cloudbus.cloudsim.core.*;
     import org.cloudbus.cloudsim.datacenters.Datacenter;
     import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
@@ -156,6 +157,27 @@ public class SocialHost implements Host {
 
     private boolean lazySuitabilityEvaluation;
 
+    /** @see #setCapacityIndex(HostCapacityIndex) */
+    private HostCapacityIndex capacityIndex;
+
+    /** @see #isCpuUtilizationCaching() */
+    private boolean cpuUtilizationCaching;
+
+    /** @see #getCpuUtilizationEpoch() */
+    private double cpuUtilizationEpoch = -1;
+
+    /**
+     * The total CPU MIPS used by all VMs at the {@link #getCpuUtilizationEpoch() epoch}.
+     * @see #getCpuMipsUtilization()
+     */
+    private double cpuMipsUtilization;
+
+    /**
+     * The total CPU MIPS requested by all VMs at the {@link #getCpuUtilizationEpoch() epoch}.
+     * @see #getCpuMipsRequested()
+     */
+    private double cpuMipsRequested;
+
     /**
      * Creates and powers on a Host without a pre-defined ID,
      * 10GB of RAM, 1000Mbps of Bandwidth and 500GB of Storage.
@@ -380,6 +402,11 @@ public class SocialHost implements Host {
             nextSimulationDelay = updateVmProcessing(vmList.get(i), currentTime, nextSimulationDelay);
         }
 
+        invalidateCpuUtilization();
+        if (cpuUtilizationCaching) {
+            cacheCpuUtilization(currentTime);
+        }
+
         notifyOnUpdateProcessingListeners(currentTime);
         cpuUtilizationStats.add(currentTime);
         addStateHistory(currentTime);
@@ -396,7 +423,14 @@ public class SocialHost implements Host {
     }
 
     private void notifyOnUpdateProcessingListeners(final double nextSimulationTime) {
-        onUpdateProcessingListeners.forEach(l -> l.update(HostUpdatesVmsProcessingEventInfo.of(l,this, nextSimulationTime)));
+        if (onUpdateProcessingListeners.isEmpty()) {
+            return;
+        }
+
+        /* When Hosts are updated in parallel, listeners are just called after all Hosts are updated,
+         * in the order of the Hosts, so that they are called in the same order as in a sequential update. */
+        simulation.runInTaskOrder(() ->
+            onUpdateProcessingListeners.forEach(l -> l.update(HostUpdatesVmsProcessingEventInfo.of(l,this, nextSimulationTime))));
     }
 
     @Override
@@ -460,6 +494,8 @@ public class SocialHost implements Host {
         bwProvisioner.allocateResourceForVm(vm, vm.getCurrentRequestedBw());
         disk.getStorage().allocateResource(vm.getStorage());
         vmScheduler.allocatePesForVm(vm, vm.getCurrentRequestedMips());
+        updateCapacityIndex();
+        invalidateCpuUtilization();
     }
 
     private void logAllocationError(
@@ -601,6 +637,7 @@ public class SocialHost implements Host {
         this.active = activate;
         ((DatacenterSocial) datacenter).updateActiveHostsNumber(this);
         activationChangeInProgress = false;
+        updateCapacityIndex();
         notifyStartupOrShutdown(activate, wasActive);
     }
 
@@ -661,7 +698,7 @@ public class SocialHost implements Host {
     private void destroyVmInternal(final Vm vm) {
         deallocateResourcesOfVm(requireNonNull(vm));
         vmList.remove(vm);
-        vm.getBroker().getVmExecList().remove(vm);
+        getSimulation().runInEventOrder(() -> vm.getBroker().getVmExecList().remove(vm));
     }
 
     /**
@@ -675,6 +712,8 @@ public class SocialHost implements Host {
         bwProvisioner.deallocateResourceForVm(vm);
         vmScheduler.deallocatePesFromVm(vm);
         disk.getStorage().deallocateResource(vm.getStorage());
+        updateCapacityIndex();
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -689,6 +728,8 @@ public class SocialHost implements Host {
         }
 
         vmList.clear();
+        updateCapacityIndex();
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -959,6 +1000,7 @@ public class SocialHost implements Host {
 
     protected void addVmToList(final Vm vm){
         vmList.add(requireNonNull(vm));
+        invalidateCpuUtilization();
     }
 
     protected void addVmToCreatedList(final Vm vm){
@@ -984,6 +1026,7 @@ public class SocialHost implements Host {
             this.active = false;
         }
 
+        updateCapacityIndex();
         return true;
     }
 
@@ -998,6 +1041,9 @@ public class SocialHost implements Host {
         for (final Pe pe : peList) {
             updatePeStatus(pe, newStatus);
         }
+
+        updateCapacityIndex();
+        invalidateCpuUtilization();
     }
 
     private void updatePeStatus(final Pe pe, final Pe.Status newStatus) {
@@ -1090,6 +1136,7 @@ public class SocialHost implements Host {
         vmsMigratingIn.remove(vm);
         vmList.remove(vm);
         vm.setInMigration(false);
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -1280,13 +1327,84 @@ public class SocialHost implements Host {
 
     @Override
     public double getCpuMipsUtilization() {
-        return vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+        if (isCpuUtilizationCacheValid()) {
+            return cpuMipsUtilization;
+        }
+
+        return computeCpuMipsUtilization();
     }
 
     private double getCpuMipsRequested() {
+        if (isCpuUtilizationCacheValid()) {
+            return cpuMipsRequested;
+        }
+
+        return computeCpuMipsRequested();
+    }
+
+    private double computeCpuMipsUtilization() {
+        return vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+    }
+
+    private double computeCpuMipsRequested() {
         return vmList.stream().mapToDouble(Vm::getTotalCpuMipsRequested).sum();
     }
 
+    /**
+     * Checks if the {@link #isCpuUtilizationCaching() cached} CPU utilization
+     * can be used at the current simulation time.
+     * If caching is enabled but the cache is not valid, it's computed again.
+     * @return true if the cached values are valid, false if caching is disabled
+     */
+    private boolean isCpuUtilizationCacheValid() {
+        if (!cpuUtilizationCaching) {
+            return false;
+        }
+
+        final double time = getSimulation().clock();
+        if (cpuUtilizationEpoch != time) {
+            cacheCpuUtilization(time);
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes the CPU MIPS used and requested by all VMs
+     * and stores them as valid for a given simulation time.
+     * @param time the simulation time the computed values refer to
+     */
+    private void cacheCpuUtilization(final double time) {
+        cpuMipsUtilization = computeCpuMipsUtilization();
+        cpuMipsRequested = computeCpuMipsRequested();
+        cpuUtilizationEpoch = time;
+    }
+
+    @Override
+    public boolean isCpuUtilizationCaching() {
+        return cpuUtilizationCaching;
+    }
+
+    @Override
+    public Host setCpuUtilizationCaching(final boolean enable) {
+        this.cpuUtilizationCaching = enable;
+        this.cpuUtilizationEpoch = -1;
+        return this;
+    }
+
+    @Override
+    public double getCpuUtilizationEpoch() {
+        return cpuUtilizationCaching ? cpuUtilizationEpoch : -1;
+    }
+
+    @Override
+    public void invalidateCpuUtilization() {
+        cpuUtilizationEpoch = -1;
+        if (datacenter instanceof DatacenterSocial dc) {
+            dc.invalidateCpuUtilization();
+        }
+    }
+
     @Override
     public long getRamUtilization() {
         return ramProvisioner.getTotalAllocatedResource();
@@ -1461,6 +1579,22 @@ public class SocialHost implements Host {
         return this;
     }
 
+    @Override
+    public Host setCapacityIndex(final HostCapacityIndex capacityIndex) {
+        this.capacityIndex = capacityIndex;
+        return this;
+    }
+
+    /**
+     * Notifies the {@link #setCapacityIndex(HostCapacityIndex) capacity index} (if any)
+     * that the capacity available in this Host may have changed.
+     */
+    private void updateCapacityIndex() {
+        if (capacityIndex != null) {
+            capacityIndex.update(this);
+        }
+    }
+
     /**
      * Indicates if the Host must be automatically started up
      * when the assigned Datacenter is started up.
@@ -10,7 +10,6 @@ package org.cloudbus.cloudsim.network.switches;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTag;
-import org.cloudbus.cloudsim.core.events.PredicateType;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
@@ -121,7 +120,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected void processPacketDown(final SimEvent evt) {
         // Packet coming from up level router has to send downward.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTag.NETWORK_EVENT_SEND));
+        getSimulation().cancelAll(this, CloudSimTag.NETWORK_EVENT_SEND);
         schedule(this, getSwitchingDelay(), CloudSimTag.NETWORK_EVENT_SEND);
     }
 
@@ -141,7 +140,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected void processPacketUp(final SimEvent evt) {
         // Packet coming from down level router has to be sent up.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTag.NETWORK_EVENT_SEND));
+        getSimulation().cancelAll(this, CloudSimTag.NETWORK_EVENT_SEND);
         schedule(this, switchingDelay, CloudSimTag.NETWORK_EVENT_SEND);
     }
 
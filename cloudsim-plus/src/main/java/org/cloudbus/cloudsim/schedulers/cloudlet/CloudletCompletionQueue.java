@@ -0,0 +1,200 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A priority queue of the Cloudlets running inside a {@link CloudletSchedulerAbstract},
+ * sorted by when they are expected to finish.
+ * It's used when the {@link CloudletSchedulerAbstract#enableCompletionQueue() completion queue} is enabled,
+ * so that the scheduler doesn't need to check every running Cloudlet to find the finished ones
+ * and the time of the next completion.
+ *
+ * <p>Cloudlets are keyed by an amount of <b>virtual work</b>, in MI per PE,
+ * which increases as the scheduler processes Cloudlets.
+ * Since a Cloudlet cannot run faster than the MIPS available for each PE,
+ * its remaining length can only decrease at most by the same amount the virtual work increases.
+ * This way, the key of a Cloudlet (the virtual work when it was queued plus its remaining length)
+ * is a lower bound of the virtual work when it will finish.
+ * Cloudlets just need to be checked when the virtual work reaches their keys,
+ * being queued again with a new key if they haven't finished yet.
+ * That allows a Cloudlet to run at varying MIPS without being re-queued at every update.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class CloudletCompletionQueue {
+    /**
+     * Sorts entries by key, then by the order Cloudlets were added to the queue.
+     */
+    private static final Comparator<Entry> ENTRY_COMPARATOR =
+        Comparator.comparingDouble(Entry::key).thenComparingLong(Entry::seq);
+
+    private final NavigableSet<Entry> entries;
+
+    /**
+     * The current entry of each Cloudlet inside the queue.
+     */
+    private final Map<CloudletExecution, Entry> cloudletEntries;
+
+    /** @see #getVirtualWork() */
+    private double virtualWork;
+
+    /**
+     * The sequence number of the next Cloudlet added to the queue,
+     * used to keep the order Cloudlets were added to the execution list.
+     */
+    private long nextSeq;
+
+    CloudletCompletionQueue() {
+        this.entries = new TreeSet<>(ENTRY_COMPARATOR);
+        this.cloudletEntries = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds a Cloudlet that started running into the queue.
+     * If the Cloudlet is already in the queue, it's moved to the end of the insertion order.
+     * @param cle the Cloudlet to add
+     */
+    void add(final CloudletExecution cle) {
+        remove(cle);
+        addEntry(new Entry(computeKey(cle), nextSeq++, cle));
+    }
+
+    /**
+     * Removes a Cloudlet that isn't running anymore from the queue.
+     * @param cle the Cloudlet to remove
+     */
+    void remove(final CloudletExecution cle) {
+        final Entry entry = cloudletEntries.remove(cle);
+        if (entry != null) {
+            entries.remove(entry);
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        cloudletEntries.clear();
+    }
+
+    /**
+     * Increases the virtual work after the running Cloudlets are processed.
+     * @param mipsByPe the MIPS available for each PE
+     * @param timeSpan the maximum time any Cloudlet was processed
+     */
+    void advance(final double mipsByPe, final double timeSpan) {
+        if (mipsByPe > 0 && timeSpan > 0) {
+            virtualWork += mipsByPe * timeSpan;
+        }
+    }
+
+    /**
+     * Removes the finished Cloudlets from the queue.
+     * Cloudlets that reached their keys but haven't finished are queued again.
+     * @return the finished Cloudlets, in the order they were added to the queue
+     */
+    List<CloudletExecution> pollFinished() {
+        final List<Entry> dueEntries = new ArrayList<>();
+        for (final Entry entry : entries) {
+            if (entry.key() > virtualWork) {
+                break;
+            }
+
+            dueEntries.add(entry);
+        }
+
+        final List<Entry> finishedEntries = new ArrayList<>();
+        for (final Entry entry : dueEntries) {
+            entries.remove(entry);
+            if (entry.cle().getCloudlet().isFinished()) {
+                cloudletEntries.remove(entry.cle());
+                finishedEntries.add(entry);
+            } else addEntry(new Entry(computeKey(entry.cle()), entry.seq(), entry.cle()));
+        }
+
+        finishedEntries.sort(Comparator.comparingLong(Entry::seq));
+        return finishedEntries.stream().map(Entry::cle).toList();
+    }
+
+    /**
+     * Gets the minimum expected finish delay of the queued Cloudlets.
+     * Cloudlets are visited in ascending order of keys,
+     * stopping when no remaining Cloudlet can finish before the minimum delay found so far.
+     *
+     * @param estimator a function to compute the expected finish delay of a Cloudlet,
+     *                  that cannot be lower than its remaining length divided by the given MIPS
+     * @param mipsByPe the MIPS currently available for each PE
+     * @return the minimum finish delay or {@link Double#MAX_VALUE} if the queue is empty
+     */
+    double nextCompletionDelay(final ToDoubleFunction<CloudletExecution> estimator, final double mipsByPe) {
+        double minDelay = Double.MAX_VALUE;
+        for (final Entry entry : entries) {
+            if (mipsByPe > 0 && Math.max(entry.key() - virtualWork, 0) / mipsByPe >= minDelay) {
+                break;
+            }
+
+            minDelay = Math.min(minDelay, estimator.applyAsDouble(entry.cle()));
+        }
+
+        return minDelay;
+    }
+
+    /**
+     * Computes the key of a Cloudlet from its remaining length.
+     * One MI is subtracted since such a length is truncated at each update.
+     * @param cle the Cloudlet to compute the key
+     * @return
+     */
+    private double computeKey(final CloudletExecution cle) {
+        return virtualWork + cle.getRemainingCloudletLength() - 1;
+    }
+
+    private void addEntry(final Entry entry) {
+        cloudletEntries.put(entry.cle(), entry);
+        entries.add(entry);
+    }
+
+    /**
+     * Gets the amount of MI each PE may have executed since the queue was created.
+     * @return
+     */
+    double getVirtualWork() {
+        return virtualWork;
+    }
+
+    int size() {
+        return cloudletEntries.size();
+    }
+
+    /**
+     * A Cloudlet inside the queue.
+     * @param key the virtual work before which the Cloudlet cannot finish
+     * @param seq the order the Cloudlet was added to the queue
+     * @param cle the Cloudlet
+     */
+    private record Entry(double key, long seq, CloudletExecution cle) {}
+}
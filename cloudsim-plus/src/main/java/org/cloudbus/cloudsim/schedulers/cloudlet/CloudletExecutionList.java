@@ -0,0 +1,338 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+
+/**
+ * A list of {@link CloudletExecution}s used by {@link CloudletSchedulerAbstract}
+ * to store Cloudlets in each state (executing, waiting, paused, etc.).
+ * It keeps the insertion order but, unlike an {@link ArrayList},
+ * finds and removes a Cloudlet in constant time,
+ * since the position of each Cloudlet is indexed by the Cloudlet id.
+ *
+ * <p>A removed Cloudlet just leaves an empty slot behind,
+ * instead of shifting all subsequent elements.
+ * Empty slots are discarded at once when the list is accessed by index,
+ * so that several removals cost just a single compaction.
+ * This way, pausing, resuming, cancelling or preempting lots of Cloudlets
+ * doesn't take quadratic time.</p>
+ *
+ * <p>Like {@link CloudletExecution#equals(Object)}, Cloudlets are compared by id.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class CloudletExecutionList extends AbstractList<CloudletExecution> implements RandomAccess {
+    private static final int DEF_CAPACITY = 10;
+
+    /**
+     * The stored Cloudlets, which may have null (empty) slots left by removed ones.
+     */
+    private CloudletExecution[] slots;
+
+    /**
+     * The number of used slots (including empty ones).
+     */
+    private int end;
+
+    /**
+     * The number of Cloudlets in the list.
+     */
+    private int size;
+
+    /**
+     * The slot of each Cloudlet, indexed by Cloudlet id.
+     * If there are Cloudlets with the same id, just the first one is indexed.
+     */
+    private final Map<Long, Integer> slotsById;
+
+    /**
+     * The number of Cloudlets which aren't indexed, since there is a previous one with the same id.
+     */
+    private int duplicates;
+
+    CloudletExecutionList() {
+        this.slots = new CloudletExecution[DEF_CAPACITY];
+        this.slotsById = new HashMap<>();
+    }
+
+    @Override
+    public boolean add(final CloudletExecution cle) {
+        requireFreeSlot();
+        slots[end] = Objects.requireNonNull(cle);
+        index(cle.getCloudletId(), end);
+        end++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final CloudletExecution cle) {
+        if (index == size) {
+            add(cle);
+            return;
+        }
+
+        Objects.checkIndex(index, size);
+        compact();
+        requireFreeSlot();
+        System.arraycopy(slots, index, slots, index + 1, size - index);
+        slots[index] = Objects.requireNonNull(cle);
+        end++;
+        size++;
+        modCount++;
+
+        //Just the Cloudlets after the inserted one are moved
+        for (int i = size - 1; i > index; i--) {
+            moveIndex(slots[i].getCloudletId(), i - 1, i);
+        }
+
+        index(cle.getCloudletId(), index);
+    }
+
+    @Override
+    public CloudletExecution get(final int index) {
+        Objects.checkIndex(index, size);
+        compact();
+        return slots[index];
+    }
+
+    @Override
+    public CloudletExecution set(final int index, final CloudletExecution cle) {
+        Objects.checkIndex(index, size);
+        compact();
+        final var previous = slots[index];
+        slots[index] = Objects.requireNonNull(cle);
+        if (previous.getCloudletId() != cle.getCloudletId()) {
+            unindex(previous.getCloudletId(), index);
+            index(cle.getCloudletId(), index);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public CloudletExecution remove(final int index) {
+        Objects.checkIndex(index, size);
+        compact();
+        final var cle = slots[index];
+        removeSlot(index);
+        return cle;
+    }
+
+    @Override
+    public boolean remove(final Object obj) {
+        if (obj instanceof CloudletExecution cle) {
+            final Integer slot = slotsById.get(cle.getCloudletId());
+            if (slot != null) {
+                removeSlot(slot);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object obj) {
+        return obj instanceof CloudletExecution cle && slotsById.containsKey(cle.getCloudletId());
+    }
+
+    @Override
+    public int indexOf(final Object obj) {
+        if (!contains(obj)) {
+            return -1;
+        }
+
+        compact();
+        return slotsById.get(((CloudletExecution) obj).getCloudletId());
+    }
+
+    /**
+     * Finds a Cloudlet into the list by its id.
+     * @param cloudletId the id of the Cloudlet to find
+     * @return an {@link Optional} containing the found Cloudlet or an empty Optional otherwise
+     */
+    Optional<CloudletExecution> findById(final long cloudletId) {
+        final Integer slot = slotsById.get(cloudletId);
+        return slot == null ? Optional.empty() : Optional.of(slots[slot]);
+    }
+
+    @Override
+    public void sort(final Comparator<? super CloudletExecution> comparator) {
+        compact();
+        Arrays.sort(slots, 0, size, comparator);
+        reindex();
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, end, null);
+        slotsById.clear();
+        end = 0;
+        size = 0;
+        duplicates = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void removeSlot(final int slot) {
+        final var cle = slots[slot];
+        slots[slot] = null;
+        size--;
+        modCount++;
+        if (size == 0) {
+            clear();
+            return;
+        }
+
+        unindex(cle.getCloudletId(), slot);
+    }
+
+    /**
+     * Removes the index of a Cloudlet that has left a given slot.
+     * If it was the indexed Cloudlet for its id, the next one with the same id is indexed, if there is any.
+     * @param id the id of the Cloudlet
+     * @param slot the slot the Cloudlet has left
+     */
+    private void unindex(final long id, final int slot) {
+        if (slotsById.get(id) == slot) {
+            slotsById.remove(id);
+            if (duplicates > 0) {
+                indexNextDuplicate(id, slot);
+            }
+        } else duplicates--;
+    }
+
+    /**
+     * Indexes the next Cloudlet having the same id of a removed one, if there is any.
+     * @param id the id of the removed Cloudlet
+     * @param removedSlot the slot of the removed Cloudlet
+     */
+    private void indexNextDuplicate(final long id, final int removedSlot) {
+        for (int i = removedSlot + 1; i < end; i++) {
+            if (slots[i] != null && slots[i].getCloudletId() == id) {
+                slotsById.put(id, i);
+                duplicates--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indexes a Cloudlet placed into a given slot.
+     * If there is another Cloudlet with the same id, the one in the first slot is kept indexed.
+     * @param id the id of the Cloudlet
+     * @param slot the slot of the Cloudlet
+     */
+    private void index(final long id, final int slot) {
+        final Integer previous = slotsById.putIfAbsent(id, slot);
+        if (previous != null) {
+            duplicates++;
+            if (slot < previous) {
+                slotsById.put(id, slot);
+            }
+        }
+    }
+
+    /**
+     * Updates the index of a Cloudlet moved to another slot,
+     * if it's the indexed Cloudlet for its id.
+     * It must be called in the order Cloudlets are moved,
+     * so that the moved slots don't overlap the ones still to be moved.
+     *
+     * @param id the id of the moved Cloudlet
+     * @param from the previous slot of the Cloudlet
+     * @param to the new slot of the Cloudlet
+     */
+    private void moveIndex(final long id, final int from, final int to) {
+        final Integer slot = slotsById.get(id);
+        if (slot != null && slot == from) {
+            slotsById.put(id, to);
+        }
+    }
+
+    /**
+     * Indexes all Cloudlets again after they are moved to other slots.
+     */
+    private void reindex() {
+        slotsById.clear();
+        duplicates = 0;
+        for (int i = 0; i < end; i++) {
+            if (slots[i] != null) {
+                index(slots[i].getCloudletId(), i);
+            }
+        }
+    }
+
+    /**
+     * Removes the empty slots left by removed Cloudlets,
+     * updating the index just for the Cloudlets that are moved.
+     */
+    private void compact() {
+        if (end == size) {
+            return;
+        }
+
+        int next = 0;
+        for (int i = 0; i < end; i++) {
+            if (slots[i] == null) {
+                continue;
+            }
+
+            if (next < i) {
+                slots[next] = slots[i];
+                moveIndex(slots[next].getCloudletId(), i, next);
+            }
+
+            next++;
+        }
+
+        Arrays.fill(slots, size, end, null);
+        end = size;
+    }
+
+    /**
+     * Ensures there is room for one more slot at the end of the list,
+     * first removing empty slots if there is any.
+     */
+    private void requireFreeSlot() {
+        if (end < slots.length) {
+            return;
+        }
+
+        compact();
+        if (end == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+    }
+}
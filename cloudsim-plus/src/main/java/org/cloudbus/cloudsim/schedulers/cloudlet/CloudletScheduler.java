@@ -10,10 +10,12 @@ package org.cloudbus.cloudsim.schedulers.cloudlet;
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.network.VmPacket;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.schedulers.MipsShare;
 import org.cloudbus.cloudsim.schedulers.cloudlet.network.CloudletTaskScheduler;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.listeners.CloudletResourceAllocationFailEventInfo;
 import org.cloudsimplus.listeners.EventListener;
@@ -248,6 +250,18 @@ public interface CloudletScheduler extends Serializable {
      */
     boolean isThereTaskScheduler();
 
+    /**
+     * Checks if the processing of Cloudlets can be fast-forwarded
+     * straight to the next Cloudlet completion (or any other event),
+     * without the periodic updates defined by the {@link Datacenter#getSchedulingInterval() scheduling interval}.
+     * That is possible when the fast-forward mode is enabled and all running Cloudlets
+     * use {@link UtilizationModel#isConstant() constant utilization models},
+     * since their progress between events is then linear.
+     *
+     * @return true if the processing of Cloudlets doesn't need to be periodically updated, false otherwise
+     */
+    boolean canFastForward();
+
     /**
      * Updates the processing of cloudlets inside the Vm running under management of this scheduler.
      *
@@ -53,13 +53,13 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     private static final long serialVersionUID = -2314361120790372742L;
 
     /** @see #getCloudletPausedList() */
-    private final List<CloudletExecution> cloudletPausedList;
+    private final CloudletExecutionList cloudletPausedList;
 
     /** @see #getCloudletFinishedList() */
-    private final List<CloudletExecution> cloudletFinishedList;
+    private final CloudletExecutionList cloudletFinishedList;
 
     /** @see #getCloudletFailedList() */
-    private final List<CloudletExecution> cloudletFailedList;
+    private final CloudletExecutionList cloudletFailedList;
 
     /** @see #getTaskScheduler() */
     private CloudletTaskScheduler taskScheduler;
@@ -71,7 +71,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     private MipsShare currentMipsShare;
 
     /** @see #getCloudletExecList() */
-    private final List<CloudletExecution> cloudletExecList;
+    private final CloudletExecutionList cloudletExecList;
 
     /** @see #enableCloudletSubmittedList() */
     private boolean enableCloudletSubmittedList;
@@ -82,7 +82,13 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /**
      * @see #getCloudletWaitingList()
      */
-    private final List<CloudletExecution> cloudletWaitingList;
+    private final CloudletExecutionList cloudletWaitingList;
+
+    /**
+     * The Cloudlets in the {@link #cloudletWaitingList} grouped by the number of required PEs.
+     * @see #findSuitableWaitingCloudletByFreePes()
+     */
+    private final CloudletWaitingBuckets cloudletWaitingBuckets;
 
     /** @see #getVm() */
     private Vm vm;
@@ -93,6 +99,30 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     /** @see #addOnCloudletResourceAllocationFail(EventListener) */
     private final List<EventListener<CloudletResourceAllocationFailEventInfo>> resourceAllocationFailListeners;
 
+    /**
+     * The queue of running Cloudlets sorted by expected completion,
+     * or null if the {@link #enableCompletionQueue() completion queue} is disabled.
+     */
+    private CloudletCompletionQueue completionQueue;
+
+    /**
+     * The MIPS available for each PE while the running Cloudlets are processed,
+     * so that it's not computed again for every Cloudlet.
+     * It's {@link Double#NaN} when the value is unknown and must be computed.
+     * @see #getAvailableMipsByPe()
+     */
+    private double availableMipsByPe;
+
+    /** @see #enableFastForward() */
+    private boolean fastForwardEnabled;
+
+    /**
+     * Indicates if some Cloudlet in the {@link #cloudletExecList} has a
+     * CPU, RAM or BW {@link UtilizationModel} that is not {@link UtilizationModel#isConstant() constant}.
+     * It's just updated when the {@link #enableFastForward() fast-forward} mode is enabled.
+     */
+    private boolean variableUtilization;
+
     /**
      * Creates a CloudletScheduler.
      */
@@ -100,15 +130,17 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         setPreviousTime(0.0);
         vm = Vm.NULL;
         cloudletSubmittedList = new ArrayList<>();
-        cloudletExecList = new ArrayList<>();
-        cloudletPausedList = new ArrayList<>();
-        cloudletFinishedList = new ArrayList<>();
-        cloudletFailedList = new ArrayList<>();
-        cloudletWaitingList = new ArrayList<>();
+        cloudletExecList = new CloudletExecutionList();
+        cloudletPausedList = new CloudletExecutionList();
+        cloudletFinishedList = new CloudletExecutionList();
+        cloudletFailedList = new CloudletExecutionList();
+        cloudletWaitingList = new CloudletExecutionList();
+        cloudletWaitingBuckets = new CloudletWaitingBuckets();
         cloudletReturnedList = new HashSet<>();
         currentMipsShare = new MipsShare();
         taskScheduler = CloudletTaskScheduler.NULL;
         resourceAllocationFailListeners = new ArrayList<>();
+        availableMipsByPe = Double.NaN;
     }
 
     @Override
@@ -177,6 +209,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      *       which in fact performs task preemption.
      */
     public double getAvailableMipsByPe(){
+        return Double.isNaN(availableMipsByPe) ? computeAvailableMipsByPe() : availableMipsByPe;
+    }
+
+    private double computeAvailableMipsByPe(){
         final long totalPesOfAllExecCloudlets = totalPesOfAllExecCloudlets();
         if(totalPesOfAllExecCloudlets > currentMipsShare.pes()) {
             return getTotalMipsShare() / totalPesOfAllExecCloudlets;
@@ -223,6 +259,96 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         return this;
     }
 
+    /**
+     * Enables a priority queue that keeps running Cloudlets sorted by their expected completion.
+     * That way, finished Cloudlets and the time of the next Cloudlet completion are found
+     * without checking every running Cloudlet at each processing update,
+     * which speeds up simulations with lots of Cloudlets per VM.
+     *
+     * <p>The queue assumes the expected finish time of a Cloudlet cannot be lower than
+     * its remaining length divided by the MIPS currently available for each PE.
+     * If a Cloudlet has no MIPS currently allocated (such as when its CPU {@link UtilizationModel}
+     * returns zero), its expected finish time is computed from the last MIPS allocated to it,
+     * which may not be found by the queue. In such a case, the next processing update may be
+     * scheduled later than when the queue is disabled.</p>
+     *
+     * @return this scheduler
+     * @see #isCompletionQueueEnabled()
+     */
+    public CloudletScheduler enableCompletionQueue() {
+        if(completionQueue == null) {
+            completionQueue = new CloudletCompletionQueue();
+            cloudletExecList.forEach(completionQueue::add);
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the priority queue of running Cloudlets is enabled.
+     * @return
+     * @see #enableCompletionQueue()
+     */
+    public boolean isCompletionQueueEnabled() {
+        return completionQueue != null;
+    }
+
+    /**
+     * Enables the fast-forward mode, where the processing of Cloudlets isn't periodically
+     * updated at each {@link Datacenter#getSchedulingInterval() scheduling interval}
+     * while all running Cloudlets have {@link UtilizationModel#isConstant() constant}
+     * CPU, RAM and BW utilization models.
+     * Since the progress of such Cloudlets is linear between events,
+     * the simulation jumps directly to the next Cloudlet completion
+     * (or any other event, such as a Cloudlet arrival), skipping intermediate updates.
+     *
+     * <p>If any running Cloudlet uses a utilization model that changes along the time
+     * (such as a {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModelPlanetLab})
+     * or if there is a {@link CloudletTaskScheduler} assigned,
+     * the processing is updated at the scheduling interval as usual.</p>
+     *
+     * <p>Since the processing isn't updated between events,
+     * any listener or statistic relying on such periodic updates
+     * (such as the VM utilization history) will be notified or collected less frequently.</p>
+     *
+     * @return this scheduler
+     * @see #canFastForward()
+     */
+    public CloudletScheduler enableFastForward() {
+        if(!fastForwardEnabled) {
+            fastForwardEnabled = true;
+            variableUtilization = cloudletExecList.stream().anyMatch(cle -> !isUtilizationConstant(cle));
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the fast-forward mode is enabled.
+     * @return
+     * @see #enableFastForward()
+     */
+    public boolean isFastForwardEnabled() {
+        return fastForwardEnabled;
+    }
+
+    @Override
+    public boolean canFastForward() {
+        return fastForwardEnabled && !variableUtilization && !isThereTaskScheduler();
+    }
+
+    /**
+     * Checks if the CPU, RAM and BW utilization models of a Cloudlet are constant.
+     * @param cle the Cloudlet to check
+     * @return
+     */
+    private static boolean isUtilizationConstant(final CloudletExecution cle) {
+        final Cloudlet cloudlet = cle.getCloudlet();
+        return cloudlet.getUtilizationModelCpu().isConstant() &&
+               cloudlet.getUtilizationModelRam().isConstant() &&
+               cloudlet.getUtilizationModelBw().isConstant();
+    }
+
     protected void addCloudletToWaitingList(final CloudletExecution cle) {
         if(requireNonNull(cle) == CloudletExecution.NULL){
             return;
@@ -232,6 +358,20 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             cle.setStatus(Status.QUEUED);
         }
         cloudletWaitingList.add(cle);
+        waitingListChanged(cle, true);
+    }
+
+    /**
+     * Updates the data depending on the waiting list when a Cloudlet is added or removed from it.
+     * Subclasses overriding this method must call the super implementation.
+     *
+     * @param cle the added or removed Cloudlet
+     * @param added true if the Cloudlet was added, false if it was removed
+     */
+    protected void waitingListChanged(final CloudletExecution cle, final boolean added) {
+        if(added) {
+            cloudletWaitingBuckets.add(cle);
+        } else cloudletWaitingBuckets.remove(cle);
     }
 
     /**
@@ -315,9 +455,32 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cle.setStatus(Cloudlet.Status.INEXEC);
         cle.setLastProcessingTime(getVm().getSimulation().clock());
         cloudletExecList.add(cle);
+        execListChanged(cle, true);
         addUsedPes(cle.getNumberOfPes());
     }
 
+    /**
+     * Updates the data depending on the execution list when a Cloudlet is added or removed from it.
+     * Subclasses overriding this method must call the super implementation.
+     *
+     * @param cle the added or removed Cloudlet
+     * @param added true if the Cloudlet was added, false if it was removed
+     */
+    protected void execListChanged(final CloudletExecution cle, final boolean added) {
+        availableMipsByPe = Double.NaN;
+        if(added && fastForwardEnabled && !isUtilizationConstant(cle)) {
+            variableUtilization = true;
+        }
+
+        if(completionQueue == null) {
+            return;
+        }
+
+        if(added) {
+            completionQueue.add(cle);
+        } else completionQueue.remove(cle);
+    }
+
     @Override
     public boolean hasFinishedCloudlets() {
         return !cloudletFinishedList.isEmpty();
@@ -336,11 +499,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             cloudletFinishedList, cloudletFailedList
         );
 
-        //Gets all elements in each list and makes them a single full list,
-        //returning the first Cloudlet with the given id
+        //Returns the first Cloudlet with the given id, looking into each list by such an id
         return cloudletExecInfoListStream
-            .flatMap(List::stream)
-            .filter(cle -> cle.getCloudletId() == cloudletId)
+            .map(list -> list.findById((long) cloudletId))
+            .flatMap(Optional::stream)
             .findFirst();
     }
 
@@ -353,6 +515,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Cloudlet was found or not
      */
     protected Optional<CloudletExecution> findCloudletInList(final Cloudlet cloudlet, final List<CloudletExecution> list) {
+        if(list instanceof CloudletExecutionList cloudletExecutionList) {
+            return cloudletExecutionList.findById(cloudlet.getId());
+        }
+
         return list.stream()
             .filter(cle -> cle.getCloudletId() == cloudlet.getId())
             .findFirst();
@@ -392,7 +558,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
          the processing update is requested right away.
          */
         final Datacenter dc = vm.getHost().getDatacenter();
-        dc.schedule(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+        dc.schedule(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING, vm);
         return true;
     }
 
@@ -502,7 +668,14 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         final Consumer<CloudletExecution> cloudletStatusUpdaterConsumer)
     {
         final Function<CloudletExecution, Cloudlet> removeCloudletAndUpdateStatus = cle -> {
-            cloudletList.remove(cle);
+            if(cloudletList.remove(cle)) {
+                if(cloudletList == cloudletExecList) {
+                    execListChanged(cle, false);
+                } else if(cloudletList == cloudletWaitingList) {
+                    waitingListChanged(cle, false);
+                }
+            }
+
             cloudletStatusUpdaterConsumer.accept(cle);
             return cle.getCloudlet();
         };
@@ -527,6 +700,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         nextSimulationDelay = Math.min(nextSimulationDelay, moveNextCloudletsFromWaitingToExecList(currentTime));
         addCloudletsToFinishedList();
 
+        availableMipsByPe = Double.NaN;
         setPreviousTime(currentTime);
         vm.getSimulation().setLastCloudletProcessingUpdate(currentTime);
 
@@ -553,18 +727,37 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     @SuppressWarnings("ForLoopReplaceableByForEach")
     private double updateCloudletsProcessing(final double currentTime) {
+        //The exec list doesn't change while Cloudlets are processed (unless some one is cancelled)
+        availableMipsByPe = computeAvailableMipsByPe();
+
         double nextCloudletFinishTime = Double.MAX_VALUE;
+        double maxTimeSpan = 0;
         long usedPes = 0;
+        boolean variable = false;
         /* Uses an indexed for to avoid ConcurrentModificationException,
          * e.g., in cases when Cloudlet is cancelled during simulation execution. */
         for (int i = 0; i < cloudletExecList.size(); i++) {
             final CloudletExecution cle = cloudletExecList.get(i);
-            updateCloudletProcessingAndPacketsDispatch(cle, currentTime);
-            nextCloudletFinishTime = Math.min(nextCloudletFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
+            if(completionQueue == null) {
+                updateCloudletProcessingAndPacketsDispatch(cle, currentTime);
+                nextCloudletFinishTime = Math.min(nextCloudletFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
+            } else {
+                maxTimeSpan = Math.max(maxTimeSpan, timeSpan(cle, currentTime));
+                updateCloudletProcessingAndPacketsDispatch(cle, currentTime);
+            }
+
             usedPes += cle.getCloudlet().getNumberOfPes();
+            variable = variable || fastForwardEnabled && !isUtilizationConstant(cle);
         }
 
         ((VmSocial) vm).setFreePesNumber(vm.getNumberOfPes() - usedPes);
+        variableUtilization = variable;
+
+        if(completionQueue != null) {
+            final double mipsByPe = getAvailableMipsByPe();
+            completionQueue.advance(mipsByPe, maxTimeSpan);
+            return completionQueue.nextCompletionDelay(cle -> cloudletEstimatedFinishTime(cle, currentTime), mipsByPe);
+        }
 
         return nextCloudletFinishTime;
     }
@@ -927,10 +1120,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * {@link #getCloudletExecList() execution list}
      */
     private int addCloudletsToFinishedList() {
-        final List<CloudletExecution> finishedCloudlets
-            = cloudletExecList.stream()
-            .filter(cle -> cle.getCloudlet().isFinished())
-            .collect(toList());
+        final List<CloudletExecution> finishedCloudlets =
+            completionQueue == null ?
+                cloudletExecList.stream().filter(cle -> cle.getCloudlet().isFinished()).collect(toList()) :
+                completionQueue.pollFinished();
 
         for (final CloudletExecution c : finishedCloudlets) {
             addCloudletToFinishedList(c);
@@ -952,7 +1145,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     protected CloudletExecution removeCloudletFromExecList(final CloudletExecution cle) {
         removeUsedPes(cle.getNumberOfPes());
-        return cloudletExecList.remove(cle) ? cle : CloudletExecution.NULL;
+        if(cloudletExecList.remove(cle)) {
+            execListChanged(cle, false);
+            return cle;
+        }
+
+        return CloudletExecution.NULL;
     }
 
     /**
@@ -1039,13 +1237,43 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      * Optional otherwise
      */
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        return cloudletWaitingList
+        return findSuitableCloudlet(cloudletWaitingList);
+    }
+
+    /**
+     * Finds the first Cloudlet in a given collection that can be moved to the execution list.
+     *
+     * @param cloudlets the Cloudlets to search into, in the order they must be checked
+     * @return an {@link Optional} containing the found Cloudlet or an empty
+     * Optional otherwise
+     * @see #findSuitableWaitingCloudlet()
+     */
+    protected final Optional<CloudletExecution> findSuitableCloudlet(final Collection<CloudletExecution> cloudlets) {
+        return cloudlets
                 .stream()
                 .filter(cle -> cle.getCloudlet().getStatus() != Status.FROZEN)
                 .filter(this::canExecuteCloudlet)
                 .findFirst();
     }
 
+    /**
+     * Finds the first Cloudlet in the waiting list that can be executed,
+     * just checking Cloudlets which require up to the number of free PEs.
+     * Waiting Cloudlets are grouped by the number of required PEs,
+     * so that just the first suitable Cloudlet of each group is checked.
+     *
+     * <p>It finds the same Cloudlet as the default {@link #findSuitableWaitingCloudlet()}
+     * when a Cloudlet {@link #canExecuteCloudletInternal(CloudletExecution) can be executed}
+     * only if there are enough free PEs for it
+     * and the waiting list is kept in arrival order (it's never sorted).</p>
+     *
+     * @return an {@link Optional} containing the found Cloudlet or an empty
+     * Optional otherwise
+     */
+    protected Optional<CloudletExecution> findSuitableWaitingCloudletByFreePes() {
+        return cloudletWaitingBuckets.findFirst(vm.getProcessor().getAvailableResource(), this::canExecuteCloudlet);
+    }
+
     /**
      * Checks if the amount of PEs required by a given Cloudlet is free to use.
      *
@@ -1064,7 +1292,10 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     protected CloudletExecution addWaitingCloudletToExecList(final CloudletExecution cle) {
         /*If the Cloudlet is not found in the waiting List, there is no problem.
         * Just add it to the exec List.*/
-        cloudletWaitingList.remove(cle);
+        if(cloudletWaitingList.remove(cle)) {
+            waitingListChanged(cle, false);
+        }
+
         addCloudletToExecList(cle);
         return cle;
     }
@@ -1357,6 +1588,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     @Override
     public void clear() {
         this.cloudletWaitingList.clear();
+        this.cloudletWaitingBuckets.clear();
         this.cloudletExecList.clear();
+        this.availableMipsByPe = Double.NaN;
+        this.variableUtilization = false;
+        if(completionQueue != null) {
+            completionQueue.clear();
+        }
     }
 }
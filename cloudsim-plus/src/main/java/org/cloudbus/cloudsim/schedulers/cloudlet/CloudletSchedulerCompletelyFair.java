@@ -31,11 +31,7 @@ import org.cloudbus.cloudsim.schedulers.MipsShare;
 import org.cloudbus.cloudsim.util.MathUtil;
 
 import java.io.Serial;
-import java.util.List;
-import java.util.Optional;
-import java.util.function.Predicate;
-
-import static java.util.stream.Collectors.toList;
+import java.util.*;
 
 /**
  * A simplified implementation of the <a href="https://en.wikipedia.org/wiki/Completely_Fair_Scheduler">Completely Fair Scheduler (CFS)</a>
@@ -66,6 +62,16 @@ import static java.util.stream.Collectors.toList;
  *     room for other process to run.
  *     The CFS scheduler uses a dynamic defined time-slice.
  *     </li>
+ *     <li>Uses a Red-Black tree (a {@link TreeSet}), as in real implementations of CFS,
+ *     to sort waiting Cloudlets (run-queue list) increasingly, based on their virtual runtime (vruntime or VRT)
+ *     (placing the Cloudlets that have run the least at the top of the tree).
+ *     Since different Cloudlets may have the same virtual runtime, Cloudlets are also sorted by
+ *     priority and id, so that each one has a unique position in the tree.
+ *     Running Cloudlets are also kept in a tree sorted by when their time-slices may expire
+ *     and the weight sum of such Cloudlets is cached.
+ *     This way, picking the next Cloudlet to run and preempting Cloudlets
+ *     don't require sorting or scanning all Cloudlets.
+ *     </li>
  * </ul>
  *
  * And it currently <b>DOES NOT</b> implement the following features:
@@ -88,14 +94,6 @@ import static java.util.stream.Collectors.toList;
  *     (application execution is simulated just computing the amount of instructions
  *     that can be run), it doesn't matter which PEs are "running" the application.
  *     </li>
- *	   <li>It doesn't use a Red-Black tree (such as the TreeSet), as in real implementations of CFS,
- *	   to sort waiting Cloudlets (run-queue list) increasingly, based on their virtual runtime (vruntime or VRT)
- *	   (placing the Cloudlets that have run the least at the top of the tree).
- *	   Furthermore, the use of such a data structure added some complexity to the implementation.
- *	   Since different Cloudlets may have the same virtual runtime, this introduced some issues when adding or
- *	   removing elements in a structure such as the TreeSet, that requires
- *	   each value (the virtual runtime in this case) used to sort the Set to be unique.
- *	   </li>
  * </ul>
  * </p>
  *
@@ -140,6 +138,66 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 	 */
 	private int latency = 3;
 
+    /**
+     * The waiting Cloudlets sorted by the {@link #waitingCloudletsComparator(CloudletExecution, CloudletExecution)}.
+     * The virtual runtime of a Cloudlet cannot change while it's inside this tree.
+     * @see #getCloudletWaitingList()
+     */
+    private final NavigableSet<CloudletExecution> runQueue;
+
+    /**
+     * A read-only copy of the {@link #runQueue} returned by {@link #getCloudletWaitingList()},
+     * which is reused until the run queue changes. It's null when it must be created again.
+     */
+    private List<CloudletExecution> runQueueView;
+
+    /**
+     * Running Cloudlets sorted by the time their virtual runtime may reach their time-slices.
+     * @see #preemptExecCloudletsWithExpiredVRuntimeAndMoveToWaitingList(double)
+     */
+    private final NavigableSet<RunningEntry> runningExpirations;
+
+    /**
+     * The current entry of each Cloudlet inside the {@link #runningExpirations}.
+     */
+    private final Map<CloudletExecution, RunningEntry> runningEntries;
+
+    /**
+     * The number of running Cloudlets having each time-slice.
+     */
+    private final NavigableMap<Double, Integer> runningTimeSlices;
+
+    /**
+     * The number of running Cloudlets having each priority.
+     */
+    private final Map<Integer, Integer> runningPriorities;
+
+    /**
+     * The cached weight sum of running Cloudlets,
+     * which is {@link Double#NaN} when it has to be computed again.
+     * @see #getWeightSumOfRunningCloudlets()
+     */
+    private double runningWeightSum;
+
+    /**
+     * The sequence number of the next Cloudlet added to the execution list.
+     */
+    private long nextRunningSeq;
+
+    /**
+     * Creates a Completely Fair Scheduler.
+     */
+    public CloudletSchedulerCompletelyFair() {
+        super();
+        this.runQueue = new TreeSet<>(this::waitingCloudletsComparator);
+        this.runningExpirations = new TreeSet<>(
+            Comparator.comparingDouble(RunningEntry::expiration).thenComparingLong(RunningEntry::seq));
+        this.runningEntries = new IdentityHashMap<>();
+        this.runningTimeSlices = new TreeMap<>();
+        this.runningPriorities = new HashMap<>();
+        this.runningWeightSum = Double.NaN;
+    }
+
     /**
      * A comparator used to increasingly sort Cloudlets into the waiting list
      * based on their virtual runtime (vruntime or VRT). By this way, the Cloudlets in the beginning
@@ -236,7 +294,11 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      */
     @Override
     public List<CloudletExecution> getCloudletWaitingList() {
-        return super.getCloudletWaitingList();
+        if(runQueueView == null) {
+            runQueueView = Collections.unmodifiableList(new ArrayList<>(runQueue));
+        }
+
+        return runQueueView;
     }
 
     /**
@@ -249,8 +311,69 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      */
     @Override
     protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
-        sortCloudletWaitingList(this::waitingCloudletsComparator);
-        return super.findSuitableWaitingCloudlet();
+        //If there is no free PE, no waiting Cloudlet can run
+        if(getVm().getProcessor().getAvailableResource() <= 0) {
+            return Optional.empty();
+        }
+
+        return findSuitableCloudlet(runQueue);
+    }
+
+    @Override
+    protected void waitingListChanged(final CloudletExecution cle, final boolean added) {
+        super.waitingListChanged(cle, added);
+        runQueueView = null;
+        if(added) {
+            runQueue.add(cle);
+        } else runQueue.remove(cle);
+    }
+
+    @Override
+    protected void execListChanged(final CloudletExecution cle, final boolean added) {
+        super.execListChanged(cle, added);
+        removeRunningEntry(cle);
+        if(!added) {
+            return;
+        }
+
+        addRunningEntry(new RunningEntry(computeExpiration(cle), nextRunningSeq++, cle, cle.getTimeSlice(), cle.getCloudlet().getPriority()));
+        runningTimeSlices.merge(cle.getTimeSlice(), 1, Integer::sum);
+        runningPriorities.merge(cle.getCloudlet().getPriority(), 1, Integer::sum);
+        runningWeightSum = Double.NaN;
+    }
+
+    private void addRunningEntry(final RunningEntry entry) {
+        runningEntries.put(entry.cle(), entry);
+        runningExpirations.add(entry);
+    }
+
+    private void removeRunningEntry(final CloudletExecution cle) {
+        final RunningEntry entry = runningEntries.remove(cle);
+        if(entry == null) {
+            return;
+        }
+
+        runningExpirations.remove(entry);
+        decrement(runningTimeSlices, entry.timeSlice());
+        decrement(runningPriorities, entry.priority());
+        runningWeightSum = Double.NaN;
+    }
+
+    private static <K> void decrement(final Map<K, Integer> counters, final K key) {
+        counters.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * Computes the earliest time the virtual runtime of a running Cloudlet may reach its time-slice.
+     * Since the virtual runtime increases at most as much as the simulation clock
+     * (starting from zero when the Cloudlet starts running),
+     * the time-slice cannot expire before such a time.
+     *
+     * @param cle the running Cloudlet
+     * @return the earliest expiration time of the Cloudlet time-slice
+     */
+    private double computeExpiration(final CloudletExecution cle) {
+        return cle.getLastProcessingTime() + cle.getTimeSlice() - Math.max(cle.getVirtualRuntime(), 0);
     }
 
 	/**
@@ -269,9 +392,19 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      * @see #getCloudletNiceness(CloudletExecution)
 	 */
     private double getCloudletWeight(final CloudletExecution cloudlet){
-		return 1024.0/(Math.pow(1.25, getCloudletNiceness(cloudlet)));
+		return getWeight(cloudlet.getCloudlet().getPriority());
 	}
 
+    /**
+     * Gets the weight to use PEs for a given priority.
+     * @param priority the Cloudlet priority
+     * @return the weight for that priority
+     * @see #getCloudletWeight(CloudletExecution)
+     */
+    private double getWeight(final int priority){
+        return 1024.0/(Math.pow(1.25, getNiceness(priority)));
+    }
+
     /**
      * Gets the nice value from a Cloudlet based on its priority.
      * The nice value is the opposite of the priority.
@@ -284,7 +417,11 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      * @see <a href="http://man7.org/linux/man-pages/man1/nice.1.html">Man Pages: Nice values for Linux processes</a>
      */
     private double getCloudletNiceness(final CloudletExecution cloudlet){
-        return -cloudlet.getCloudlet().getPriority();
+        return getNiceness(cloudlet.getCloudlet().getPriority());
+    }
+
+    private double getNiceness(final int priority){
+        return -priority;
     }
 
     /**
@@ -302,10 +439,12 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
 	 * Gets the weight sum of all cloudlets in the executing list.
 	 */
 	private double getWeightSumOfRunningCloudlets() {
-		return getCloudletExecList()
-            .stream()
-            .mapToDouble(this::getCloudletWeight)
-            .sum();
+        if(Double.isNaN(runningWeightSum)) {
+            runningWeightSum = 0;
+            runningPriorities.forEach((priority, count) -> runningWeightSum += count * getWeight(priority));
+        }
+
+        return runningWeightSum;
 	}
 
 	/**
@@ -373,9 +512,7 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
     @Override
     public double updateProcessing(final double currentTime, final MipsShare mipsShare) {
         super.updateProcessing(currentTime, mipsShare);
-        return getCloudletExecList().stream()
-                .mapToDouble(CloudletExecution::getTimeSlice)
-                .min().orElse(Double.MAX_VALUE);
+        return runningTimeSlices.isEmpty() ? Double.MAX_VALUE : runningTimeSlices.firstKey();
     }
 
     @Override
@@ -490,7 +627,7 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      */
     @Override
     protected double moveNextCloudletsFromWaitingToExecList(final double currentTime) {
-        final List<CloudletExecution> preemptedCloudlets = preemptExecCloudletsWithExpiredVRuntimeAndMoveToWaitingList();
+        final List<CloudletExecution> preemptedCloudlets = preemptExecCloudletsWithExpiredVRuntimeAndMoveToWaitingList(currentTime);
         final double nextCloudletFinishTime = super.moveNextCloudletsFromWaitingToExecList(currentTime);
 
         /*After preempted Cloudlets are moved to the waiting list
@@ -499,7 +636,13 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
         is reset so that they can compete with other waiting Cloudlets to use
         the processor again.*/
         for(final CloudletExecution c: preemptedCloudlets) {
+            //The Cloudlet is re-inserted into the run queue, since its position depends on the virtual runtime
+            final boolean waiting = runQueue.remove(c);
             c.setVirtualRuntime(computeCloudletInitialVirtualRuntime(c));
+            if(waiting) {
+                runQueue.add(c);
+                runQueueView = null;
+            }
         }
 
         return nextCloudletFinishTime;
@@ -509,23 +652,65 @@ public final class CloudletSchedulerCompletelyFair extends CloudletSchedulerTime
      * Checks which Cloudlets in the execution list have an expired virtual
      * runtime (that have reached the execution time slice) and
      * preempts its execution, moving them to the waiting list.
+     * Just the running Cloudlets whose time-slices may have expired
+     * at the current time are checked.
      *
+     * @param currentTime current simulation time
      * @return The list of preempted Cloudlets, that were removed from the execution list
      * and must have their virtual runtime (VRT) reset after the next cloudlets are put into
      * the execution list.
      *
      */
-    private List<CloudletExecution> preemptExecCloudletsWithExpiredVRuntimeAndMoveToWaitingList() {
-        final Predicate<CloudletExecution> vrtReachedTimeSlice = cle -> cle.getVirtualRuntime() >= cle.getTimeSlice();
-        final List<CloudletExecution> expiredVrtCloudlets =
-            getCloudletExecList()
-                .stream()
-                .filter(vrtReachedTimeSlice)
-                .collect(toList());
+    private List<CloudletExecution> preemptExecCloudletsWithExpiredVRuntimeAndMoveToWaitingList(final double currentTime) {
+        //Uses a tolerance to ensure Cloudlets are checked despite rounding errors in the accumulated virtual runtime
+        final double maxExpiration = currentTime + getVm().getSimulation().getMinTimeBetweenEvents();
+        final List<RunningEntry> dueEntries = new ArrayList<>();
+        for (final RunningEntry entry : runningExpirations) {
+            if(entry.expiration() > maxExpiration) {
+                break;
+            }
+
+            dueEntries.add(entry);
+        }
+
+        final List<RunningEntry> expiredEntries = new ArrayList<>();
+        for (final RunningEntry entry : dueEntries) {
+            final CloudletExecution cle = entry.cle();
+            if (cle.getVirtualRuntime() >= cle.getTimeSlice()) {
+                expiredEntries.add(entry);
+            } else {
+                runningExpirations.remove(entry);
+                addRunningEntry(new RunningEntry(computeExpiration(cle), entry.seq(), cle, entry.timeSlice(), entry.priority()));
+            }
+        }
 
+        //Preempts Cloudlets in the order they were added to the execution list
+        expiredEntries.sort(Comparator.comparingLong(RunningEntry::seq));
+        final List<CloudletExecution> expiredVrtCloudlets = expiredEntries.stream().map(RunningEntry::cle).toList();
         expiredVrtCloudlets.forEach(cle -> addCloudletToWaitingList(removeCloudletFromExecList(cle)));
         return expiredVrtCloudlets;
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        runQueue.clear();
+        runQueueView = null;
+        runningExpirations.clear();
+        runningEntries.clear();
+        runningTimeSlices.clear();
+        runningPriorities.clear();
+        runningWeightSum = Double.NaN;
+    }
+
+    /**
+     * A running Cloudlet inside the {@link #runningExpirations}.
+     * @param expiration the earliest time the Cloudlet time-slice may expire
+     * @param seq the order the Cloudlet was added to the execution list
+     * @param cle the running Cloudlet
+     * @param timeSlice the Cloudlet time-slice when it was added to the execution list
+     * @param priority the Cloudlet priority when it was added to the execution list
+     */
+    private record RunningEntry(double expiration, long seq, CloudletExecution cle, double timeSlice, int priority) {}
 }
 
@@ -62,6 +62,9 @@ final class CloudletSchedulerNull implements CloudletScheduler {
     @Override public boolean isThereTaskScheduler() {
         return false;
     }
+    @Override public boolean canFastForward() {
+        return true;
+    }
     @Override public double updateProcessing(double currentTime, MipsShare mipsShare) {
         return 0.0;
     }
@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.resources.Pe;
 
 import java.io.Serial;
+import java.util.Optional;
 
 /**
  * Implements a policy of scheduling performed by a
@@ -79,6 +80,19 @@ public class CloudletSchedulerSpaceShared extends CloudletSchedulerAbstract {
         return cloudletEstimatedFinishTime(cle, getVm().getSimulation().clock());
     }
 
+    /**
+     * {@inheritDoc}
+     * Since a Cloudlet can be executed just if there are enough free PEs for it,
+     * only the Cloudlets requiring up to the number of free PEs are checked.
+     *
+     * @return {@inheritDoc}
+     * @see #findSuitableWaitingCloudletByFreePes()
+     */
+    @Override
+    protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
+        return findSuitableWaitingCloudletByFreePes();
+    }
+
     /**
      * The space-shared scheduler <b>does not</b> share the CPU time between
      * executing cloudlets. Each CPU ({@link Pe}) is used by another Cloudlet
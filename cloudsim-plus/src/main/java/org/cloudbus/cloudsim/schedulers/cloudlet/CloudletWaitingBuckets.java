@@ -0,0 +1,136 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Indexes the Cloudlets waiting inside a {@link CloudletSchedulerAbstract}
+ * into buckets according to the number of PEs they require.
+ * It enables finding the first waiting Cloudlet that fits into the free PEs
+ * just by checking the head of the buckets requiring up to that number of PEs,
+ * instead of checking every waiting Cloudlet.
+ *
+ * <p>Cloudlets are kept in FIFO order inside each bucket.
+ * A global arrival sequence number is assigned to every added Cloudlet,
+ * so that a Cloudlet waiting longer has priority over one requiring fewer PEs,
+ * just like when the waiting list is scanned in order.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+final class CloudletWaitingBuckets {
+    /**
+     * Waiting Cloudlets grouped by the number of required PEs,
+     * where each Cloudlet is mapped to its arrival sequence number.
+     */
+    private final NavigableMap<Long, LinkedHashMap<CloudletExecution, Long>> buckets;
+
+    /**
+     * The number of PEs of each Cloudlet when it was added,
+     * which identifies the bucket it belongs to.
+     */
+    private final Map<CloudletExecution, Long> pesByCloudlet;
+
+    /**
+     * The arrival sequence number of the next added Cloudlet.
+     */
+    private long nextSeq;
+
+    CloudletWaitingBuckets() {
+        this.buckets = new TreeMap<>();
+        this.pesByCloudlet = new HashMap<>();
+    }
+
+    /**
+     * Adds a Cloudlet to the end of the waiting queue.
+     * @param cle the Cloudlet to add
+     */
+    void add(final CloudletExecution cle) {
+        remove(cle);
+        final long pes = cle.getNumberOfPes();
+        pesByCloudlet.put(cle, pes);
+        buckets.computeIfAbsent(pes, key -> new LinkedHashMap<>()).put(cle, nextSeq++);
+    }
+
+    /**
+     * Removes a Cloudlet from the waiting queue.
+     * @param cle the Cloudlet to remove
+     */
+    void remove(final CloudletExecution cle) {
+        final Long pes = pesByCloudlet.remove(cle);
+        if (pes == null) {
+            return;
+        }
+
+        final var bucket = buckets.get(pes);
+        bucket.remove(cle);
+        if (bucket.isEmpty()) {
+            buckets.remove(pes);
+        }
+    }
+
+    void clear() {
+        buckets.clear();
+        pesByCloudlet.clear();
+    }
+
+    /**
+     * Finds the first arrived Cloudlet requiring up to a given number of PEs
+     * that meets a given condition.
+     *
+     * @param maxPes the maximum number of PEs the Cloudlet can require
+     * @param condition the condition the Cloudlet must meet
+     * @return an {@link Optional} containing the found Cloudlet or an empty Optional otherwise
+     */
+    Optional<CloudletExecution> findFirst(final long maxPes, final Predicate<CloudletExecution> condition) {
+        CloudletExecution first = null;
+        long firstSeq = Long.MAX_VALUE;
+        for (final var bucket : buckets.headMap(maxPes, true).values()) {
+            for (final var entry : bucket.entrySet()) {
+                if (entry.getValue() > firstSeq) {
+                    break;
+                }
+
+                if (condition.test(entry.getKey())) {
+                    first = entry.getKey();
+                    firstSeq = entry.getValue();
+                    break;
+                }
+            }
+        }
+
+        return Optional.ofNullable(first);
+    }
+
+    /**
+     * Gets the number of waiting Cloudlets.
+     * @return
+     */
+    int size() {
+        return pesByCloudlet.size();
+    }
+}
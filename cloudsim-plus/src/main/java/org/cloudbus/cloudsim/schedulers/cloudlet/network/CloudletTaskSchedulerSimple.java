@@ -210,7 +210,7 @@ public class CloudletTaskSchedulerSimple implements CloudletTaskScheduler {
         }
 
         final var dc = getVm().getHost().getDatacenter();
-        dc.schedule(dc, dc.getSimulation().getMinTimeBetweenEvents(), CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING);
+        dc.schedule(dc, dc.getSimulation().getMinTimeBetweenEvents(), CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING, getVm());
     }
 
     @Override
@@ -8,9 +8,11 @@
 
 package org.cloudbus.cloudsim.selectionpolicies;
 
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationAbstract;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,4 +43,39 @@ public interface VmSelectionPolicy {
      *         or empty Optional if there is not Vm to migrate
      */
     Optional<Vm> getVmToMigrate(Host host);
+
+    /**
+     * Gets a VM to migrate from a given host, selecting it from a given list of VMs
+     * instead of the VMs currently placed into the Host.
+     * It enables evaluating the VMs that would be migrated from a Host
+     * without actually removing VMs from it.
+     *
+     * <p>The default implementation just selects the VM returned by {@link #getVmToMigrate(Host)},
+     * if it's inside the given list.
+     * That is the VM the policy would select only when the given list contains the VMs currently
+     * placed into the Host. Policies able to select a VM from any list must override this method
+     * and {@link #isSelectionFromListSupported()}.</p>
+     *
+     * @param host the host to get a Vm to migrate from
+     * @param migratableVms the VMs from the Host that can be selected
+     * @return a {@link Optional} containing the selected vm to migrate;
+     *         or empty Optional if there is not Vm to migrate
+     */
+    default Optional<Vm> getVmToMigrate(final Host host, final List<Vm> migratableVms) {
+        return getVmToMigrate(host).filter(migratableVms::contains);
+    }
+
+    /**
+     * Checks if this policy is able to select a VM from any list given to
+     * {@link #getVmToMigrate(Host, List)}, not just from the VMs currently placed into the Host.
+     * Otherwise, a {@link VmAllocationPolicyMigrationAbstract} doesn't use its
+     * {@link VmAllocationPolicyMigrationAbstract#enableShadowPlacement() shadow placement}.
+     *
+     * @return true if {@link #getVmToMigrate(Host, List)} is overridden to select a VM from the given list,
+     *         false if it just uses the default implementation
+     * @since CloudSim Plus 7.2.0
+     */
+    default boolean isSelectionFromListSupported() {
+        return false;
+    }
 }
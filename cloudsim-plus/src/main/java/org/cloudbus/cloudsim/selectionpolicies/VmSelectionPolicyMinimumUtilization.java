@@ -38,7 +38,16 @@ import static java.util.Comparator.comparingDouble;
 public class VmSelectionPolicyMinimumUtilization implements VmSelectionPolicy {
     @Override
     public Optional<Vm> getVmToMigrate(final Host host) {
-        final List<Vm> migratableVms = host.getMigratableVms();
+        return getVmToMigrate(host, host.getMigratableVms());
+    }
+
+    @Override
+    public boolean isSelectionFromListSupported() {
+        return true;
+    }
+
+    @Override
+    public Optional<Vm> getVmToMigrate(final Host host, final List<Vm> migratableVms) {
         if (migratableVms.isEmpty()) {
             return Optional.empty();
         }
@@ -26,6 +26,7 @@ package org.cloudbus.cloudsim.selectionpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -38,4 +39,6 @@ import java.util.Optional;
  */
 final class VmSelectionPolicyNull implements VmSelectionPolicy {
     @Override public Optional<Vm> getVmToMigrate(Host host) { return Optional.empty(); }
+    @Override public Optional<Vm> getVmToMigrate(Host host, List<Vm> migratableVms) { return Optional.empty(); }
+    @Override public boolean isSelectionFromListSupported() { return true; }
 }
@@ -0,0 +1,900 @@
+package org.cloudbus.cloudsim.user;
+
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.SocialGraphEventInfo;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * An engine that computes the social distance (the number of friendship hops)
+ * between {@link User}s of a social network.
+ *
+ * <p>Users are mapped to consecutive integer indexes and friendships
+ * are stored as a compressed sparse row (CSR) adjacency structure,
+ * so that a single breadth-first search (BFS) from a user computes
+ * its distance to every other user in O(V + E) time.
+ * Each row of the structure reserves some free space, so that
+ * a friendship change just updates the rows of the two users involved.
+ * A row without free space is moved to the end of the structure,
+ * which is compacted when the space left behind by moved rows grows too large.
+ * Distances are stored in one primitive array for each user,
+ * which is computed on demand or for all users at once (in parallel)
+ * by {@link #computeAllDistances()}.</p>
+ *
+ * <p>The graph includes just the users given when it was created:
+ * friends that are not in the given user list are ignored.
+ * Friendships added or removed after that must be notified by
+ * {@link #addFriendship(User, User)} and {@link #removeFriendship(User, User)}
+ * (which is performed by {@link User#make_friend(User)} and {@link User#remove_friend(User)}).
+ * Then, just the distance entries affected by the change are updated,
+ * for the users whose distances have been computed,
+ * and {@link #addOnDistancesChangeListener(EventListener) listeners} are notified.
+ * Changing friendships is not thread-safe.</p>
+ *
+ * <p>When just small distances matter, {@link #distance(User, User, int)} avoids
+ * computing the distances to every user. It combines the neighbourhoods
+ * of both users up to half the maximum distance (a bidirectional bounded BFS).
+ * Such neighbourhoods are kept in a least-recently-used (LRU) cache,
+ * so that memory is proportional to the number of cached users and their neighbourhood sizes.</p>
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public class SocialGraph {
+    /**
+     * The distance between users that aren't connected by any path of friendships.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * The default maximum number of users having their neighbourhood cached.
+     * @see #setNeighbourhoodCacheSize(int)
+     */
+    public static final int DEF_NEIGHBOURHOOD_CACHE_SIZE = 4096;
+
+    /** @see #getUsers() */
+    private final List<User> users;
+
+    /**
+     * The index of each user in the {@link #users} list.
+     * Users are compared by identity, since the {@link User#id} is not required to be unique.
+     */
+    private final Map<User, Integer> indexes;
+
+    /**
+     * The positions in the {@link #neighbours} array where the friends of each user start.
+     * The friends of the user at index i are in the range [offsets[i], ends[i]).
+     */
+    private int[] offsets;
+
+    /**
+     * The positions in the {@link #neighbours} array where the friends of each user end (exclusive).
+     */
+    private int[] ends;
+
+    /**
+     * The positions in the {@link #neighbours} array where the space reserved for the friends
+     * of each user ends (exclusive). The slots in the range [ends[i], limits[i]) are free,
+     * so that a friend can be added without moving other rows.
+     */
+    private int[] limits;
+
+    /**
+     * The indexes of the friends of all users, grouped by user.
+     * Rows that outgrow their reserved space are moved to the end of the array.
+     */
+    private int[] neighbours;
+
+    /**
+     * The number of positions used in the {@link #neighbours} array,
+     * including the ones left behind by moved rows.
+     */
+    private int neighboursSize;
+
+    /**
+     * The number of positions in the {@link #neighbours} array
+     * left behind by moved rows, which are reclaimed when the array is compacted.
+     */
+    private int unusedNeighbours;
+
+    /**
+     * The distances from each user to every other one, indexed by user index.
+     * A row is null while the distances for that user are not computed yet.
+     * Since rows may be computed concurrently, they are stored in an atomic array
+     * to safely publish them to other threads.
+     */
+    private final AtomicReferenceArray<int[]> distances;
+
+    private final List<EventListener<SocialGraphEventInfo>> onDistancesChangeListeners;
+
+    /** @see #setSimulation(Simulation) */
+    private Simulation simulation;
+
+    /** @see #setNeighbourhoodCacheSize(int) */
+    private int neighbourhoodCacheSize;
+
+    /**
+     * The cached neighbourhoods of users, indexed by user index, in least-recently-used order.
+     * @see #distance(User, User, int)
+     */
+    private final LinkedHashMap<Integer, Neighbourhood> neighbourhoods;
+
+    /**
+     * The connected component each user belongs to, indexed by user index,
+     * used to find out if users are unreachable without searching the entire graph.
+     * It's null when friendships have changed and components must be computed again.
+     */
+    private int[] components;
+
+    /**
+     * Creates a social graph for the friendships between a given list of users.
+     * @param users the users in the social network
+     */
+    public SocialGraph(final List<User> users) {
+        this.users = List.copyOf(users);
+        this.indexes = new IdentityHashMap<>(users.size());
+        for (int i = 0; i < this.users.size(); i++) {
+            indexes.putIfAbsent(this.users.get(i), i);
+        }
+
+        this.distances = new AtomicReferenceArray<>(this.users.size());
+        this.onDistancesChangeListeners = new ArrayList<>();
+        this.simulation = Simulation.NULL;
+        this.neighbourhoodCacheSize = DEF_NEIGHBOURHOOD_CACHE_SIZE;
+        this.neighbourhoods = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, Neighbourhood> eldest) {
+                return size() > neighbourhoodCacheSize;
+            }
+        };
+        buildAdjacency();
+    }
+
+    /**
+     * Builds the CSR adjacency structure from the friends of each user.
+     */
+    private void buildAdjacency() {
+        final int size = users.size();
+        offsets = new int[size];
+        ends = new int[size];
+        limits = new int[size];
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            offsets[i] = total;
+            ends[i] = total;
+            total += rowCapacity(isFirstIndex(i) ? users.get(i).friends.size() : 0);
+            limits[i] = total;
+        }
+
+        neighbours = new int[total];
+        neighboursSize = total;
+        unusedNeighbours = 0;
+        for (int i = 0; i < size; i++) {
+            if (!isFirstIndex(i)) {
+                continue; //A duplicated user has the friends added just once
+            }
+
+            for (final User friend : users.get(i).friends) {
+                final Integer friendIdx = indexes.get(friend);
+                if (friendIdx != null) {
+                    neighbours[ends[i]++] = friendIdx;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a given index is the one used for the user at that position,
+     * which is false for a duplicated user.
+     */
+    private boolean isFirstIndex(final int idx) {
+        return indexes.get(users.get(idx)) == idx;
+    }
+
+    /**
+     * Gets the number of positions to reserve for a row in the {@link #neighbours} array,
+     * leaving some free space for friends added later.
+     * @param degree the number of friends in the row
+     * @return
+     */
+    private static int rowCapacity(final int degree) {
+        return degree + degree / 2 + 1;
+    }
+
+    /**
+     * Adds or removes a friend from a row of the CSR adjacency structure,
+     * according to the {@link User#friends} list of the user of that row.
+     *
+     * @param idx the index of the user whose row must be updated
+     * @param friendIdx the index of the friend to add or remove
+     */
+    private void updateRow(final int idx, final int friendIdx) {
+        final boolean isFriend = users.get(idx).friends.contains(users.get(friendIdx));
+        if (isFriend == hasEdge(idx, friendIdx)) {
+            return;
+        }
+
+        if (isFriend) {
+            if (ends[idx] == limits[idx]) {
+                moveRowToEnd(idx);
+            }
+
+            neighbours[ends[idx]++] = friendIdx;
+            return;
+        }
+
+        //The order of friends doesn't matter, so the last friend replaces the removed one
+        for (int i = offsets[idx]; i < ends[idx]; i++) {
+            if (neighbours[i] == friendIdx) {
+                neighbours[i] = neighbours[--ends[idx]];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves a full row to the end of the {@link #neighbours} array, enlarging its reserved space.
+     * If the positions left behind by moved rows exceed a quarter of the ones being used,
+     * the array is compacted instead.
+     * @param idx the index of the user whose row must be moved
+     */
+    private void moveRowToEnd(final int idx) {
+        final int degree = ends[idx] - offsets[idx];
+        final int capacity = rowCapacity(2 * degree);
+        unusedNeighbours += limits[idx] - offsets[idx];
+        if (unusedNeighbours > (neighboursSize - unusedNeighbours) / 4) {
+            compactNeighbours(idx, capacity);
+            return;
+        }
+
+        if (neighboursSize + capacity > neighbours.length) {
+            neighbours = Arrays.copyOf(neighbours, Math.max(neighboursSize + capacity, neighbours.length * 2));
+        }
+
+        System.arraycopy(neighbours, offsets[idx], neighbours, neighboursSize, degree);
+        offsets[idx] = neighboursSize;
+        ends[idx] = neighboursSize + degree;
+        limits[idx] = neighboursSize + capacity;
+        neighboursSize += capacity;
+    }
+
+    /**
+     * Copies the rows into a new {@link #neighbours} array,
+     * discarding the positions left behind by moved rows.
+     * @param grownIdx the index of a user whose row must have its reserved space changed
+     * @param grownCapacity the new reserved space for that row
+     */
+    private void compactNeighbours(final int grownIdx, final int grownCapacity) {
+        int total = 0;
+        for (int i = 0; i < users.size(); i++) {
+            total += i == grownIdx ? grownCapacity : limits[i] - offsets[i];
+        }
+
+        final int[] newNeighbours = new int[total];
+        int pos = 0;
+        for (int i = 0; i < users.size(); i++) {
+            final int degree = ends[i] - offsets[i];
+            final int capacity = i == grownIdx ? grownCapacity : limits[i] - offsets[i];
+            System.arraycopy(neighbours, offsets[i], newNeighbours, pos, degree);
+            offsets[i] = pos;
+            ends[i] = pos + degree;
+            limits[i] = pos + capacity;
+            pos += capacity;
+        }
+
+        neighbours = newNeighbours;
+        neighboursSize = total;
+        unusedNeighbours = 0;
+    }
+
+    /**
+     * Computes the distances between all pairs of users,
+     * running one BFS for each user in parallel.
+     * @return this graph
+     */
+    public SocialGraph computeAllDistances() {
+        IntStream.range(0, users.size())
+                 .parallel()
+                 .filter(i -> distances.get(i) == null)
+                 .forEach(i -> distances.compareAndSet(i, null, bfs(i)));
+        return this;
+    }
+
+    /**
+     * Gets the social distance between two users.
+     * @param source the user to compute the distance from
+     * @param dest the user to compute the distance to
+     * @return the number of friendship hops between the users (0 if they are the same user)
+     *         or {@link #UNREACHABLE} if they are not connected or some of them is not in this graph
+     */
+    public int distance(final User source, final User dest) {
+        final int srcIdx = indexOf(source);
+        final int destIdx = indexOf(dest);
+        if (srcIdx < 0 || destIdx < 0) {
+            return UNREACHABLE;
+        }
+
+        return distancesFrom(srcIdx)[destIdx];
+    }
+
+    /**
+     * Gets the social distance between two users, if it's not greater than a given number of hops.
+     * If the distances from some of the users were already computed, they are used.
+     * Otherwise, the neighbourhoods of the source and destination users are explored
+     * up to half the maximum distance, which are cached for subsequent queries.
+     * If the maximum distance is not lower than the number of users,
+     * it doesn't bound the distance, which is computed as in {@link #distance(User, User)}.
+     *
+     * @param source the user to compute the distance from
+     * @param dest the user to compute the distance to
+     * @param maxHops the maximum distance of interest
+     * @return the number of friendship hops between the users, if it's up to the maxHops;
+     *         {@code maxHops + 1} if the users are farther than that;
+     *         or {@link #UNREACHABLE} if they are not connected or some of them is not in this graph
+     * @throws IllegalArgumentException if maxHops is negative
+     */
+    public int distance(final User source, final User dest, final int maxHops) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("The maximum distance cannot be negative.");
+        }
+
+        //No path is longer than the number of users, so maxHops + 1 is never reached (nor overflows)
+        if (maxHops >= users.size()) {
+            return distance(source, dest);
+        }
+
+        final int srcIdx = indexOf(source);
+        final int destIdx = indexOf(dest);
+        if (srcIdx < 0 || destIdx < 0 || !isSameComponent(srcIdx, destIdx)) {
+            return UNREACHABLE;
+        }
+
+        final int[] srcRow = distances.get(srcIdx);
+        final int[] destRow = distances.get(destIdx);
+        final int distance;
+        if (srcRow != null) {
+            distance = srcRow[destIdx];
+        } else if (destRow != null) {
+            distance = destRow[srcIdx];
+        } else {
+            /* Any path up to maxHops has a user at most (maxHops+1)/2 hops from the source
+             * and maxHops/2 hops from the destination. */
+            final var srcNeighbourhood = neighbourhood(srcIdx, (maxHops + 1) / 2);
+            final var destNeighbourhood = neighbourhood(destIdx, maxHops / 2);
+            distance = srcNeighbourhood.size() <= destNeighbourhood.size() ?
+                            srcNeighbourhood.distanceThrough(destNeighbourhood) :
+                            destNeighbourhood.distanceThrough(srcNeighbourhood);
+        }
+
+        return distance == UNREACHABLE || distance > maxHops ? maxHops + 1 : distance;
+    }
+
+    /**
+     * Checks if two users are in the same connected component,
+     * computing the components if they are outdated.
+     */
+    private synchronized boolean isSameComponent(final int idx1, final int idx2) {
+        if (components == null) {
+            components = computeComponents();
+        }
+
+        return components[idx1] == components[idx2];
+    }
+
+    private int[] computeComponents() {
+        final int[] newComponents = new int[users.size()];
+        Arrays.fill(newComponents, UNREACHABLE);
+        final var queue = new IntQueue();
+        for (int i = 0; i < users.size(); i++) {
+            if (newComponents[i] != UNREACHABLE) {
+                continue;
+            }
+
+            newComponents[i] = i;
+            queue.add(i);
+            while (!queue.isEmpty()) {
+                final int x = queue.poll();
+                for (int j = offsets[x]; j < ends[x]; j++) {
+                    if (newComponents[neighbours[j]] == UNREACHABLE) {
+                        newComponents[neighbours[j]] = i;
+                        queue.add(neighbours[j]);
+                    }
+                }
+            }
+        }
+
+        return newComponents;
+    }
+
+    /**
+     * Gets the neighbourhood of a user from the cache,
+     * exploring it if it's not cached or has a smaller radius than required.
+     *
+     * @param idx the index of the user
+     * @param radius the minimum radius of the neighbourhood
+     * @return the user neighbourhood
+     */
+    private synchronized Neighbourhood neighbourhood(final int idx, final int radius) {
+        final var cached = neighbourhoods.get(idx);
+        if (cached != null && cached.radius() >= radius) {
+            return cached;
+        }
+
+        final var neighbourhood = exploreNeighbourhood(idx, radius);
+        neighbourhoods.put(idx, neighbourhood);
+        return neighbourhood;
+    }
+
+    /**
+     * Runs a BFS from a given user, up to a given radius.
+     * @param srcIdx the index of the user to start the search
+     * @param radius the maximum distance to explore
+     * @return the neighbourhood found
+     */
+    private Neighbourhood exploreNeighbourhood(final int srcIdx, final int radius) {
+        final var visited = new HashMap<Integer, Integer>();
+        final var queue = new IntQueue();
+        visited.put(srcIdx, 0);
+        queue.add(srcIdx);
+        while (!queue.isEmpty()) {
+            final int x = queue.poll();
+            final int newDist = visited.get(x) + 1;
+            if (newDist > radius) {
+                break;
+            }
+
+            for (int i = offsets[x]; i < ends[x]; i++) {
+                if (visited.putIfAbsent(neighbours[i], newDist) == null) {
+                    queue.add(neighbours[i]);
+                }
+            }
+        }
+
+        final int[] members = visited.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        final int[] memberDistances = new int[members.length];
+        for (int i = 0; i < members.length; i++) {
+            memberDistances[i] = visited.get(members[i]);
+        }
+
+        return new Neighbourhood(radius, members, memberDistances);
+    }
+
+    /**
+     * Removes from the cache the neighbourhoods including the users in a changed friendship,
+     * since distances inside such neighbourhoods may have changed.
+     * Components are also marked as outdated.
+     */
+    private synchronized void invalidateNeighbourhoods(final int idx1, final int idx2) {
+        components = null;
+        neighbourhoods.values().removeIf(neighbourhood -> neighbourhood.contains(idx1) || neighbourhood.contains(idx2));
+    }
+
+    /**
+     * Gets the distances from a given user to every user in the {@link #getUsers() user list}.
+     * @param source the user to compute the distances from
+     * @return an array where each element i is the distance to the i-th user
+     * @throws IllegalArgumentException if the user is not in this graph
+     */
+    public int[] distances(final User source) {
+        final int srcIdx = indexOf(source);
+        if (srcIdx < 0) {
+            throw new IllegalArgumentException(source.username + " is not in the social graph.");
+        }
+
+        return distancesFrom(srcIdx).clone();
+    }
+
+    private int[] distancesFrom(final int srcIdx) {
+        final int[] row = distances.get(srcIdx);
+        if (row != null) {
+            return row;
+        }
+
+        //If another thread computes the same row meanwhile, its result is the same
+        distances.compareAndSet(srcIdx, null, bfs(srcIdx));
+        return distances.get(srcIdx);
+    }
+
+    /**
+     * Runs a BFS from a given user to compute its distance to every other user.
+     * @param srcIdx the index of the user to start the search
+     * @return the distances from the user to every other user
+     */
+    private int[] bfs(final int srcIdx) {
+        final int[] dist = new int[users.size()];
+        Arrays.fill(dist, UNREACHABLE);
+        final int[] queue = new int[users.size()];
+        int head = 0;
+        int tail = 0;
+
+        dist[srcIdx] = 0;
+        queue[tail++] = srcIdx;
+        while (head < tail) {
+            final int u = queue[head++];
+            final int nextDist = dist[u] + 1;
+            for (int i = offsets[u]; i < ends[u]; i++) {
+                final int v = neighbours[i];
+                if (dist[v] == UNREACHABLE) {
+                    dist[v] = nextDist;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        return dist;
+    }
+
+    /**
+     * Updates the distances after a friendship between two users was added.
+     * It must be called after the users were added to the {@link User#friends} list of each other.
+     * For each user whose distances were computed, it just visits the users that got closer to it.
+     *
+     * @param user1 one of the users in the new friendship
+     * @param user2 the other user in the new friendship
+     * @return true if some computed distance has changed, false otherwise
+     */
+    public boolean addFriendship(final User user1, final User user2) {
+        return updateFriendship(user1, user2, true);
+    }
+
+    /**
+     * Updates the distances after a friendship between two users was removed.
+     * It must be called after the users were removed from the {@link User#friends} list of each other.
+     * For each user whose distances were computed and that had the friendship in a shortest path
+     * to other users, it just recomputes the distances to the users that don't have an alternative
+     * shortest path.
+     *
+     * @param user1 one of the users in the removed friendship
+     * @param user2 the other user in the removed friendship
+     * @return true if some computed distance has changed, false otherwise
+     */
+    public boolean removeFriendship(final User user1, final User user2) {
+        return updateFriendship(user1, user2, false);
+    }
+
+    private boolean updateFriendship(final User user1, final User user2, final boolean added) {
+        final int idx1 = indexOf(user1);
+        final int idx2 = indexOf(user2);
+        if (idx1 < 0 || idx2 < 0 || idx1 == idx2) {
+            return false;
+        }
+
+        final boolean hadFriendship = hasEdge(idx1, idx2);
+        updateRow(idx1, idx2);
+        updateRow(idx2, idx1);
+        if (hadFriendship == hasEdge(idx1, idx2)) {
+            return false;
+        }
+
+        invalidateNeighbourhoods(idx1, idx2);
+        final Set<User> affectedUsers =
+            IntStream.range(0, users.size())
+                     .parallel()
+                     .filter(src -> {
+                         final int[] row = distances.get(src);
+                         return row != null && (added ? insertEdge(row, idx1, idx2) : deleteEdge(row, idx1, idx2));
+                     })
+                     .mapToObj(users::get)
+                     .collect(Collectors.toUnmodifiableSet());
+
+        /* Listeners are notified even if no computed distance has changed,
+        since distances not computed yet (such as bounded ones) may have changed. */
+        for (final var listener : onDistancesChangeListeners) {
+            listener.update(SocialGraphEventInfo.of(listener, this, user1, user2, added, affectedUsers, simulation.clock()));
+        }
+
+        return !affectedUsers.isEmpty();
+    }
+
+    private boolean hasEdge(final int idx1, final int idx2) {
+        for (int i = offsets[idx1]; i < ends[idx1]; i++) {
+            if (neighbours[i] == idx2) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Updates the distances from a source user after an edge insertion,
+     * using a BFS that just visits the users that got closer to the source.
+     *
+     * @param dist the distances from the source user
+     * @param u one endpoint of the new edge
+     * @param v the other endpoint of the new edge
+     * @return true if some distance has changed, false otherwise
+     */
+    private boolean insertEdge(final int[] dist, final int u, final int v) {
+        if (dist[u] == UNREACHABLE && dist[v] == UNREACHABLE) {
+            return false;
+        }
+
+        //Makes the closest endpoint be the near one
+        final boolean uIsNear = dist[v] == UNREACHABLE || dist[u] != UNREACHABLE && dist[u] <= dist[v];
+        final int near = uIsNear ? u : v;
+        final int far = uIsNear ? v : u;
+        if (dist[far] != UNREACHABLE && dist[far] <= dist[near] + 1) {
+            return false;
+        }
+
+        final var queue = new IntQueue();
+        dist[far] = dist[near] + 1;
+        queue.add(far);
+        while (!queue.isEmpty()) {
+            final int x = queue.poll();
+            final int newDist = dist[x] + 1;
+            for (int i = offsets[x]; i < ends[x]; i++) {
+                final int y = neighbours[i];
+                if (dist[y] == UNREACHABLE || dist[y] > newDist) {
+                    dist[y] = newDist;
+                    queue.add(y);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Updates the distances from a source user after an edge deletion.
+     * It finds the users whose all shortest paths from the source
+     * used the deleted edge (the affected users), then recomputes
+     * the distances just for them.
+     *
+     * @param dist the distances from the source user
+     * @param u one endpoint of the deleted edge
+     * @param v the other endpoint of the deleted edge
+     * @return true if some distance has changed, false otherwise
+     */
+    private boolean deleteEdge(final int[] dist, final int u, final int v) {
+        //The edge is only in a shortest path if the endpoints are in consecutive levels
+        if (dist[u] == UNREACHABLE || Math.abs(dist[u] - dist[v]) != 1) {
+            return false;
+        }
+
+        final int child = dist[u] < dist[v] ? v : u;
+        final var affected = new BitSet();
+        if (hasParentOutside(dist, child, affected)) {
+            return false;
+        }
+
+        //Collects affected users level by level, so that all affected parents are known when checking a child
+        final var affectedList = new IntQueue();
+        affected.set(child);
+        affectedList.add(child);
+        for (int i = 0; i < affectedList.size(); i++) {
+            final int x = affectedList.get(i);
+            for (int j = offsets[x]; j < ends[x]; j++) {
+                final int y = neighbours[j];
+                if (!affected.get(y) && dist[y] == dist[x] + 1 && !hasParentOutside(dist, y, affected)) {
+                    affected.set(y);
+                    affectedList.add(y);
+                }
+            }
+        }
+
+        /* Recomputes affected distances as in Dijkstra's algorithm,
+        * starting from the distances through unaffected neighbours.
+        * Each queue entry stores the distance in the high bits and the user index in the low bits. */
+        final var queue = new PriorityQueue<Long>();
+        for (int i = 0; i < affectedList.size(); i++) {
+            final int x = affectedList.get(i);
+            int best = UNREACHABLE;
+            for (int j = offsets[x]; j < ends[x]; j++) {
+                final int y = neighbours[j];
+                if (!affected.get(y) && dist[y] != UNREACHABLE && (best == UNREACHABLE || dist[y] + 1 < best)) {
+                    best = dist[y] + 1;
+                }
+            }
+
+            dist[x] = best;
+            if (best != UNREACHABLE) {
+                queue.add((long) best << 32 | x);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final long entry = queue.poll();
+            final int x = (int) entry;
+            if (dist[x] != (int) (entry >>> 32)) {
+                continue; //outdated entry
+            }
+
+            final int newDist = dist[x] + 1;
+            for (int j = offsets[x]; j < ends[x]; j++) {
+                final int y = neighbours[j];
+                if (affected.get(y) && (dist[y] == UNREACHABLE || dist[y] > newDist)) {
+                    dist[y] = newDist;
+                    queue.add((long) newDist << 32 | y);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a user has a neighbour that is in the previous BFS level and is not affected by an edge deletion.
+     * @param dist the distances from the source user
+     * @param x the index of the user to check
+     * @param affected the users affected by the edge deletion
+     * @return true if the user keeps its distance through that neighbour, false otherwise
+     */
+    private boolean hasParentOutside(final int[] dist, final int x, final BitSet affected) {
+        for (int i = offsets[x]; i < ends[x]; i++) {
+            final int y = neighbours[i];
+            if (!affected.get(y) && dist[y] == dist[x] - 1) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the index of a user in the {@link #getUsers() user list}.
+     * @param user the user to get the index
+     * @return the user index or -1 if it is not in this graph
+     */
+    public int indexOf(final User user) {
+        final Integer idx = indexes.get(user);
+        return idx == null ? -1 : idx;
+    }
+
+    /**
+     * Adds a listener to be notified when a friendship between users of the graph is added or removed,
+     * which may change the distances between users.
+     * @param listener the listener to add
+     * @return this graph
+     */
+    public SocialGraph addOnDistancesChangeListener(final EventListener<SocialGraphEventInfo> listener) {
+        onDistancesChangeListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    /**
+     * Removes a listener from the distances change notifications.
+     * @param listener the listener to remove
+     * @return true if the listener was removed, false otherwise
+     */
+    public boolean removeOnDistancesChangeListener(final EventListener<SocialGraphEventInfo> listener) {
+        return onDistancesChangeListeners.remove(listener);
+    }
+
+    /**
+     * Sets the simulation used to get the time when distances change.
+     * @param simulation the simulation to set
+     * @return this graph
+     */
+    public SocialGraph setSimulation(final Simulation simulation) {
+        this.simulation = Objects.requireNonNull(simulation);
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of users having their neighbourhood cached
+     * for {@link #distance(User, User, int)} queries.
+     * @return
+     */
+    public int getNeighbourhoodCacheSize() {
+        return neighbourhoodCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of users having their neighbourhood cached
+     * for {@link #distance(User, User, int)} queries.
+     * When the limit is reached, the least recently used neighbourhood is discarded.
+     * @param neighbourhoodCacheSize the maximum number of cached neighbourhoods
+     * @return this graph
+     */
+    public synchronized SocialGraph setNeighbourhoodCacheSize(final int neighbourhoodCacheSize) {
+        if (neighbourhoodCacheSize < 0) {
+            throw new IllegalArgumentException("The cache size cannot be negative.");
+        }
+
+        this.neighbourhoodCacheSize = neighbourhoodCacheSize;
+        while (neighbourhoods.size() > neighbourhoodCacheSize) {
+            neighbourhoods.remove(neighbourhoods.keySet().iterator().next());
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the number of users having their neighbourhood currently cached.
+     * @return
+     */
+    public synchronized int getCachedNeighbourhoodsNumber() {
+        return neighbourhoods.size();
+    }
+
+    /**
+     * Gets the (read-only) list of users in this graph.
+     * @return
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the number of users in this graph.
+     * @return
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * The users up to a given distance from a center user,
+     * stored as arrays sorted by user index.
+     *
+     * @param radius the maximum distance explored from the center user
+     * @param members the indexes of the users in the neighbourhood, in ascending order
+     * @param distances the distance from the center user to each member
+     */
+    private record Neighbourhood(int radius, int[] members, int[] distances) {
+        int size() {
+            return members.length;
+        }
+
+        boolean contains(final int idx) {
+            return Arrays.binarySearch(members, idx) >= 0;
+        }
+
+        /**
+         * Gets the shortest distance between the center users of this and another neighbourhood,
+         * through the users in both neighbourhoods.
+         * @param other the other neighbourhood
+         * @return the shortest distance or {@link #UNREACHABLE} if the neighbourhoods don't intersect
+         */
+        int distanceThrough(final Neighbourhood other) {
+            int best = UNREACHABLE;
+            for (int i = 0; i < members.length; i++) {
+                final int j = Arrays.binarySearch(other.members, members[i]);
+                if (j >= 0 && (best == UNREACHABLE || distances[i] + other.distances[j] < best)) {
+                    best = distances[i] + other.distances[j];
+                }
+            }
+
+            return best;
+        }
+    }
+
+    /**
+     * A growable queue of int values that keeps all added values,
+     * avoiding boxing and allowing them to be traversed after polled.
+     */
+    private static final class IntQueue {
+        private int[] values = new int[16];
+        private int head;
+        private int tail;
+
+        void add(final int value) {
+            if (tail == values.length) {
+                values = Arrays.copyOf(values, tail * 2);
+            }
+
+            values[tail++] = value;
+        }
+
+        int poll() {
+            return values[head++];
+        }
+
+        int get(final int index) {
+            return values[index];
+        }
+
+        int size() {
+            return tail;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+}
@@ -3,7 +3,7 @@ import org.cloudbus.cloudsim.hosts.Host;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
 
 public class User {
     public String username;
@@ -12,111 +12,172 @@ public class User {
     public HashMap<User, Integer> adjacency_map;
     public Host myDevice;
 
+    /**
+     * The social graph shared by all users of the network,
+     * used to compute social distances without a map for each user.
+     * @see #update_network_all(List)
+     */
+    private SocialGraph socialGraph;
+
     public User(String username_in, int id_in) {
         username = username_in;
         id = id_in;
         friends = new ArrayList<User>();
     }
 
+    /**
+     * Makes this user and another one friends of each other.
+     * If this user belongs to a {@link SocialGraph},
+     * the distances in the graph are incrementally updated.
+     *
+     * @param friend the new friend
+     */
     public void make_friend(User friend)
     {
-        if(!this.friends.contains(friend)) this.friends.add(friend);
-        if(!friend.friends.contains(this)) friend.friends.add(this);
+        boolean added = false;
+        if(!this.friends.contains(friend)) added = this.friends.add(friend);
+        if(!friend.friends.contains(this)) added |= friend.friends.add(this);
+        final SocialGraph graph = socialGraph == null ? friend.socialGraph : socialGraph;
+        if(added && graph != null) graph.addFriendship(this, friend);
     }
 
-    public void update_network(ArrayList<User> full_user_list)
+    /**
+     * Removes the friendship between this user and another one.
+     * If this user belongs to a {@link SocialGraph},
+     * the distances in the graph are incrementally updated.
+     *
+     * @param friend the friend to remove
+     */
+    public void remove_friend(User friend)
     {
-        this.adjacency_map = this.dijkstra_costs(full_user_list);
+        boolean removed = this.friends.remove(friend);
+        removed |= friend.friends.remove(this);
+        final SocialGraph graph = socialGraph == null ? friend.socialGraph : socialGraph;
+        if(removed && graph != null) graph.removeFriendship(this, friend);
     }
 
-    public void print_adjacency_list()
+    /**
+     * Computes the distances from this user to every user in a given list,
+     * storing them into the {@link #adjacency_map}.
+     * It runs a single BFS over the social graph.
+     * To compute the distances for all users, {@link #update_network_all(List)} is faster
+     * and doesn't require a map for each user.
+     *
+     * @param full_user_list the users in the social network
+     */
+    public void update_network(ArrayList<User> full_user_list)
     {
-        for(User user: this.adjacency_map.keySet()) {
-            String key = user.username;
-            String distance = adjacency_map.get(user).toString();
-            System.out.println(key + ": " + distance);
+        final var graph = new SocialGraph(full_user_list);
+        final int[] distances = graph.distances(this);
+        final var adjacency_map_temp = new HashMap<User, Integer>(full_user_list.size());
+        for (int i = 0; i < distances.length; i++) {
+            adjacency_map_temp.putIfAbsent(graph.getUsers().get(i), distances[i]);
         }
+
+        this.adjacency_map = adjacency_map_temp;
     }
 
-    public void bind_host(Host new_device)
+    /**
+     * Computes the distances between all users in a given list, using a {@link SocialGraph}
+     * shared by such users. Distances are computed in parallel and
+     * can be got by {@link #distance_to(User)}.
+     *
+     * @param full_user_list the users in the social network
+     * @return the social graph created for the users
+     */
+    public static SocialGraph update_network_all(List<User> full_user_list)
     {
-        myDevice = new_device;
+        final var graph = join_network(full_user_list);
+        graph.computeAllDistances();
+        return graph;
     }
 
+    /**
+     * Creates a {@link SocialGraph} shared by the users in a given list,
+     * without computing the distances between all of them.
+     * Distances are computed on demand and
+     * bounded queries such as {@link #distance_to(User, int)} just explore
+     * the neighbourhood of users, requiring much less memory for large networks.
+     *
+     * @param full_user_list the users in the social network
+     * @return the social graph created for the users
+     */
+    public static SocialGraph join_network(List<User> full_user_list)
+    {
+        final var graph = new SocialGraph(full_user_list);
+        full_user_list.forEach(user -> user.socialGraph = graph);
+        return graph;
+    }
 
-    private int getShortestDistance(ArrayList<User> masterlist, User dest, User source) {
-        int v = masterlist.size();
-        int pred[] = new int[v];
-        int dist[] = new int[v];
-        if(dest == source) {
-            return 0;
-        }
-        if(BFS(masterlist, dest, source, pred, dist) == false) {
-            System.out.println("Given source and destination" +
-                "are not connected");
-            return -1;
-        }
-
-        LinkedList<User> path = new LinkedList<User>();
-        User crawl = dest;
-        path.add(crawl);
-        while (pred[masterlist.indexOf(crawl)] != -1) {
-            path.add(masterlist.get(pred[masterlist.indexOf(crawl)]));
-            crawl = masterlist.get(pred[masterlist.indexOf(crawl)]);
+    /**
+     * Gets the social distance from this user to another one,
+     * using the {@link SocialGraph} of this user (if any)
+     * or the {@link #adjacency_map} otherwise.
+     *
+     * @param other the user to get the distance to
+     * @return the number of friendship hops between the users (0 if they are the same user)
+     *         or {@link SocialGraph#UNREACHABLE} if they are not connected
+     * @see #update_network_all(List)
+     * @see #update_network(ArrayList)
+     */
+    public int distance_to(User other)
+    {
+        if (socialGraph != null) {
+            return socialGraph.distance(this, other);
         }
 
-        return dist[masterlist.indexOf(dest)];
-
+        final Integer distance = adjacency_map == null ? null : adjacency_map.get(other);
+        return distance == null ? SocialGraph.UNREACHABLE : distance;
     }
 
-    private boolean BFS(ArrayList<User> masterlist, User dest, User source, int pred[], int dist[])
+    /**
+     * Gets the social distance from this user to another one, if it's not greater than a given number of hops.
+     * It's faster than {@link #distance_to(User)} when the distances from this user were not computed yet,
+     * since just the neighbourhoods of both users are explored.
+     *
+     * @param other the user to get the distance to
+     * @param maxHops the maximum distance of interest
+     * @return the number of friendship hops between the users, if it's up to the maxHops;
+     *         {@code maxHops + 1} if the users are farther than that;
+     *         or {@link SocialGraph#UNREACHABLE} if they are not connected
+     * @throws IllegalArgumentException if maxHops is negative
+     * @see SocialGraph#distance(User, User, int)
+     */
+    public int distance_to(User other, int maxHops)
     {
-        int v = masterlist.size();
-        LinkedList<User> queue = new LinkedList<User>();
-        boolean visited[] = new boolean[v];
-        int src = masterlist.indexOf(source);
-
-        for (int i=0;i<v; i++) {
-            visited[i] = false;
-            dist[i] = Integer.MAX_VALUE;
-            pred[i] = -1;
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("The maximum distance cannot be negative.");
         }
 
-        visited[src] = true;
-        dist[src] = 0;
-        queue.add(source);
-        while(!queue.isEmpty()) {
-            User u = queue.remove();
-            for(int i=0;i<u.friends.size();i++)
-            {
-                if (visited[masterlist.indexOf(u.friends.get(i))] == false)
-                {
-                    visited[masterlist.indexOf(u.friends.get(i))] = true;
-                    dist[masterlist.indexOf(u.friends.get(i))] = dist[masterlist.indexOf(u)] + 1;
-                    pred[masterlist.indexOf(u.friends.get(i))] = masterlist.indexOf(u);
-                    queue.add(u.friends.get(i));
-
-                    //stopping condition
-                    if (u.friends.get(i) == dest) return true;
-                }
-            }
+        if (socialGraph != null) {
+            return socialGraph.distance(this, other, maxHops);
         }
-        return false;
-
 
+        final int distance = distance_to(other);
+        return distance > maxHops ? maxHops + 1 : distance;
     }
 
-    private HashMap dijkstra_costs(ArrayList<User> full_user_list)
+    /**
+     * Gets the social graph shared by the users of the network,
+     * or null if {@link #update_network_all(List)} was not called for this user.
+     * @return
+     */
+    public SocialGraph getSocialGraph()
     {
-        HashMap<User, Integer> adjacency_map_temp = new HashMap<User, Integer>();
-        int dist;
+        return socialGraph;
+    }
 
-        for(User u: full_user_list)
-        {
-            dist = getShortestDistance(full_user_list,u,this);
-            adjacency_map_temp.put(u, dist);
+    public void print_adjacency_list()
+    {
+        for(User user: this.adjacency_map.keySet()) {
+            String key = user.username;
+            String distance = adjacency_map.get(user).toString();
+            System.out.println(key + ": " + distance);
         }
-        return adjacency_map_temp;
     }
 
+    public void bind_host(Host new_device)
+    {
+        myDevice = new_device;
+    }
 }
@@ -94,6 +94,18 @@ public interface UtilizationModel {
      */
     double getUtilization();
 
+    /**
+     * Checks if the resource utilization defined by this model doesn't change along the time.
+     * In such a case, the progress of a Cloudlet using that model is linear between events,
+     * enabling its processing to be fast-forwarded up to its completion
+     * (see {@link CloudletScheduler#canFastForward()}).
+     *
+     * @return true if the utilization is constant, false if it may change along the time
+     */
+    default boolean isConstant() {
+        return false;
+    }
+
     /**
      * Checks if the resource utilization requested by a Cloudlet is allowed to exceed 100% or not.
      * <p><b>WARNING:</b> This attribute is just considered when the {@link #getUnit()}
@@ -44,6 +44,11 @@ import java.util.function.Function;
  * @since CloudSim Plus 1.0
  */
 public class UtilizationModelDynamic extends UtilizationModelAbstract {
+    /**
+     * The default {@link #utilizationUpdateFunction}, which keeps the current utilization unchanged.
+     */
+    private static final Function<UtilizationModelDynamic, Double> CONSTANT_UTILIZATION_FUNCTION = modelInstance -> modelInstance.currentUtilization;
+
     /**
      * Indicates whether the utilization model is readonly.
      * It's set to true when using the
@@ -162,7 +167,7 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
         this.currentUtilizationTime = 0;
         this.setCurrentUtilization(initialUtilization);
 
-        utilizationUpdateFunction = modelInstance -> modelInstance.currentUtilization;
+        utilizationUpdateFunction = CONSTANT_UTILIZATION_FUNCTION;
     }
 
     /**
@@ -183,7 +188,7 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
          * that will cause an infinite loop, since the {@link #getUtilization(double)} will call
          * the given function to increase the current utilization and return the current value.
          */
-        this.utilizationUpdateFunction = modelInstance -> modelInstance.currentUtilization;
+        this.utilizationUpdateFunction = CONSTANT_UTILIZATION_FUNCTION;
         this.readOnly = true;
     }
 
@@ -237,6 +242,16 @@ public class UtilizationModelDynamic extends UtilizationModelAbstract {
         return currentUtilization;
     }
 
+    /**
+     * {@inheritDoc}
+     * @return true if no {@link #setUtilizationUpdateFunction(Function) utilization update function}
+     *         was set, false otherwise
+     */
+    @Override
+    public boolean isConstant() {
+        return utilizationUpdateFunction == CONSTANT_UTILIZATION_FUNCTION;
+    }
+
     /**
      * Gets the time difference from the current simulation time to the
      * last time the resource utilization was updated.
@@ -48,6 +48,7 @@ final class UtilizationModelNull implements UtilizationModel {
     @Override public double getUtilization() {
         return 0;
     }
+    @Override public boolean isConstant() { return true; }
     @Override public boolean isOverCapacityRequestAllowed() { return false; }
     @Override public UtilizationModel setOverCapacityRequestAllowed(boolean allow) { return this; }
 }
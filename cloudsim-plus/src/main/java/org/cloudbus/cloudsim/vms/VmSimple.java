@@ -285,7 +285,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
         notifyOnUpdateProcessingListeners();
 
         cpuUtilizationStats.add(currentTime);
-        getBroker().requestIdleVmDestruction(this);
+        getSimulation().runInEventOrder(() -> getBroker().requestIdleVmDestruction(this));
         if (nextSimulationDelay == Double.MAX_VALUE) {
             return nextSimulationDelay;
         }
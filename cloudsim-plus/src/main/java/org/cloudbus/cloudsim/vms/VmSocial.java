@@ -298,7 +298,7 @@ public class VmSocial extends CustomerEntityAbstract implements Vm {
          */
         final double decimals = currentTime - (int) currentTime;
         cpuUtilizationStats.add(currentTime);
-        getBroker().requestIdleVmDestruction(this);
+        getSimulation().runInEventOrder(() -> getBroker().requestIdleVmDestruction(this));
         if (nextSimulationDelay == Double.MAX_VALUE) {
             return nextSimulationDelay;
         }
@@ -0,0 +1,104 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2021 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.listeners;
+
+import org.cloudbus.cloudsim.user.SocialGraph;
+import org.cloudbus.cloudsim.user.User;
+
+import java.util.Set;
+
+/**
+ * An interface that represents data to be passed
+ * to {@link EventListener} objects that are registered to be notified
+ * when a friendship in a {@link SocialGraph} is added or removed, which may update distances between users.
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public interface SocialGraphEventInfo extends EventInfo {
+    /**
+     * Gets the {@link SocialGraph} for which the event happened.
+     * @return
+     */
+    SocialGraph getSocialGraph();
+
+    /**
+     * Gets one of the users whose friendship was added or removed.
+     * @return
+     * @see #getUser2()
+     */
+    User getUser1();
+
+    /**
+     * Gets the other user whose friendship was added or removed.
+     * @return
+     * @see #getUser1()
+     */
+    User getUser2();
+
+    /**
+     * Checks if the friendship between {@link #getUser1()} and {@link #getUser2()}
+     * was added or removed.
+     * @return true if the friendship was added, false if it was removed
+     */
+    boolean isFriendshipAdded();
+
+    /**
+     * Gets the users whose distance to some other user has changed.
+     * Since distances are symmetric, just such users have to be considered
+     * to update any data that depends on distances.
+     * Distances that haven't been computed yet by the {@link SocialGraph} are not considered,
+     * so the set may be empty even if some distance has changed.
+     * @return a read-only set of users
+     */
+    Set<User> getAffectedUsers();
+
+    /**
+     * Gets a SocialGraphEventInfo instance from the given parameters.
+     *
+     * @param listener the listener to be notified about the event
+     * @param graph the social graph where the friendship changed
+     * @param user1 one of the users whose friendship changed
+     * @param user2 the other user whose friendship changed
+     * @param added true if the friendship was added, false if it was removed
+     * @param affectedUsers the users whose distance to some other user has changed
+     * @param time the time the event happened
+     * @return
+     */
+    static SocialGraphEventInfo of(
+        final EventListener<SocialGraphEventInfo> listener, final SocialGraph graph,
+        final User user1, final User user2, final boolean added,
+        final Set<User> affectedUsers, final double time)
+    {
+        return new SocialGraphEventInfo() {
+            @Override public SocialGraph getSocialGraph() { return graph; }
+            @Override public User getUser1() { return user1; }
+            @Override public User getUser2() { return user2; }
+            @Override public boolean isFriendshipAdded() { return added; }
+            @Override public Set<User> getAffectedUsers() { return affectedUsers; }
+            @Override public double getTime() { return time; }
+            @Override @SuppressWarnings("unchecked")
+            public <T extends EventInfo> EventListener<T> getListener() { return (EventListener<T>) listener; }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that finding Hosts for VMs using a {@link HostCapacityIndex}
+ * selects the same Hosts as checking every Host.
+ */
+class HostCapacityIndexTest {
+    private static final int HOSTS = 30;
+    private static final int VMS = 150;
+    private static final int SUBMISSION_DELAYS = 3;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The number of times the policy checked if some Host was suitable for a VM in the last simulation.
+     */
+    private int suitabilityChecks;
+
+    @Test
+    void testHostCapacityIndexIsDisabledByDefault() {
+        final var policy = new VmAllocationPolicyBestFit();
+        assertFalse(policy.isHostCapacityIndexEnabled());
+        policy.enableHostCapacityIndex();
+        assertTrue(policy.isHostCapacityIndexEnabled());
+    }
+
+    /**
+     * Checks the Hosts found by the index for VMs requiring different numbers of PEs,
+     * before and after a Host has some PEs allocated.
+     */
+    @Test
+    void testIndexFindsHostsWithEnoughFreePes() {
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < 6; i++) {
+            hostList.add(createHost(user, i, 2 + i % 3 * 2));
+        }
+
+        final var policy = new VmAllocationPolicyFirstFit();
+        new DatacenterSocial(new CloudSim(), hostList, policy);
+        final var index = new HostCapacityIndex(policy);
+
+        final var vm3 = createVm(user, 3);
+        final var vm5 = createVm(user, 5);
+        final var vm7 = createVm(user, 7);
+        assertEquals(2, index.firstFit(vm5, 0));
+        assertEquals(5, index.firstFit(vm5, 3));
+        assertEquals(1, index.firstFit(vm3, 0));
+        assertEquals(-1, index.firstFit(vm7, 0));
+        assertTrue(index.bestFit(vm7).isEmpty());
+
+        //Ties are broken by the position in the Host list
+        assertSame(hostList.get(1), index.bestFit(vm3).orElseThrow());
+        assertSame(hostList.get(2), index.worstFit(vm3).orElseThrow());
+
+        //After a VM is placed into the last Host, the search wraps around the end of the Host list
+        assertTrue(hostList.get(5).createVm(createVm(user, 4)).fully());
+        assertEquals(2, index.firstFit(vm5, 3));
+    }
+
+    @Test
+    void testFirstFitSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicyFirstFit::new);
+    }
+
+    @Test
+    void testRoundRobinSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicyRoundRobin::new);
+    }
+
+    @Test
+    void testBestFitSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicyBestFit::new);
+    }
+
+    @Test
+    void testWorstFitSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicySimple::new);
+    }
+
+    private void checkSameHosts(final Supplier<VmAllocationPolicyAbstract> policySupplier) {
+        final var expected = runSimulation(policySupplier.get()).vms();
+        final int expectedChecks = suitabilityChecks;
+        final var policy = policySupplier.get();
+        policy.enableHostCapacityIndex();
+        final var actual = runSimulation(policy).vms();
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final Vm vm1 = expected.get(i);
+            final Vm vm2 = actual.get(i);
+            assertEquals(vm1.getHost().getId(), vm2.getHost().getId(), "Host of " + vm1);
+            assertEquals(vm1.getStartTime(), vm2.getStartTime());
+            assertEquals(vm1.getStopTime(), vm2.getStopTime());
+        }
+
+        //Some VMs must wait for others to be destroyed, so that released capacity is reused
+        final long startTimes = expected.stream().mapToDouble(Vm::getStartTime).distinct().count();
+        assertTrue(startTimes > SUBMISSION_DELAYS);
+        assertTrue(suitabilityChecks < expectedChecks, "Every Host was checked for each VM");
+    }
+
+    private List<Host> createHosts() {
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < HOSTS; i++) {
+            final var peList = new ArrayList<Pe>();
+            for (int j = 0; j < 2 + i % 4 * 2; j++) {
+                peList.add(new PeSimple(MIPS));
+            }
+
+            final var host = new SocialHost(4000 + i % 5 * 2000L, 100000, 100000, peList, i % 7 != 0) {
+                @Override
+                public boolean isSuitableForVm(final Vm vm) {
+                    suitabilityChecks++;
+                    return super.isSuitableForVm(vm);
+                }
+            };
+            if (i % 2 == 0) {
+                host.setVmScheduler(new VmSchedulerTimeShared());
+            }
+
+            host.setId(i);
+            host.owner = user;
+            hostList.add(host);
+        }
+
+        return hostList;
+    }
+
+    /**
+     * Runs a simulation where VMs must wait for others to finish before being placed.
+     * @param policy the policy to place VMs
+     * @return
+     */
+    private SimulationResults runSimulation(final VmAllocationPolicyAbstract policy) {
+        final var simulation = new CloudSim();
+        new DatacenterSocial(simulation, createHosts(), policy);
+        suitabilityChecks = 0;
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.setVmDestructionDelay(0.5);
+        final var vmList = new ArrayList<Vm>();
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < VMS; i++) {
+            final var vm = createVm(user, 1 + i % 4);
+            vm.setRam(1000 + i % 3 * 1000L);
+            vm.setSubmissionDelay(i % SUBMISSION_DELAYS * 5);
+            vmList.add(vm);
+
+            final var cloudlet = createCloudlet(user, i, 2000 + i % 5 * 1000L, 1, new UtilizationModelFull());
+            cloudlet.setVm(vm);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, vmList, cloudletList);
+    }
+}
@@ -0,0 +1,221 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationBestFitStaticThreshold;
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationWorstFitStaticThresholdSocial;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that finding Hosts for VMs in parallel
+ * selects the same Hosts as checking them sequentially.
+ */
+class ParallelHostSearchTest {
+    private static final int HOSTS = 40;
+    private static final int VMS = 200;
+    private static final int MIGRATION_HOSTS = 4;
+    private static final int MIGRATION_VMS = 8;
+    private static final int MIGRATION_CLOUDLETS = 16;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The number of VM migrations started in the last simulation.
+     */
+    private int migrations;
+
+    @Test
+    void testMigrationPolicyRequiresShadowPlacement() {
+        final var policy = new VmAllocationPolicyMigrationBestFitStaticThreshold(new VmSelectionPolicyMinimumUtilization(), 0.7);
+        policy.setHostCountForParallelSearch(0);
+        assertFalse(policy.isParallelHostSearchEnabled());
+        policy.enableShadowPlacement();
+        assertTrue(policy.isParallelHostSearchEnabled());
+    }
+
+    @Test
+    void testHostsAreSearchedInParallelJustForLargeHostLists() {
+        final var parallelSearches = new int[1];
+        final var searches = new int[1];
+        final Supplier<VmAllocationPolicyAbstract> policySupplier = () -> new VmAllocationPolicyBestFit() {
+            @Override
+            protected Optional<Host> defaultFindHostForVm(final Vm vm) {
+                searches[0]++;
+                if (getHostSearchStream(Stream.empty()).isParallel()) {
+                    parallelSearches[0]++;
+                }
+
+                return super.defaultFindHostForVm(vm);
+            }
+        };
+
+        final var policy = policySupplier.get();
+        policy.setHostCountForParallelSearch(HOSTS + 1);
+        runSimulation(policy);
+        assertTrue(searches[0] > 0);
+        assertEquals(0, parallelSearches[0]);
+
+        searches[0] = 0;
+        checkSameHosts(policySupplier);
+        assertEquals(searches[0], 2 * parallelSearches[0]);
+    }
+
+    /**
+     * Checks that the Host with the minimum or maximum score is the first one among Hosts with the same score,
+     * and that the score of each Host is computed just once, even when Hosts are searched in parallel.
+     */
+    @Test
+    void testParallelScoreSearchSelectsFirstHostWithBestScore() {
+        final var policy = new VmAllocationPolicySimple();
+        policy.setHostCountForParallelSearch(0);
+        final List<Host> hostList = createHosts(user, HOSTS);
+        assertTrue(policy.getHostSearchStream(hostList.stream()).isParallel());
+
+        final var scores = new AtomicInteger();
+        final ToDoubleFunction<Host> scoreFunction = host -> {
+            scores.incrementAndGet();
+            return host.getId() % 10;
+        };
+
+        assertSame(hostList.get(0), policy.findHostWithMinScore(hostList.stream(), scoreFunction).orElseThrow());
+        assertSame(hostList.get(9), policy.findHostWithMaxScore(hostList.stream(), scoreFunction).orElseThrow());
+        assertEquals(2 * HOSTS, scores.get());
+        assertTrue(policy.findHostWithMinScore(Stream.empty(), scoreFunction).isEmpty());
+    }
+
+    @Test
+    void testFirstFitSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicyFirstFit::new);
+    }
+
+    @Test
+    void testBestFitSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicyBestFit::new);
+    }
+
+    @Test
+    void testWorstFitSelectsSameHosts() {
+        checkSameHosts(VmAllocationPolicySimple::new);
+    }
+
+    @Test
+    void testMigrationPolicySelectsSameHosts() {
+        final var expected = runMigrationSimulation(false);
+        final int expectedMigrations = migrations;
+        final var actual = runMigrationSimulation(true);
+        assertTrue(expectedMigrations > 0);
+        assertEquals(expectedMigrations, migrations);
+        assertSameResults(expected.cloudlets(), actual.cloudlets(), 0);
+    }
+
+    private void checkSameHosts(final Supplier<VmAllocationPolicyAbstract> policySupplier) {
+        final var sequentialPolicy = policySupplier.get();
+        sequentialPolicy.setHostCountForParallelSearch(Integer.MAX_VALUE);
+        final var expected = runSimulation(sequentialPolicy);
+
+        final var parallelPolicy = policySupplier.get();
+        parallelPolicy.setHostCountForParallelSearch(0);
+        assertTrue(parallelPolicy.isParallelHostSearchEnabled());
+        final var actual = runSimulation(parallelPolicy);
+
+        assertEquals(expected.vms().size(), actual.vms().size());
+        for (int i = 0; i < expected.vms().size(); i++) {
+            final Vm vm1 = expected.vms().get(i);
+            final Vm vm2 = actual.vms().get(i);
+            assertEquals(vm1.getHost().getId(), vm2.getHost().getId(), "Host of " + vm1);
+            assertEquals(vm1.getStartTime(), vm2.getStartTime());
+            assertEquals(vm1.getStopTime(), vm2.getStopTime());
+        }
+    }
+
+    /**
+     * Runs a simulation where many Hosts are equally suitable for a VM.
+     * @param policy the policy to place VMs
+     * @return
+     */
+    private SimulationResults runSimulation(final VmAllocationPolicyAbstract policy) {
+        final var simulation = new CloudSim();
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(createHost(user, i, 2 + i % 3 * 2));
+        }
+
+        new DatacenterSocial(simulation, hostList, policy);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.setVmDestructionDelay(0.5);
+        final var vmList = new ArrayList<Vm>();
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < VMS; i++) {
+            final var vm = createVm(user, 1 + i % 3);
+            vm.setSubmissionDelay(i % 4 * 5);
+            vmList.add(vm);
+
+            final var cloudlet = createCloudlet(user, i, 2000 + i % 5 * 1000L, 1, new UtilizationModelFull());
+            cloudlet.setVm(vm);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, vmList, cloudletList);
+    }
+
+    /**
+     * Runs a simulation where a migration policy using the shadow placement
+     * migrates VMs from overloaded Hosts.
+     * Most VMs are initially placed into the smaller Hosts, which are the first ones.
+     * After that, the over utilization threshold is reduced, requiring VMs to be migrated to the larger Hosts.
+     * @param parallel whether the parallel Host search must be enabled
+     * @return
+     */
+    private SimulationResults runMigrationSimulation(final boolean parallel) {
+        final var simulation = new CloudSim();
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < MIGRATION_HOSTS; i++) {
+            hostList.add(createHost(user, i, i < MIGRATION_HOSTS / 2 ? HOST_PES : 2 * HOST_PES));
+        }
+
+        final var policy = new VmAllocationPolicyMigrationWorstFitStaticThresholdSocial(new VmSelectionPolicyMinimumUtilization(), 0.99);
+        policy.enableShadowPlacement();
+        policy.setUnderUtilizationThreshold(0.1);
+        policy.setHostCountForParallelSearch(parallel ? 0 : Integer.MAX_VALUE);
+        final var dc = new DatacenterSocial(simulation, hostList, policy);
+        dc.setSchedulingInterval(2);
+
+        migrations = 0;
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.addOnVmsCreatedListener(info -> policy.setOverUtilizationThreshold(0.7));
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < MIGRATION_VMS; i++) {
+            final var vm = createVm(user, 1);
+            vm.addOnMigrationStartListener(info -> migrations++);
+            vmList.add(vm);
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < MIGRATION_CLOUDLETS; i++) {
+            cloudletList.add(createCloudlet(user, i, 20000, 1, new UtilizationModelFull()));
+        }
+
+        return run(simulation, broker, vmList, cloudletList);
+    }
+}
@@ -0,0 +1,163 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationStaticThresholdSocial;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil;
+import org.cloudbus.cloudsim.vms.VmSocial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.createHost;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocialHostEligibilityTest {
+    private static final int USERS = 15;
+    private static final int HOSTS = 30;
+
+    /**
+     * The number of distances bounded by a number of hops computed by the users,
+     * which are the distances queried by the {@link SocialHostEligibility}.
+     */
+    private int boundedDistances;
+
+    private List<User> users;
+    private List<Host> hostList;
+    private VmAllocationPolicyMigrationStaticThresholdSocial policy;
+
+    @BeforeEach
+    void setUp() {
+        final var random = new Random(1);
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("user" + i, i) {
+                @Override
+                public int distance_to(final User other, final int maxHops) {
+                    boundedDistances++;
+                    return super.distance_to(other, maxHops);
+                }
+            });
+        }
+
+        //The last user has no friends
+        for (int i = 1; i < USERS - 1; i++) {
+            users.get(i).make_friend(users.get(random.nextInt(i)));
+        }
+        User.join_network(users);
+
+        hostList = new ArrayList<>();
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(createHost(users.get(random.nextInt(USERS)), i, 4));
+        }
+
+        policy = new VmAllocationPolicyMigrationStaticThresholdSocial(new VmSelectionPolicyMinimumUtilization(), 0.9);
+        new DatacenterSocial(new CloudSim(), hostList, policy);
+    }
+
+    private BitSet expectedEligibleHosts(final User owner, final int securityLevel) {
+        final var bits = new BitSet();
+        for (int i = 0; i < HOSTS; i++) {
+            final int distance = owner.distance_to(((SocialHost) hostList.get(i)).owner);
+            bits.set(i, distance >= 0 && distance <= securityLevel);
+        }
+
+        return bits;
+    }
+
+    private VmSocial createVm(final User owner, final int securityLevel) {
+        final var vm = SocialSimulationTestUtil.createVm(owner, 2);
+        vm.securityLevel = securityLevel;
+        return vm;
+    }
+
+    @Test
+    void testEligibleHostsMatchDistances() {
+        final var eligibility = policy.getHostEligibility();
+        for (final User owner : users) {
+            for (int securityLevel = 0; securityLevel <= 4; securityLevel++) {
+                assertEquals(expectedEligibleHosts(owner, securityLevel), eligibility.getEligibleHosts(owner, securityLevel));
+            }
+        }
+
+        assertSame(eligibility.getEligibleHosts(users.get(0), 1), eligibility.getEligibleHosts(users.get(0), 1));
+        assertEquals(USERS * 5, eligibility.getCachedEntriesNumber());
+
+        //Cached entries are reused without querying distances again
+        boundedDistances = 0;
+        for (final User owner : users) {
+            for (int securityLevel = 0; securityLevel <= 4; securityLevel++) {
+                assertNotNull(eligibility.getEligibleHosts(owner, securityLevel));
+            }
+        }
+
+        assertEquals(0, boundedDistances);
+    }
+
+    @Test
+    void testDistanceIsQueriedOnceForEachHostOwner() {
+        final long hostOwners = hostList.stream().map(host -> ((SocialHost) host).owner).distinct().count();
+        assertTrue(hostOwners < HOSTS);
+        boundedDistances = 0;
+        policy.getHostEligibility().getEligibleHosts(users.get(0), 2);
+        assertEquals(hostOwners, boundedDistances);
+    }
+
+    @Test
+    void testEligibleHostsAreUpdatedWhenFriendshipsOrHostOwnersChange() {
+        final var eligibility = policy.getHostEligibility();
+        final User isolated = users.get(USERS - 1);
+        final User other = users.get(0);
+        assertEquals(expectedEligibleHosts(isolated, 1), eligibility.getEligibleHosts(isolated, 1));
+        eligibility.getEligibleHosts(users.get(1), 1);
+        assertEquals(2, eligibility.getCachedEntriesNumber());
+
+        isolated.make_friend(other);
+        assertEquals(0, eligibility.getCachedEntriesNumber());
+        assertEquals(expectedEligibleHosts(isolated, 1), eligibility.getEligibleHosts(isolated, 1));
+
+        ((SocialHost) hostList.get(0)).owner = isolated;
+        eligibility.invalidate();
+        assertEquals(0, eligibility.getCachedEntriesNumber());
+        assertTrue(eligibility.getEligibleHosts(isolated, 0).get(0));
+    }
+
+    @Test
+    void testVmIsJustPlacedIntoTrustedHosts() {
+        final User owner = users.get(3);
+        final int securityLevel = 1;
+        final var vm = createVm(owner, securityLevel);
+        final BitSet eligible = expectedEligibleHosts(owner, securityLevel);
+
+        //Hosts are all idle, so Worst Fit selects the first trusted one
+        assertEquals(hostList.get(eligible.nextSetBit(0)), policy.findHostForVm(vm).orElseThrow());
+        assertTrue(policy.getHostEligibility().isEligible(vm, hostList.get(eligible.nextSetBit(0))));
+    }
+
+    @Test
+    void testIsEligibleMatchesEligibleHosts() {
+        final User owner = users.get(2);
+        final var vm = createVm(owner, 2);
+        final BitSet eligible = expectedEligibleHosts(owner, 2);
+        for (int i = 0; i < HOSTS; i++) {
+            assertEquals(eligible.get(i), policy.getHostEligibility().isEligible(vm, hostList.get(i)), "Host " + i);
+        }
+
+        assertFalse(policy.getHostEligibility().isEligible(vm, Host.NULL));
+    }
+
+    @Test
+    void testVmWithoutTrustedHostsIsNotPlaced() {
+        final User owner = new User("stranger", USERS);
+        assertTrue(policy.findHostForVm(createVm(owner, 3)).isEmpty());
+        assertTrue(policy.findHostForVm(createVm(null, 3)).isPresent());
+    }
+}
@@ -0,0 +1,80 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the order underloaded Hosts are selected by a {@link VmAllocationPolicyMigrationAbstract}.
+ */
+class UnderloadedHostQueueTest {
+    private static final double UNDERLOAD_THRESHOLD = 0.5;
+
+    private final Map<Host, Double> utilizations = new HashMap<>();
+    private final Set<Host> excludedHosts = new HashSet<>();
+
+    @Test
+    void testPollLeastUtilizedHostsFirst() {
+        final var hosts = createHosts(0.3, 0.1, 0.7, 0.1, 0.2);
+        final var queue = createQueue(hosts);
+
+        //Hosts with the same utilization are polled in the order they are in the list
+        assertSame(hosts.get(1), queue.poll());
+        assertSame(hosts.get(3), queue.poll());
+        assertSame(hosts.get(4), queue.poll());
+        assertSame(hosts.get(0), queue.poll());
+        assertSame(Host.NULL, queue.poll());
+    }
+
+    @Test
+    void testExcludedHostsAreNotPolled() {
+        final var hosts = createHosts(0.1, 0.2, 0.3);
+        excludedHosts.add(hosts.get(0));
+        final var queue = createQueue(hosts);
+
+        //Hosts excluded after the queue is created are ignored too
+        excludedHosts.add(hosts.get(2));
+        assertSame(hosts.get(1), queue.poll());
+        assertSame(Host.NULL, queue.poll());
+    }
+
+    @Test
+    void testUpdatedHostsAreReordered() {
+        final var hosts = createHosts(0.3, 0.2, 0.1, 0.6);
+        final var queue = createQueue(hosts);
+
+        utilizations.put(hosts.get(0), 0.05);
+        queue.update(hosts.get(0));
+        utilizations.put(hosts.get(2), 0.9);
+        queue.update(hosts.get(2));
+        utilizations.put(hosts.get(3), 0.4);
+        queue.update(hosts.get(3));
+
+        assertSame(hosts.get(0), queue.poll());
+        assertSame(hosts.get(1), queue.poll());
+        assertSame(hosts.get(3), queue.poll());
+        assertSame(Host.NULL, queue.poll());
+    }
+
+    private UnderloadedHostQueue createQueue(final List<Host> hosts) {
+        return new UnderloadedHostQueue(
+            hosts, excludedHosts, host -> utilizations.get(host) < UNDERLOAD_THRESHOLD, utilizations::get);
+    }
+
+    private List<Host> createHosts(final double... hostUtilizations) {
+        final var hosts = new ArrayList<Host>();
+        for (final double utilization : hostUtilizations) {
+            final var host = new HostSimple(1000, 1000, 1000, List.of(new PeSimple(1000)));
+            host.setId(hosts.size());
+            utilizations.put(host, utilization);
+            hosts.add(host);
+        }
+
+        return hosts;
+    }
+}
@@ -0,0 +1,190 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumMigrationTime;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyRandomSelection;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a {@link VmAllocationPolicyMigrationAbstract} using the
+ * {@link VmAllocationPolicyMigrationAbstract#enableShadowPlacement() shadow placement}
+ * computes a migration map without changing any Host.
+ */
+class VmPlacementShadowTest {
+    private static final int HOSTS = 4;
+    private static final int VMS = 8;
+    private static final int CLOUDLETS = 16;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The number of migrations requested by the policy in the last simulation.
+     */
+    private int migrations;
+
+    /**
+     * The number of times the VMs of all Hosts were checked while the policy was searching a target Host.
+     */
+    private int checks;
+
+    /**
+     * The number of checks where some Host didn't have the same VMs it had
+     * when the policy started computing the migration map.
+     */
+    private int changedHostsChecks;
+
+    @Test
+    void testShadowPlacementIsDisabledByDefault() {
+        final var policy = new VmAllocationPolicyMigrationWorstFitStaticThresholdSocial(new VmSelectionPolicyMinimumUtilization(), 0.7);
+        assertFalse(policy.isShadowPlacementEnabled());
+        assertSame(policy, policy.enableShadowPlacement());
+        assertTrue(policy.isShadowPlacementEnabled());
+    }
+
+    @Test
+    void testShadowPlacementRequiresVmSelectionFromList() {
+        final VmSelectionPolicy selectionPolicy = host -> host.getMigratableVms().stream().findFirst();
+        assertFalse(selectionPolicy.isSelectionFromListSupported());
+        final var policy = new VmAllocationPolicyMigrationWorstFitStaticThresholdSocial(selectionPolicy, 0.7);
+        policy.enableShadowPlacement();
+        assertFalse(policy.isShadowPlacementEnabled());
+
+        policy.setVmSelectionPolicy(new VmSelectionPolicyMinimumUtilization());
+        assertTrue(policy.isShadowPlacementEnabled());
+    }
+
+    @Test
+    void testBuiltInVmSelectionPoliciesSupportSelectionFromList() {
+        assertTrue(new VmSelectionPolicyMinimumUtilization().isSelectionFromListSupported());
+        assertTrue(new VmSelectionPolicyMinimumMigrationTime().isSelectionFromListSupported());
+        assertTrue(new VmSelectionPolicyRandomSelection().isSelectionFromListSupported());
+        assertTrue(VmSelectionPolicy.NULL.isSelectionFromListSupported());
+    }
+
+    @Test
+    void testUnsupportedVmSelectionFallsBackToTemporaryChanges() {
+        final VmSelectionPolicy selectionPolicy = host -> host.getMigratableVms().stream().findFirst();
+        runSimulation(true, selectionPolicy);
+        assertTrue(migrations > 0);
+        assertTrue(changedHostsChecks > 0);
+    }
+
+    @Test
+    void testHostsAreNotChangedWhileComputingMigrationMap() {
+        final var cloudlets = runSimulation(true).cloudlets();
+        assertTrue(migrations > 0);
+        assertTrue(checks > 0);
+        assertEquals(0, changedHostsChecks);
+        assertTrue(cloudlets.stream().allMatch(Cloudlet::isFinished));
+    }
+
+    @Test
+    void testHostsAreTemporarilyChangedByDefault() {
+        runSimulation(false);
+        assertTrue(migrations > 0);
+        assertTrue(changedHostsChecks > 0);
+    }
+
+    /**
+     * Runs a simulation where some Hosts become overloaded.
+     * Most VMs are initially placed into the smaller Hosts, which are the first ones.
+     * After that, the over utilization threshold is reduced, requiring VMs to be migrated to the larger Hosts.
+     * While the policy computes a migration map, the VMs of all Hosts are compared to the ones
+     * they had before the policy started, every time a target Host is searched.
+     * @param shadow whether the shadow placement must be enabled
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean shadow) {
+        return runSimulation(shadow, new VmSelectionPolicyMinimumUtilization());
+    }
+
+    /**
+     * Runs a simulation where some Hosts become overloaded.
+     * @param shadow whether the shadow placement must be enabled
+     * @param selectionPolicy the policy to select VMs to migrate
+     * @return
+     * @see #runSimulation(boolean)
+     */
+    private SimulationResults runSimulation(final boolean shadow, final VmSelectionPolicy selectionPolicy) {
+        final var simulation = new CloudSim();
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(createHost(user, i, i < HOSTS / 2 ? HOST_PES : 2 * HOST_PES));
+        }
+
+        migrations = 0;
+        checks = 0;
+        changedHostsChecks = 0;
+        final var policy = new CheckedPolicy(hostList, selectionPolicy);
+        if (shadow) {
+            policy.enableShadowPlacement();
+        }
+
+        policy.setUnderUtilizationThreshold(0.1);
+        final var dc = new DatacenterSocial(simulation, hostList, policy);
+        dc.setSchedulingInterval(2);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.addOnVmsCreatedListener(info -> policy.setOverUtilizationThreshold(0.7));
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudletList.add(createCloudlet(user, i, 20000, 1, new UtilizationModelFull()));
+        }
+
+        return run(simulation, broker, createVms(user, VMS, 1), cloudletList);
+    }
+
+    /**
+     * A migration policy that takes a snapshot of the VMs inside each Host
+     * when it starts computing a migration map and checks
+     * if such VMs are changed before the map is returned.
+     */
+    private final class CheckedPolicy extends VmAllocationPolicyMigrationWorstFitStaticThresholdSocial {
+        private final List<Host> hostList;
+        private final Map<Host, List<Vm>> vmsSnapshot = new HashMap<>();
+
+        private CheckedPolicy(final List<Host> hostList, final VmSelectionPolicy selectionPolicy) {
+            super(selectionPolicy, 0.99);
+            this.hostList = hostList;
+        }
+
+        @Override
+        public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
+            hostList.forEach(host -> vmsSnapshot.put(host, new ArrayList<>(host.getVmList())));
+            final var migrationMap = super.getOptimizedAllocationMap(vmList);
+            migrationMap.forEach((vm, targetHost) -> assertNotSame(vm.getHost(), targetHost));
+            migrations += migrationMap.size();
+            vmsSnapshot.clear();
+            return migrationMap;
+        }
+
+        @Override
+        protected Optional<Host> findHostForVmInternal(final Vm vm, final Stream<Host> hostStream) {
+            if (!vmsSnapshot.isEmpty()) {
+                checks++;
+                if (hostList.stream().anyMatch(host -> !vmsSnapshot.get(host).equals(host.getVmList()))) {
+                    changedHostsChecks++;
+                }
+            }
+
+            return super.findHostForVmInternal(vm, hostStream);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.cloudbus.cloudsim.brokers;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that submitting Cloudlets to Datacenters in batches
+ * gives the same results as submitting one Cloudlet at a time.
+ */
+class DatacenterBrokerBatchCloudletSubmissionTest {
+    private static final int HOSTS = 4;
+    private static final int VMS = 6;
+    private static final int CLOUDLETS = 40;
+    private static final int SUBMISSION_DELAYS = 4;
+
+    /**
+     * Submitting Cloudlets one at a time schedules an update of Cloudlets processing
+     * for each Cloudlet, while a batch schedules a single one.
+     * Since the progress of Cloudlets is computed at each update,
+     * start and finish times may be slightly different.
+     */
+    private static final double TIME_TOLERANCE = 0.25;
+
+    private final User user = new User("user", 0);
+
+    @Test
+    void testBatchCloudletSubmissionIsDisabledByDefault() {
+        final var broker = new DatacenterBrokerSimple(new CloudSim());
+        assertFalse(broker.isBatchCloudletSubmission());
+        assertTrue(broker.setBatchCloudletSubmission(true).isBatchCloudletSubmission());
+    }
+
+    @Test
+    void testBatchCloudletSubmissionGivesSameResults() {
+        final var results = assertFeatureGivesSameResults(this::runSimulation, TIME_TOLERANCE);
+        final SimulationResults expected = results.disabled();
+        final SimulationResults actual = results.enabled();
+
+        assertEquals(CLOUDLETS, expected.events(CloudSimTag.CLOUDLET_SUBMIT));
+        assertEquals(0, expected.events(CloudSimTag.CLOUDLET_SUBMIT_BATCH));
+
+        //A single Datacenter receives one batch for each submission delay
+        assertEquals(0, actual.events(CloudSimTag.CLOUDLET_SUBMIT));
+        assertEquals(SUBMISSION_DELAYS, actual.events(CloudSimTag.CLOUDLET_SUBMIT_BATCH));
+        assertTrue(
+            actual.events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING) <
+            expected.events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING));
+    }
+
+    /**
+     * Checks that Cloudlets are grouped into one batch for each Datacenter and submission delay,
+     * keeping the order they were submitted to the broker.
+     */
+    @Test
+    void testCloudletsAreGroupedByDatacenterAndSubmissionDelay() {
+        final var simulation = new CloudSim();
+        final var datacenters = List.of(
+            new DatacenterSocial(simulation, List.of(createHost(user, 0, HOST_PES)), new VmAllocationPolicySimple()),
+            new DatacenterSocial(simulation, List.of(createHost(user, 1, HOST_PES)), new VmAllocationPolicySimple()));
+
+        final var batches = new ArrayList<List<?>>();
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTag.CLOUDLET_SUBMIT_BATCH) {
+                final var batch = (List<?>) evt.getData();
+                batches.add(batch);
+                for (final Object data : batch) {
+                    final var cloudlet = (Cloudlet) data;
+                    assertSame(evt.getDestination(), cloudlet.getVm().getHost().getDatacenter());
+                    assertEquals(((Cloudlet) batch.get(0)).getSubmissionDelay(), cloudlet.getSubmissionDelay());
+                }
+            }
+        });
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.setBatchCloudletSubmission(true);
+        //Cloudlets are mapped to VMs in a circular way, so the number of delays must not be a multiple of the VMs number
+        final int delays = 3;
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 2000, 1, new UtilizationModelFull());
+            cloudlet.setSubmissionDelay(i % delays);
+            cloudletList.add(cloudlet);
+        }
+
+        //Each Datacenter has room for just two VMs
+        run(simulation, broker, createVms(user, 4, 2), cloudletList);
+        assertEquals(datacenters.size() * delays, batches.size());
+        assertEquals(CLOUDLETS, batches.stream().mapToInt(List::size).sum());
+        for (final var batch : batches) {
+            for (int i = 1; i < batch.size(); i++) {
+                assertTrue(((Cloudlet) batch.get(i - 1)).getId() < ((Cloudlet) batch.get(i)).getId());
+            }
+        }
+    }
+
+    /**
+     * Checks that a batch updates a Host whose VM is fast-forwarded,
+     * even when the first Cloudlet in the batch is submitted to another VM in the same Host,
+     * which is not fast-forwarded.
+     */
+    @Test
+    void testBatchUpdatesFastForwardedVmSharingHost() {
+        final var expected = runSharedHostSimulation(false);
+        final var actual = runSharedHostSimulation(true);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 0.000001, "Cloudlet " + i);
+        }
+    }
+
+    /**
+     * Runs a simulation with a single Host running two VMs, where just the second one is fast-forwarded,
+     * and returns the submitted Cloudlets.
+     * Each VM runs a Cloudlet from the beginning and receives another one later, which halves the MIPS
+     * allocated to the first one.
+     * @param batch whether Cloudlets must be submitted in batches
+     * @return
+     */
+    private List<Cloudlet> runSharedHostSimulation(final boolean batch) {
+        final var simulation = new CloudSim();
+        final var host = createHost(user, 0, HOST_PES);
+        new DatacenterSocial(simulation, List.of(host), new VmAllocationPolicySimple());
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.setBatchCloudletSubmission(batch);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < 2; i++) {
+            final var scheduler = new CloudletSchedulerTimeShared();
+            if (i == 1) {
+                scheduler.enableFastForward();
+            }
+
+            vmList.add(initVm(new VmSocial(MIPS, 1, scheduler), user));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < 4; i++) {
+            final var cloudlet = createCloudlet(user, i, 10000, 1, new UtilizationModelFull());
+            cloudlet.setVm(vmList.get(i % 2));
+            cloudlet.setSubmissionDelay(i < 2 ? 0 : 3.5);
+            cloudletList.add(cloudlet);
+        }
+
+        run(simulation, broker, vmList, cloudletList);
+        assertSame(host, vmList.get(0).getHost());
+        assertSame(host, vmList.get(1).getHost());
+        return cloudletList;
+    }
+
+    /**
+     * Runs a simulation where Cloudlets are submitted at a few different times.
+     * @param batch whether Cloudlets must be submitted in batches
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean batch) {
+        final var simulation = new CloudSim();
+        new DatacenterSocial(simulation, createHosts(user, HOSTS), new VmAllocationPolicySimple());
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.setBatchCloudletSubmission(batch);
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 2000 + i * 500L, 1 + i % 2, new UtilizationModelFull());
+            cloudlet.setSubmissionDelay(i % SUBMISSION_DELAYS * 2);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, createVms(user, VMS, 2), cloudletList);
+    }
+}
@@ -0,0 +1,134 @@
+package org.cloudbus.cloudsim.brokers;
+
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.createHost;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocialVmIndexTest {
+    private static final int USERS = 12;
+    private static final int HOSTS = 20;
+    private static final int VMS = 60;
+    private static final int HOST_PES = 8;
+
+    /**
+     * Selects a VM going through the list of VMs in 3 passes, one for each trust tier,
+     * as the {@link DatacenterBrokerBestFitSocial} used to do.
+     */
+    private static Vm linearBestFit(final List<Vm> vmList, final User owner, final int securityLevel, final long pes) {
+        final var candidates = new ArrayList<Vm>();
+        for (int pass = 0; pass < 3; pass++) {
+            for (final Vm vm : vmList) {
+                final int distance = owner.distance_to(((SocialHost) vm.getHost()).owner);
+                final boolean matches = switch (pass) {
+                    case 0 -> distance == securityLevel;
+                    case 1 -> distance < securityLevel && distance != 0;
+                    default -> distance == 0;
+                };
+
+                if (matches) {
+                    candidates.add(vm);
+                }
+            }
+        }
+
+        return candidates.stream()
+                         .filter(vm -> vm.getExpectedFreePesNumber() >= pes)
+                         .min(Comparator.comparingLong(Vm::getExpectedFreePesNumber))
+                         .orElse(Vm.NULL);
+    }
+
+    @Test
+    void testTiers() {
+        assertEquals(SocialVmIndex.EXACT_LEVEL_TIER, SocialVmIndex.tier(2, 2));
+        assertEquals(SocialVmIndex.EXACT_LEVEL_TIER, SocialVmIndex.tier(0, 0));
+        assertEquals(SocialVmIndex.CLOSER_TIER, SocialVmIndex.tier(1, 2));
+        assertEquals(SocialVmIndex.CLOSER_TIER, SocialVmIndex.tier(-1, 2));
+        assertEquals(SocialVmIndex.OWN_HOST_TIER, SocialVmIndex.tier(0, 2));
+        assertEquals(SocialVmIndex.NO_TIER, SocialVmIndex.tier(3, 2));
+    }
+
+    @Test
+    void testFindBestFitMatchesLinearSearch() {
+        final var random = new Random(1);
+        //Counts the distances computed by the index, which are bounded by a number of hops
+        final var boundedDistances = new int[1];
+        final var users = new ArrayList<User>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("user" + i, i) {
+                @Override
+                public int distance_to(final User other, final int maxHops) {
+                    boundedDistances[0]++;
+                    return super.distance_to(other, maxHops);
+                }
+            });
+        }
+
+        //The last user has no friends
+        for (int i = 1; i < USERS - 1; i++) {
+            users.get(i).make_friend(users.get(random.nextInt(i)));
+        }
+        User.update_network_all(users);
+
+        final var hostList = new ArrayList<SocialHost>();
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(createHost(users.get(random.nextInt(USERS)), i, HOST_PES));
+        }
+
+        final var index = new SocialVmIndex();
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            final var vm = new VmSocial(i, 1000, 1 + random.nextInt(4));
+            vm.setHost(hostList.get(random.nextInt(HOSTS)));
+            vmList.add(vm);
+            assertTrue(index.add(vm));
+        }
+
+        assertFalse(index.add(vmList.get(0)));
+        assertEquals(VMS, index.size());
+        assertTrue(index.getHostOwnersNumber() < VMS);
+
+        for (int i = 0; i < 2000; i++) {
+            final User owner = users.get(random.nextInt(USERS));
+            final int securityLevel = random.nextInt(5) - 1;
+            final int pes = 1 + random.nextInt(3);
+            final Vm expected = linearBestFit(vmList, owner, securityLevel, pes);
+            boundedDistances[0] = 0;
+            final Vm vm = index.findBestFit(owner, securityLevel, pes);
+            assertSame(expected, vm);
+            //The distance is computed just once for each Host owner, instead of once for each VM
+            assertTrue(boundedDistances[0] <= index.getHostOwnersNumber());
+
+            if (vm != Vm.NULL) {
+                ((VmSocial) vm).removeExpectedFreePesNumber(pes);
+                index.update(vm);
+            }
+
+            //Returns PEs from a random VM or migrates it to another Host
+            final var other = (VmSocial) vmList.get(random.nextInt(VMS));
+            if (random.nextBoolean()) {
+                other.addExpectedFreePesNumber(1);
+            } else other.setHost(hostList.get(random.nextInt(HOSTS)));
+            index.update(other);
+        }
+    }
+
+    @Test
+    void testUpdateIgnoresVmsNotIndexed() {
+        final var index = new SocialVmIndex();
+        final var vm = new VmSocial(0, 1000, 2);
+        vm.setHost(createHost(new User("user", 0), 0, HOST_PES));
+        index.update(vm);
+        assertEquals(0, index.size());
+        assertEquals(0, index.getHostOwnersNumber());
+    }
+}
@@ -0,0 +1,157 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that executing Datacenters in parallel gives the same results as a sequential execution.
+ */
+class CloudSimParallelTest {
+    private static final int DATACENTERS = 3;
+    private static final int HOSTS = 4;
+    private static final int VMS = 10;
+    private static final int CLOUDLETS = 40;
+
+    /**
+     * The number of actions requested by Cloudlet finish listeners in the last simulation
+     * that were deferred to keep the events order, instead of running immediately.
+     */
+    private final LongAdder deferredActions = new LongAdder();
+
+    @Test
+    void testParallelExecutionIsDisabledByDefault() {
+        assertFalse(new CloudSim().isProcessEventsInParallel());
+    }
+
+    @Test
+    void testParallelExecutionGivesSameResultsAsSequential() {
+        final var sequential = runSimulation(false, false);
+        assertEquals(0, deferredActions.sum());
+
+        final var parallel = runSimulation(true, false);
+        assertTrue(deferredActions.sum() > 0, "Datacenters weren't executed in parallel");
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void testParallelHostsUpdateGivesSameResultsAsSequential() {
+        final var sequential = runSimulation(false, false);
+        assertEquals(sequential, runSimulation(false, true));
+        assertTrue(deferredActions.sum() > 0, "Hosts weren't updated in parallel");
+        assertEquals(sequential, runSimulation(true, true));
+    }
+
+    @Test
+    void testNullSimulationRunsActionsImmediately() {
+        final var actions = new ArrayList<String>();
+        Simulation.NULL.runInEventOrder(() -> actions.add("event"));
+        Simulation.NULL.runInTaskOrder(() -> actions.add("task"));
+        assertEquals(List.of("event", "task"), actions);
+    }
+
+    @Test
+    void testRunInParallelKeepsElementsOrder() {
+        final var simulation = new CloudSim();
+        final var elements = IntStream.range(0, 1000).boxed().toList();
+        final var taskOrder = new ArrayList<Integer>();
+        final var eventOrder = new ArrayList<Integer>();
+        final var results = simulation.runInParallel(elements, i -> {
+            simulation.runInEventOrder(() -> eventOrder.add(i));
+            simulation.runInTaskOrder(() -> taskOrder.add(i));
+            return i * 2;
+        });
+
+        assertEquals(elements.stream().map(i -> i * 2).toList(), results);
+        assertEquals(elements, taskOrder);
+        assertEquals(elements, eventOrder);
+    }
+
+    @Test
+    void testRunInEventOrderRunsActionImmediatelyWhenNotInParallel() {
+        final var simulation = new CloudSim();
+        simulation.setProcessEventsInParallel(true);
+        final var executed = new boolean[1];
+        simulation.runInEventOrder(() -> executed[0] = true);
+        assertTrue(executed[0]);
+    }
+
+    /**
+     * Runs a simulation with multiple Datacenters and returns a summary of the Cloudlets execution.
+     * @param parallel whether Datacenters must be executed in parallel
+     * @param parallelHosts whether the Hosts of each Datacenter must be updated in parallel
+     * @return a list of strings containing the VM, start and finish time of each Cloudlet,
+     *         followed by the Hosts update processing notifications
+     */
+    private List<String> runSimulation(final boolean parallel, final boolean parallelHosts) {
+        final var simulation = new CloudSim();
+        simulation.setProcessEventsInParallel(parallel);
+        final var user = new User("user", 0);
+        final var datacenterList = new ArrayList<Datacenter>();
+        //Datacenters may be executed in parallel, so each one has its own list of Hosts updates
+        final var hostUpdates = new ArrayList<List<String>>();
+
+        deferredActions.reset();
+        for (int i = 0; i < DATACENTERS; i++) {
+            final var hostList = createHosts(user, HOSTS);
+            final var dcHostUpdates = new ArrayList<String>();
+            hostUpdates.add(dcHostUpdates);
+            for (final var host : hostList) {
+                host.addOnUpdateProcessingListener(info -> dcHostUpdates.add("%s %.6f".formatted(info.getHost(), info.getTime())));
+            }
+
+            final var datacenter = new DatacenterSocial(simulation, hostList, new VmAllocationPolicySimple());
+            datacenter.setParallelHostsUpdate(parallelHosts);
+            datacenterList.add(datacenter.setSchedulingInterval(1 + i));
+        }
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = createVms(user, VMS, 2);
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 1000 + i * 500L, 1, new UtilizationModelFull());
+            cloudlet.setSubmissionDelay(i % 3 * 2);
+            cloudlet.addOnFinishListener(info -> countDeferredAction(simulation));
+            cloudletList.add(cloudlet);
+        }
+
+        broker.setDatacenterMapper((lastDc, vm) -> datacenterList.get((int)vm.getId() % DATACENTERS));
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        final var results = new ArrayList<String>();
+        cloudletList.stream()
+                    .map(cl -> "%d %d %s %.6f %.6f".formatted(cl.getId(), cl.getVm().getId(), cl.getStatus(), cl.getExecStartTime(), cl.getFinishTime()))
+                    .forEach(results::add);
+        hostUpdates.forEach(results::addAll);
+        return results;
+    }
+
+    /**
+     * Requests an action to run in the events order and counts it
+     * if it was deferred because entities or Hosts are being processed in parallel.
+     * @param simulation the running simulation
+     */
+    private void countDeferredAction(final Simulation simulation) {
+        final var executed = new boolean[1];
+        simulation.runInEventOrder(() -> executed[0] = true);
+        if (!executed[0]) {
+            deferredActions.increment();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the partitioning of deferred events into per-entity mailboxes by {@link DeferredQueue}.
+ */
+class DeferredQueueTest {
+    private DeferredQueue queue;
+    private SimEntity entity1;
+    private SimEntity entity2;
+
+    @BeforeEach
+    void setUp() {
+        final var simulation = new CloudSim();
+        queue = new DeferredQueue();
+        entity1 = new DatacenterBrokerSimple(simulation);
+        entity2 = new DatacenterBrokerSimple(simulation);
+    }
+
+    @Test
+    void testEventsArePartitionedByDestination() {
+        final var evt1 = newEvent(1, entity1, CloudSimTag.CLOUDLET_RETURN);
+        final var evt2 = newEvent(0, entity2, CloudSimTag.CLOUDLET_RETURN);
+        final var evt3 = newEvent(2, entity1, CloudSimTag.VM_CREATE_ACK);
+        queue.addEvent(evt1);
+        queue.addEvent(evt2);
+        queue.addEvent(evt3);
+
+        assertEquals(3, queue.size());
+        assertSame(evt2, queue.first());
+        assertEquals(List.of(evt1, evt3), queue.stream(entity1).toList());
+        assertSame(evt3, queue.findFirst(entity1, new PredicateType(CloudSimTag.VM_CREATE_ACK)));
+        assertSame(SimEvent.NULL, queue.findFirst(entity2, new PredicateType(CloudSimTag.VM_CREATE_ACK)));
+
+        assertSame(evt1, queue.removeFirst(entity1, Simulation.ANY_EVT));
+        assertSame(evt3, queue.removeFirst(entity1, Simulation.ANY_EVT));
+        assertSame(SimEvent.NULL, queue.removeFirst(entity1, Simulation.ANY_EVT));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testAddEventInTheMiddleKeepsTemporalOrder() {
+        final var evt1 = newEvent(2, entity1, CloudSimTag.CLOUDLET_RETURN);
+        final var evt2 = newEvent(4, entity1, CloudSimTag.CLOUDLET_RETURN);
+        final var evt3 = newEvent(3, entity1, CloudSimTag.CLOUDLET_RETURN);
+        final var evt4 = newEvent(1, entity1, CloudSimTag.CLOUDLET_RETURN);
+        final var evt5 = newEvent(3, entity1, CloudSimTag.CLOUDLET_RETURN);
+        List.of(evt1, evt2, evt3, evt4, evt5).forEach(queue::addEvent);
+
+        assertEquals(List.of(evt4, evt1, evt3, evt5, evt2), queue.stream(entity1).toList());
+        assertEquals(2, queue.getAddedToTail());
+        assertEquals(3, queue.getAddedToMiddle());
+    }
+
+    @Test
+    void testRemove() {
+        final var evt1 = newEvent(1, entity1, CloudSimTag.CLOUDLET_RETURN);
+        final var evt2 = newEvent(1, entity2, CloudSimTag.VM_CREATE_ACK);
+        queue.addEvent(evt1);
+        queue.addEvent(evt2);
+
+        assertTrue(queue.remove(evt1));
+        assertFalse(queue.remove(evt1));
+        assertTrue(queue.removeIf(evt -> evt.getTag() == CloudSimTag.VM_CREATE_ACK));
+        assertTrue(queue.isEmpty());
+    }
+
+    private SimEvent newEvent(final double delay, final SimEntity dest, final CloudSimTag tag) {
+        return new CloudSimEvent(delay, dest, tag);
+    }
+}
@@ -0,0 +1,126 @@
+package org.cloudbus.cloudsim.core.events;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that all {@link FutureEventQueue} implementations
+ * dispatch events in the same order defined by {@link SimEvent#compareTo(SimEvent)}.
+ */
+class FutureEventQueueTest {
+    private static final int EVENTS = 5000;
+    private static final CloudSimTag[] TAGS = {
+        CloudSimTag.NONE, CloudSimTag.CLOUDLET_SUBMIT, CloudSimTag.VM_CREATE_ACK,
+        CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING, CloudSimTag.CLOUDLET_RETURN
+    };
+
+    private final SimEntity entity = new DatacenterBrokerSimple(new CloudSim());
+
+    private final List<Supplier<FutureEventQueue>> queues = List.of(
+        FutureQueue::new, FutureQueueHeap::new, () -> new FutureQueueHeap(2), FutureQueueCalendar::new
+    );
+
+    @Test
+    void testPollFirstKeepsEventOrder() {
+        for (final var supplier : queues) {
+            final FutureEventQueue queue = supplier.get();
+            final List<SimEvent> events = createEvents(queue);
+            final var expected = new TreeSet<>(events);
+
+            assertEquals(expected.size(), queue.size());
+            while (!expected.isEmpty()) {
+                assertSame(expected.first(), queue.first(), queue.getClass().getSimpleName());
+                assertSame(expected.pollFirst(), queue.pollFirst(), queue.getClass().getSimpleName());
+            }
+
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    void testRemoveKeepsEventOrder() {
+        for (final var supplier : queues) {
+            final FutureEventQueue queue = supplier.get();
+            final List<SimEvent> events = createEvents(queue);
+            final var expected = new TreeSet<>(events);
+
+            for (int i = 0; i < events.size(); i += 3) {
+                assertTrue(queue.remove(events.get(i)), queue.getClass().getSimpleName());
+                assertFalse(queue.remove(events.get(i)), queue.getClass().getSimpleName());
+                expected.remove(events.get(i));
+            }
+
+            assertTrue(queue.removeIf(evt -> evt.getTag() == CloudSimTag.CLOUDLET_RETURN));
+            expected.removeIf(evt -> evt.getTag() == CloudSimTag.CLOUDLET_RETURN);
+            assertFalse(queue.remove(SimEvent.NULL));
+
+            assertEquals(expected.size(), queue.size(), queue.getClass().getSimpleName());
+            while (!expected.isEmpty()) {
+                assertSame(expected.pollFirst(), queue.pollFirst(), queue.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    void testIndexedQueueFindsEventsBySourceAndTag() {
+        final var queue = new FutureQueueIndexed(new FutureQueueHeap());
+        final var otherEntity = new DatacenterBrokerSimple((CloudSim) entity.getSimulation());
+        final var evt1 = new CloudSimEvent(1, entity, CloudSimTag.CLOUDLET_RETURN);
+        final var evt2 = new CloudSimEvent(2, entity, CloudSimTag.VM_CREATE_ACK);
+        final var evt3 = new CloudSimEvent(3, otherEntity, CloudSimTag.CLOUDLET_RETURN);
+        queue.addEvent(evt1);
+        queue.addEvent(evt2);
+        queue.addEvent(evt3);
+
+        assertEquals(2, queue.stream(entity).count());
+        assertEquals(List.of(evt1), queue.stream(entity, CloudSimTag.CLOUDLET_RETURN).toList());
+        assertEquals(1, queue.size(otherEntity, CloudSimTag.CLOUDLET_RETURN));
+
+        assertSame(evt1, queue.pollFirst());
+        assertEquals(0, queue.size(entity, CloudSimTag.CLOUDLET_RETURN));
+        assertTrue(queue.removeIf(evt -> evt.getSource() == otherEntity));
+        assertEquals(0, queue.stream(otherEntity).count());
+        assertTrue(queue.remove(evt2));
+        assertEquals(0, queue.stream(entity).count());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testPollFirstEmptyQueue() {
+        for (final var supplier : queues) {
+            final FutureEventQueue queue = supplier.get();
+            assertThrows(java.util.NoSuchElementException.class, queue::pollFirst);
+        }
+    }
+
+    /**
+     * Creates events with random times and tags, where several events happen at the same time.
+     * @param queue the queue to add the events to
+     * @return the created events
+     */
+    private List<SimEvent> createEvents(final FutureEventQueue queue) {
+        final var random = new Random(1);
+        final var events = new ArrayList<SimEvent>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            final double delay = random.nextInt(10) == 0 ? random.nextInt(5) : random.nextDouble() * 1000;
+            final var evt = new CloudSimEvent(delay, entity, TAGS[random.nextInt(TAGS.length)]);
+            if (i % 7 == 0) {
+                queue.addEventFirst(evt);
+            } else queue.addEvent(evt);
+            events.add(evt);
+        }
+
+        return events;
+    }
+}
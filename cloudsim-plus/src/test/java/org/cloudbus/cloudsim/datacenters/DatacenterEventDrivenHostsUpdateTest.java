@@ -0,0 +1,103 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that updating just the Hosts whose state has changed
+ * gives equivalent results to updating all Hosts when processing Cloudlets.
+ */
+class DatacenterEventDrivenHostsUpdateTest {
+    private static final int HOSTS = 6;
+    private static final int VMS = 8;
+    private static final int CLOUDLETS = 30;
+
+    /**
+     * Hosts are updated just when their next Cloudlet finishes,
+     * instead of whenever any Host has to be updated.
+     * Since a Cloudlet finish is just detected when its Host is updated,
+     * finish times may be slightly different (about the minimum time between events).
+     */
+    private static final double FINISH_TIME_TOLERANCE = 0.2;
+
+    private final User user = new User("user", 0);
+
+    @Test
+    void testEventDrivenHostsUpdateIsDisabledByDefault() {
+        final var datacenter = new DatacenterSocial(new CloudSim(), createHosts(user, HOSTS));
+        assertFalse(datacenter.isEventDrivenHostsUpdate());
+    }
+
+    @Test
+    void testEventDrivenHostsUpdateGivesEquivalentResults() {
+        final var results = assertFeatureGivesSameResults(this::runSimulation, FINISH_TIME_TOLERANCE);
+        assertTrue(
+            results.enabled().hostUpdates() < results.disabled().hostUpdates(),
+            "Hosts whose state didn't change were updated");
+    }
+
+    @Test
+    void testTrackerJustReturnsDirtyOrDueHosts() {
+        final var hostList = createHosts(user, HOSTS);
+        final var datacenter = new DatacenterSocial(new CloudSim(), hostList);
+        final var tracker = new HostUpdateTracker(datacenter);
+
+        //All Hosts are updated the first time
+        assertEquals(hostList, tracker.pollHostsToUpdate(0, 0));
+        assertTrue(tracker.pollHostsToUpdate(0, 0).isEmpty());
+
+        tracker.hostUpdated(hostList.get(3), 10);
+        tracker.hostUpdated(hostList.get(1), 5);
+        tracker.hostUpdated(hostList.get(2), Double.MAX_VALUE);
+        assertEquals(2, tracker.getScheduledHostsNumber());
+        assertEquals(5, tracker.getNextUpdateTime());
+
+        tracker.markDirty(hostList.get(4));
+        assertEquals(List.of(hostList.get(4)), tracker.pollHostsToUpdate(4, 0));
+        assertEquals(List.of(hostList.get(1)), tracker.pollHostsToUpdate(4, 1));
+
+        //Rescheduling a Host discards its previous update time
+        tracker.hostUpdated(hostList.get(3), 20);
+        assertTrue(tracker.pollHostsToUpdate(10, 0).isEmpty());
+        assertEquals(20, tracker.getNextUpdateTime());
+
+        tracker.markDirty(hostList.get(5));
+        tracker.markDirty(hostList.get(0));
+        assertEquals(List.of(hostList.get(0), hostList.get(3), hostList.get(5)), tracker.pollHostsToUpdate(20, 0));
+        assertEquals(Double.MAX_VALUE, tracker.getNextUpdateTime());
+    }
+
+    /**
+     * Runs a simulation where Cloudlets finish at different times on each Host.
+     * @param eventDriven whether just the Hosts whose state has changed must be updated
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean eventDriven) {
+        final var simulation = new CloudSim();
+        final var datacenter = new DatacenterSocial(simulation, createHosts(user, HOSTS), new VmAllocationPolicySimple());
+        datacenter.setEventDrivenHostsUpdate(eventDriven);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 2000 + i * 700L, 1, new UtilizationModelFull());
+            cloudlet.setSubmissionDelay(i % 4 * 3);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, createVms(user, VMS, 2), cloudletList);
+    }
+}
@@ -0,0 +1,162 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that coalescing the update events of Cloudlets processing
+ * gives equivalent results while processing fewer events.
+ */
+class DatacenterUpdateEventsCoalescingTest {
+    private static final int HOSTS = 4;
+    private static final int VMS = 6;
+    private static final int CLOUDLETS = 40;
+
+    /**
+     * Stale update events may trigger updates that don't happen when events are coalesced.
+     * Since the completion of Cloudlets is detected at each update,
+     * start and finish times may be slightly different.
+     * @see DatacenterSocial#setUpdateEventsCoalescing(boolean)
+     */
+    private static final double TIME_TOLERANCE = 0.3;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The Datacenter of the last simulation run.
+     */
+    private DatacenterSocial datacenter;
+
+    @Test
+    void testUpdateEventsCoalescingIsDisabledByDefault() {
+        final var dc = new DatacenterSocial(new CloudSim(), createHosts(user, HOSTS));
+        assertFalse(dc.isUpdateEventsCoalescing());
+        assertTrue(((DatacenterSocial) dc.setUpdateEventsCoalescing(true)).isUpdateEventsCoalescing());
+    }
+
+    @Test
+    void testUpdateEventsCoalescingGivesEquivalentResults() {
+        final var expected = runSimulation(false);
+        assertEquals(0, datacenter.getCoalescedUpdateEventsNumber());
+        assertEquals(0, datacenter.getRescheduledUpdateEventsNumber());
+        assertTrue(datacenter.getDroppedUpdateEventsNumber() > 0);
+
+        final var actual = runSimulation(true);
+        assertSameResults(expected.cloudlets(), actual.cloudlets(), TIME_TOLERANCE);
+        assertTrue(datacenter.getCoalescedUpdateEventsNumber() > 0);
+        assertTrue(
+            actual.events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING) <
+            expected.events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING));
+    }
+
+    /**
+     * When all Cloudlets are submitted at once, each one has a VM PE for its own
+     * and they finish at least one second apart, the finish time requested for each Cloudlet never changes.
+     * This way, every request coalesced into an earlier pending update is requested again
+     * for the very same time and Hosts are updated at the same times in both modes.
+     */
+    @Test
+    void testUpdateEventsCoalescingGivesSameResultsWithoutStaleUpdates() {
+        final var expectedUpdateTimes = new ArrayList<Double>();
+        final var expected = runSimulationWithoutStaleUpdates(false, expectedUpdateTimes);
+        final var actualUpdateTimes = new ArrayList<Double>();
+        final var actual = runSimulationWithoutStaleUpdates(true, actualUpdateTimes);
+
+        assertTrue(datacenter.getCoalescedUpdateEventsNumber() > 0);
+        assertEquals(expectedUpdateTimes, actualUpdateTimes);
+        assertSameResults(expected.cloudlets(), actual.cloudlets(), 0);
+        assertTrue(
+            actual.events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING) <
+            expected.events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING));
+    }
+
+    @Test
+    void testPendingUpdateIsRescheduledForEarlierCompletion() {
+        final var simulation = new CloudSim();
+        final var dc = new DatacenterSocial(simulation, createHosts(user, HOSTS), new VmAllocationPolicySimple());
+        dc.setUpdateEventsCoalescing(true);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = List.<Vm>of(createVm(user, 2), createVm(user, 2));
+        final var longCloudlet = createCloudlet(0, 100000, 0);
+        final var shortCloudlet = createCloudlet(1, 1000, 5);
+        longCloudlet.setVm(vmList.get(0));
+        shortCloudlet.setVm(vmList.get(1));
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(List.of(longCloudlet, shortCloudlet));
+        simulation.start();
+
+        //The update pending for the long Cloudlet is moved earlier when the short one arrives
+        assertTrue(dc.getRescheduledUpdateEventsNumber() > 0);
+        assertTrue(shortCloudlet.isFinished());
+        assertEquals(6, shortCloudlet.getFinishTime(), TIME_TOLERANCE);
+        assertEquals(100, longCloudlet.getFinishTime(), TIME_TOLERANCE);
+    }
+
+    private Cloudlet createCloudlet(final int id, final long length, final double submissionDelay) {
+        final var cloudlet = SocialSimulationTestUtil.createCloudlet(user, id, length, 1, new UtilizationModelFull());
+        cloudlet.setSubmissionDelay(submissionDelay);
+        return cloudlet;
+    }
+
+    /**
+     * Runs a simulation where Cloudlets are submitted at a few different times.
+     * @param coalescing whether update events must be coalesced
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean coalescing) {
+        final var simulation = new CloudSim();
+        datacenter = new DatacenterSocial(simulation, createHosts(user, HOSTS), new VmAllocationPolicySimple());
+        datacenter.setUpdateEventsCoalescing(coalescing);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudletList.add(createCloudlet(i, 1000 + i % 7 * 1500L, i % 4 * 2));
+        }
+
+        return run(simulation, broker, createVms(user, VMS, 2), cloudletList);
+    }
+
+    /**
+     * Runs a simulation where all Cloudlets are submitted at once,
+     * there is a VM PE for each Cloudlet and each Cloudlet finishes one second after the previous one.
+     * The minimum time between events is a power of two, so that Cloudlets start and finish at exactly
+     * representable times and the finish time requested for a Cloudlet is the same, no matter when it's computed.
+     * @param coalescing whether update events must be coalesced
+     * @param updateTimes a list to add the times the processing of the first Host is updated
+     * @return
+     */
+    private SimulationResults runSimulationWithoutStaleUpdates(final boolean coalescing, final List<Double> updateTimes) {
+        final var simulation = new CloudSim(0.5);
+        final var hostList = createHosts(user, HOSTS);
+        hostList.get(0).addOnUpdateProcessingListener(info -> updateTimes.add(info.getTime()));
+        datacenter = new DatacenterSocial(simulation, hostList, new VmAllocationPolicySimple());
+        datacenter.setUpdateEventsCoalescing(coalescing);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < VMS * 2; i++) {
+            cloudletList.add(createCloudlet(i, 1000 + i * 1000L, 0));
+        }
+
+        return run(simulation, broker, createVms(user, VMS, 2), cloudletList);
+    }
+}
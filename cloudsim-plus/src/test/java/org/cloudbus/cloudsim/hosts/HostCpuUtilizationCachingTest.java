@@ -0,0 +1,182 @@
+package org.cloudbus.cloudsim.hosts;
+
+import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigrationWorstFitStaticThresholdSocial;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMinimumUtilization;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the {@link Host#isCpuUtilizationCaching() cached CPU utilization} of Hosts
+ * (and the one aggregated by their Datacenter) is always the same as the one computed from all VMs.
+ */
+class HostCpuUtilizationCachingTest {
+    private static final int HOSTS = 6;
+    private static final int VMS = HOSTS;
+    private static final int CLOUDLETS = 40;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The number of checks performed while the last simulation was running.
+     */
+    private int checks;
+
+    /**
+     * The number of times the CPU utilization of some VM was computed in the last simulation.
+     */
+    private long vmCpuUtilizationQueries;
+
+    @Test
+    void testCpuUtilizationCachingIsDisabledByDefault() {
+        final var host = createHost(user, 0, HOST_PES);
+        assertFalse(host.isCpuUtilizationCaching());
+        assertEquals(-1, host.getCpuUtilizationEpoch());
+
+        host.setCpuUtilizationCaching(true);
+        assertTrue(host.isCpuUtilizationCaching());
+        assertEquals(0, host.getCpuMipsUtilization());
+        assertEquals(0, host.getCpuUtilizationEpoch());
+
+        host.invalidateCpuUtilization();
+        assertEquals(-1, host.getCpuUtilizationEpoch());
+    }
+
+    /**
+     * Checks that the CPU utilization of VMs is computed just once while the cache is valid,
+     * and computed again when the VM list of the Host changes at the same simulation time.
+     */
+    @Test
+    void testCachedCpuUtilizationIsInvalidatedWhenVmsChange() {
+        final var host = createHost(user, 0, HOST_PES);
+        host.setCpuUtilizationCaching(true);
+        host.addVmToList(initVm(new CountingVm(), user));
+
+        vmCpuUtilizationQueries = 0;
+        host.getCpuMipsUtilization();
+        host.getCpuPercentUtilization();
+        assertEquals(1, vmCpuUtilizationQueries);
+
+        host.addVmToList(initVm(new CountingVm(), user));
+        assertEquals(-1, host.getCpuUtilizationEpoch());
+        host.getCpuMipsUtilization();
+        assertEquals(3, vmCpuUtilizationQueries);
+        assertEquals(0, host.getCpuUtilizationEpoch());
+    }
+
+    @Test
+    void testCachedCpuUtilizationIsAlwaysUpToDate() {
+        final List<Cloudlet> cloudlets = runSimulation(true, true).cloudlets();
+        assertTrue(checks > 0);
+        assertTrue(cloudlets.stream().allMatch(Cloudlet::isFinished));
+    }
+
+    @Test
+    void testCpuUtilizationCachingGivesSameResults() {
+        final var disabled = runSimulation(false, false);
+        final long expectedQueries = vmCpuUtilizationQueries;
+        final var enabled = runSimulation(true, false);
+        assertSameResults(disabled.cloudlets(), enabled.cloudlets(), 0);
+        assertTrue(vmCpuUtilizationQueries < expectedQueries, "The CPU utilization of VMs was computed for every Host query");
+    }
+
+    /**
+     * Runs a simulation where a migration policy checks the CPU utilization of Hosts
+     * at every scheduling interval.
+     * @param caching whether the CPU utilization of Hosts must be cached
+     * @param check whether the cached CPU utilization must be checked after every event
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean caching, final boolean check) {
+        final var simulation = new CloudSim();
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < HOSTS; i++) {
+            final var host = createHost(user, i, HOST_PES);
+            host.setCpuUtilizationCaching(caching);
+            //The utilization statistics also query the CPU utilization after each Host update
+            host.enableUtilizationStats();
+            hostList.add(host);
+        }
+
+        final var policy = new VmAllocationPolicyMigrationWorstFitStaticThresholdSocial(new VmSelectionPolicyMinimumUtilization(), 0.7);
+        policy.setUnderUtilizationThreshold(0.2);
+        final var dc = new DatacenterSocial(simulation, hostList, policy);
+        dc.setSchedulingInterval(2);
+
+        checks = 0;
+        vmCpuUtilizationQueries = 0;
+        if (check) {
+            simulation.addOnEventProcessingListener(evt -> checkCpuUtilization(simulation, dc, hostList));
+        }
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(initVm(new CountingVm(), user));
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 2000 + i % 5 * 3000L, 1, createUtilizationModel(i));
+            cloudlet.setSubmissionDelay(i % 4 * 3);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, vmList, cloudletList);
+    }
+
+    private UtilizationModel createUtilizationModel(final int cloudletIndex) {
+        if (cloudletIndex % 3 == 0) {
+            return new UtilizationModelFull();
+        }
+
+        final var model = new UtilizationModelDynamic(0.2);
+        model.setUtilizationUpdateFunction(um -> um.getUtilization() + um.getTimeSpan() * 0.05);
+        model.setMaxResourceUtilization(1);
+        return model;
+    }
+
+    private void checkCpuUtilization(final CloudSim simulation, final DatacenterSocial dc, final List<Host> hostList) {
+        double dcMipsUtilization = 0;
+        for (final Host host : hostList) {
+            final double expected = host.getVmList().stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+            assertEquals(expected, host.getCpuMipsUtilization());
+            assertEquals(simulation.clock(), host.getCpuUtilizationEpoch());
+            dcMipsUtilization += expected;
+        }
+
+        assertEquals(dcMipsUtilization, dc.getCpuMipsUtilization(), 0.000001);
+        checks++;
+    }
+
+    /**
+     * A VM that counts how many times its CPU utilization is computed.
+     */
+    private final class CountingVm extends VmSocial {
+        private CountingVm() {
+            super(MIPS, 2);
+        }
+
+        @Override
+        public double getTotalCpuMipsUtilization() {
+            vmCpuUtilizationQueries++;
+            return super.getTotalCpuMipsUtilization();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the list used to store Cloudlets in each state inside a {@link CloudletSchedulerAbstract}.
+ */
+class CloudletExecutionListTest {
+    @Test
+    void testRemoveKeepsInsertionOrder() {
+        final var list = new CloudletExecutionList();
+        final var expected = new ArrayList<CloudletExecution>();
+        for (int i = 0; i < 30; i++) {
+            final var cle = createCloudletExecution(i);
+            list.add(cle);
+            expected.add(cle);
+        }
+
+        for (int i = 0; i < 30; i += 3) {
+            assertTrue(list.remove(expected.get(i)));
+        }
+        expected.removeIf(cle -> cle.getCloudletId() % 3 == 0);
+
+        assertFalse(list.remove(createCloudletExecution(0)));
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected, list);
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), list.get(i));
+            assertEquals(i, list.indexOf(expected.get(i)));
+        }
+
+        //Adding after removals keeps appending to the end
+        final var last = createCloudletExecution(100);
+        list.add(last);
+        assertSame(last, list.get(list.size() - 1));
+    }
+
+    @Test
+    void testFindById() {
+        final var list = new CloudletExecutionList();
+        final var cle1 = createCloudletExecution(1);
+        final var cle2 = createCloudletExecution(2);
+        list.add(cle1);
+        list.add(cle2);
+
+        assertEquals(Optional.of(cle2), list.findById(2));
+        assertTrue(list.contains(cle1));
+
+        list.remove(cle2);
+        assertEquals(Optional.empty(), list.findById(2));
+        assertFalse(list.contains(cle2));
+    }
+
+    @Test
+    void testDuplicateIdsAreRemovedInOrder() {
+        final var list = new CloudletExecutionList();
+        final var first = createCloudletExecution(1);
+        final var second = createCloudletExecution(1);
+        list.add(first);
+        list.add(createCloudletExecution(2));
+        list.add(second);
+
+        assertSame(first, list.findById(1).orElseThrow());
+        list.remove(first);
+        assertSame(second, list.findById(1).orElseThrow());
+        list.remove(second);
+        assertTrue(list.findById(1).isEmpty());
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    void testSortAndIteratorRemoval() {
+        final var list = new CloudletExecutionList();
+        for (int i = 0; i < 5; i++) {
+            list.add(createCloudletExecution(i));
+        }
+
+        list.sort(Comparator.comparingLong(CloudletExecution::getCloudletId).reversed());
+        assertEquals(List.of(4L, 3L, 2L, 1L, 0L), list.stream().map(CloudletExecution::getCloudletId).toList());
+        assertEquals(0, list.indexOf(createCloudletExecution(4)));
+
+        list.removeIf(cle -> cle.getCloudletId() % 2 == 1);
+        assertEquals(List.of(4L, 2L, 0L), list.stream().map(CloudletExecution::getCloudletId).toList());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertTrue(list.findById(4).isEmpty());
+    }
+
+    @Test
+    void testRandomOperationsMatchArrayList() {
+        final var random = new Random(1);
+        final var list = new CloudletExecutionList();
+        final var expected = new ArrayList<CloudletExecution>();
+        for (int i = 0; i < 2000; i++) {
+            //Few ids, so that there are Cloudlets with the same id
+            final var cle = createCloudletExecution(random.nextInt(20));
+            final int op = expected.isEmpty() ? 0 : random.nextInt(5);
+            switch (op) {
+                case 0 -> {
+                    list.add(cle);
+                    expected.add(cle);
+                }
+                case 1 -> {
+                    final int index = random.nextInt(expected.size() + 1);
+                    list.add(index, cle);
+                    expected.add(index, cle);
+                }
+                case 2 -> {
+                    final int index = random.nextInt(expected.size());
+                    assertSame(expected.set(index, cle), list.set(index, cle));
+                }
+                case 3 -> {
+                    final int index = random.nextInt(expected.size());
+                    assertSame(expected.remove(index), list.remove(index));
+                }
+                default -> assertEquals(expected.remove(cle), list.remove(cle));
+            }
+
+            assertEquals(expected.size(), list.size());
+            final long id = random.nextInt(20);
+            final int index = expected.indexOf(createCloudletExecution(id));
+            assertEquals(index, list.indexOf(createCloudletExecution(id)));
+            assertEquals(index < 0 ? Optional.empty() : Optional.of(expected.get(index)), list.findById(id));
+        }
+
+        assertEquals(expected, list);
+    }
+
+    private static CloudletExecution createCloudletExecution(final long id) {
+        final var cloudlet = new CloudletSimple(id, 1000, 1);
+        cloudlet.assignToDatacenter(Datacenter.NULL);
+        return new CloudletExecution(cloudlet);
+    }
+}
@@ -0,0 +1,130 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.listeners.EventInfo;
+import org.cloudsimplus.listeners.EventListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the execution of Cloudlets with different priorities
+ * by the {@link CloudletSchedulerCompletelyFair}.
+ */
+class CloudletSchedulerCompletelyFairTest {
+    private static final int VMS = 2;
+    private static final int VM_PES = 2;
+    private static final double VM_MIPS = MIPS;
+    private static final int CLOUDLETS = 40;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The VMs created in the last simulation.
+     */
+    private final List<Vm> vmList = new ArrayList<>();
+
+    @Test
+    void testWaitingListIsEmptyAndUnmodifiable() {
+        final var scheduler = new CloudletSchedulerCompletelyFair();
+        assertTrue(scheduler.getCloudletWaitingList().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> scheduler.getCloudletWaitingList().clear());
+    }
+
+    @Test
+    void testWaitingListIsReusedUntilRunQueueChanges() {
+        final var waitingSizes = new ArrayList<Integer>();
+        final Set<List<CloudletExecution>> waitingLists = Collections.newSetFromMap(new IdentityHashMap<>());
+        runSimulation(info -> {
+            final var scheduler = (CloudletSchedulerCompletelyFair) vmList.get(0).getCloudletScheduler();
+            final List<CloudletExecution> waitingList = scheduler.getCloudletWaitingList();
+            assertSame(waitingList, scheduler.getCloudletWaitingList());
+            assertThrows(UnsupportedOperationException.class, waitingList::clear);
+            assertTrue(scheduler.getCloudletExecList().stream().noneMatch(waitingList::contains));
+            waitingSizes.add(waitingList.size());
+            waitingLists.add(waitingList);
+        });
+
+        assertTrue(waitingSizes.stream().anyMatch(size -> size > 0));
+        assertTrue(waitingLists.size() < waitingSizes.size(), "The waiting list was copied at every clock tick");
+        assertTrue(vmList.get(0).getCloudletScheduler().getCloudletWaitingList().isEmpty());
+    }
+
+    @Test
+    void testAllCloudletsFinishWithinExpectedTime() {
+        final var cloudletList = runSimulation();
+        final double totalLength = cloudletList.stream().mapToDouble(cl -> cl.getLength() * cl.getNumberOfPes()).sum();
+        final double minSimulationTime = totalLength / (VMS * VM_PES * VM_MIPS);
+
+        double lastFinishTime = 0;
+        for (final Cloudlet cloudlet : cloudletList) {
+            assertEquals(Cloudlet.Status.SUCCESS, cloudlet.getStatus());
+            assertTrue(cloudlet.getFinishTime() - cloudlet.getExecStartTime() >= cloudlet.getLength() / VM_MIPS - 0.1);
+            lastFinishTime = Math.max(lastFinishTime, cloudlet.getFinishTime());
+        }
+
+        assertTrue(lastFinishTime >= minSimulationTime - 0.1);
+    }
+
+    private List<Host> createHosts() {
+        final var hostList = new ArrayList<Host>();
+        for (int i = 0; i < VMS; i++) {
+            hostList.add(createHost(user, i, VM_PES));
+        }
+
+        return hostList;
+    }
+
+    /**
+     * Runs a simulation and returns the submitted Cloudlets.
+     * @return
+     */
+    private List<Cloudlet> runSimulation() {
+        return runSimulation(info -> {});
+    }
+
+    /**
+     * Runs a simulation and returns the submitted Cloudlets.
+     * @param onClockTickListener a listener notified when the simulation clock advances
+     * @return
+     */
+    private List<Cloudlet> runSimulation(final EventListener<EventInfo> onClockTickListener) {
+        final var simulation = new CloudSim();
+        simulation.addOnClockTickListener(onClockTickListener);
+        new DatacenterSocial(simulation, createHosts());
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        vmList.clear();
+        for (int i = 0; i < VMS; i++) {
+            final var vm = createVm(user, VM_PES);
+            vm.setCloudletScheduler(new CloudletSchedulerCompletelyFair());
+            vmList.add(vm);
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 1000 + i * 150L, 1, new UtilizationModelFull());
+            cloudlet.setPriority(i % 11 - 5);
+            cloudlet.setSubmissionDelay(i % 4);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, vmList, cloudletList).cloudlets();
+    }
+}
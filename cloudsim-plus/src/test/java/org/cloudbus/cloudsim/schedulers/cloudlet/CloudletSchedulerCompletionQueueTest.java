@@ -0,0 +1,138 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that using a priority queue to find finished Cloudlets
+ * gives the same results as checking every running Cloudlet.
+ */
+class CloudletSchedulerCompletionQueueTest {
+    private static final int HOSTS = 4;
+    private static final int VMS = 6;
+    private static final int CLOUDLETS = 60;
+
+    private final User user = new User("user", 0);
+
+    /**
+     * The number of times the schedulers of the last simulation estimated the finish time of a Cloudlet.
+     */
+    private int estimatedFinishTimes;
+
+    @Test
+    void testCompletionQueueIsDisabledByDefault() {
+        assertFalse(new CloudletSchedulerTimeShared().isCompletionQueueEnabled());
+        assertTrue(new CloudletSchedulerSpaceShared().enableCompletionQueue() instanceof CloudletSchedulerSpaceShared);
+    }
+
+    @Test
+    void testCompletionQueueGivesSameResults() {
+        final var disabled = runSimulation(false);
+        final int expectedEstimates = estimatedFinishTimes;
+        final var enabled = runSimulation(true);
+        assertSameResults(disabled.cloudlets(), enabled.cloudlets(), 0);
+        assertTrue(estimatedFinishTimes < expectedEstimates, "The finish time of all running Cloudlets was estimated");
+    }
+
+    @Test
+    void testQueueJustReturnsFinishedCloudlets() {
+        final var queue = new CloudletCompletionQueue();
+        final var cleList = new ArrayList<CloudletExecution>();
+        for (int i = 0; i < 3; i++) {
+            final var cloudlet = new CloudletSimple(i, 1000, 1);
+            cloudlet.assignToDatacenter(Datacenter.NULL);
+            final var cle = new CloudletExecution(cloudlet);
+            cleList.add(cle);
+            queue.add(cle);
+        }
+
+        assertEquals(3, queue.size());
+        assertEquals(2000, queue.nextCompletionDelay(cle -> 2000, 1000));
+
+        //No Cloudlet has actually executed, so they are queued again
+        queue.advance(1000, 1);
+        assertTrue(queue.pollFinished().isEmpty());
+        assertEquals(3, queue.size());
+
+        cleList.get(2).updateProcessing(1000 * Conversion.MILLION);
+        cleList.get(0).updateProcessing(1000 * Conversion.MILLION);
+        queue.advance(1000, 1);
+        assertEquals(List.of(cleList.get(0), cleList.get(2)), queue.pollFinished());
+        assertEquals(1, queue.size());
+
+        queue.remove(cleList.get(1));
+        assertEquals(0, queue.size());
+        assertEquals(Double.MAX_VALUE, queue.nextCompletionDelay(cle -> 2000, 1000));
+    }
+
+    /**
+     * Runs a simulation where each VM runs many Cloudlets concurrently.
+     * @param completionQueue whether the completion queue of the VMs' schedulers must be enabled
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean completionQueue) {
+        final var simulation = new CloudSim();
+        new DatacenterSocial(simulation, createHosts(user, HOSTS), new VmAllocationPolicySimple());
+
+        estimatedFinishTimes = 0;
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            final CloudletSchedulerAbstract scheduler = i % 2 == 0 ? new CountingTimeShared() : new CountingSpaceShared();
+            if (completionQueue) {
+                scheduler.enableCompletionQueue();
+            }
+
+            final var vm = createVm(user, 2);
+            vm.setCloudletScheduler(scheduler);
+            vmList.add(vm);
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final UtilizationModel cpuModel = i % 3 == 0 ? new UtilizationModelDynamic(0.5) : new UtilizationModelFull();
+            final var cloudlet = createCloudlet(user, i, 1000 + i * 350L, 1 + i % 2, cpuModel);
+            cloudlet.setSubmissionDelay(i % 5 * 2);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, vmList, cloudletList);
+    }
+
+    private final class CountingTimeShared extends CloudletSchedulerTimeShared {
+        @Override
+        protected double cloudletEstimatedFinishTime(final CloudletExecution cle, final double currentTime) {
+            estimatedFinishTimes++;
+            return super.cloudletEstimatedFinishTime(cle, currentTime);
+        }
+    }
+
+    private final class CountingSpaceShared extends CloudletSchedulerSpaceShared {
+        @Override
+        protected double cloudletEstimatedFinishTime(final CloudletExecution cle, final double currentTime) {
+            estimatedFinishTimes++;
+            return super.cloudletEstimatedFinishTime(cle, currentTime);
+        }
+    }
+}
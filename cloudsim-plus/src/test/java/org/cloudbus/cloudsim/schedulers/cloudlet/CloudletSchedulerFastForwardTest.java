@@ -0,0 +1,152 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.datacenters.DatacenterSocial;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.util.SocialSimulationTestUtil.SimulationResults;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelStochastic;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cloudbus.cloudsim.util.SocialSimulationTestUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that fast-forwarding the processing of Cloudlets with constant utilization models
+ * skips the periodic processing updates, while giving equivalent results.
+ */
+class CloudletSchedulerFastForwardTest {
+    private static final int HOSTS = 3;
+    private static final int VMS = 4;
+    private static final int CLOUDLETS = 20;
+    private static final double SCHEDULING_INTERVAL = 1;
+
+    /**
+     * Without fast-forward, the progress of Cloudlets is computed at each scheduling interval
+     * and a Cloudlet finish is just detected at the next update after that.
+     * This way, start and finish times may differ up to a couple of scheduling intervals.
+     */
+    private static final double TIME_TOLERANCE = 2 * SCHEDULING_INTERVAL;
+
+    private final User user = new User("user", 0);
+
+    @Test
+    void testConstantUtilizationModels() {
+        assertTrue(new UtilizationModelFull().isConstant());
+        assertTrue(UtilizationModel.NULL.isConstant());
+        assertTrue(new UtilizationModelDynamic(0.5).isConstant());
+        assertFalse(new UtilizationModelDynamic(0.5).setUtilizationUpdateFunction(um -> um.getUtilization() + 0.1).isConstant());
+        assertFalse(new UtilizationModelStochastic().isConstant());
+    }
+
+    @Test
+    void testFastForwardIsDisabledByDefault() {
+        final var scheduler = new CloudletSchedulerTimeShared();
+        assertFalse(scheduler.isFastForwardEnabled());
+        assertFalse(scheduler.canFastForward());
+        assertTrue(scheduler.enableFastForward().canFastForward());
+    }
+
+    @Test
+    void testFastForwardSkipsPeriodicUpdates() {
+        for (final boolean eventDriven : new boolean[]{false, true}) {
+            final var results = assertFeatureGivesSameResults(
+                fastForward -> runSimulation(fastForward, eventDriven), TIME_TOLERANCE);
+            results.enabled().cloudlets().forEach(cl -> assertEquals(Cloudlet.Status.SUCCESS, cl.getStatus()));
+            assertTrue(
+                results.enabled().events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING) <
+                results.disabled().events(CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING),
+                "Event-driven Hosts update: " + eventDriven);
+        }
+    }
+
+    /**
+     * A Cloudlet arriving between two processing updates must make
+     * the running Cloudlets' progress up to its arrival to be computed before
+     * the MIPS of the VM are shared with the new Cloudlet.
+     */
+    @Test
+    void testFastForwardedCloudletsProgressUntilArrivals() {
+        final var simulation = new CloudSim();
+        final var datacenter = new DatacenterSocial(simulation, createHosts(user, HOSTS));
+        datacenter.setSchedulingInterval(10);
+
+        final var vm = createVm(user, 1);
+        vm.setCloudletScheduler(new CloudletSchedulerTimeShared().enableFastForward());
+
+        final var first = createCloudlet(user, 0, 10000, 1, new UtilizationModelFull());
+        final var second = createCloudlet(user, 1, 10000, 1, new UtilizationModelFull());
+        second.setSubmissionDelay(5);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        broker.submitVm(vm);
+        broker.submitCloudletList(List.of(first, second));
+        simulation.start();
+
+        //The first Cloudlet runs alone for 5 seconds, then shares the VM PE for other 10 seconds
+        final double tolerance = 0.2;
+        assertEquals(first.getExecStartTime() + 15, first.getFinishTime(), tolerance);
+        assertEquals(second.getExecStartTime() + 15, second.getFinishTime(), tolerance);
+    }
+
+    /**
+     * Checks that a running Cloudlet with a variable utilization model
+     * requires the processing to be updated at every scheduling interval.
+     */
+    @Test
+    void testVariableUtilizationPreventsFastForward() {
+        final var scheduler = new CloudletSchedulerTimeShared();
+        createVm(user, 2).setCloudletScheduler(scheduler);
+        scheduler.cloudletSubmit(createCloudlet(user, 0, 10000, 1, new UtilizationModelFull()));
+        assertTrue(scheduler.enableFastForward().canFastForward());
+
+        final var variableModel = new UtilizationModelDynamic(0.5).setUtilizationUpdateFunction(um -> um.getUtilization());
+        scheduler.cloudletSubmit(createCloudlet(user, 1, 10000, 1, variableModel));
+        assertFalse(scheduler.canFastForward());
+    }
+
+    /**
+     * Runs a simulation where Cloudlets arrive at different times.
+     * @param fastForward whether the fast-forward mode of the VMs' schedulers must be enabled
+     * @param eventDriven whether the {@link DatacenterSocial#setEventDrivenHostsUpdate(boolean) event-driven Hosts update} must be enabled
+     * @return
+     */
+    private SimulationResults runSimulation(final boolean fastForward, final boolean eventDriven) {
+        final var simulation = new CloudSim();
+        final var datacenter = new DatacenterSocial(simulation, createHosts(user, HOSTS));
+        datacenter.setSchedulingInterval(SCHEDULING_INTERVAL);
+        datacenter.setEventDrivenHostsUpdate(eventDriven);
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final var vmList = new ArrayList<Vm>();
+        for (int i = 0; i < VMS; i++) {
+            final var scheduler = i % 2 == 0 ? new CloudletSchedulerTimeShared() : new CloudletSchedulerSpaceShared();
+            if (fastForward) {
+                scheduler.enableFastForward();
+            }
+
+            final var vm = createVm(user, 2);
+            vm.setCloudletScheduler(scheduler);
+            vmList.add(vm);
+        }
+
+        final var cloudletList = new ArrayList<Cloudlet>();
+        for (int i = 0; i < CLOUDLETS; i++) {
+            final var cloudlet = createCloudlet(user, i, 10000 + i * 3000L, 1, new UtilizationModelFull());
+            cloudlet.setSubmissionDelay(i % 3 * 5);
+            cloudletList.add(cloudlet);
+        }
+
+        return run(simulation, broker, vmList, cloudletList);
+    }
+}
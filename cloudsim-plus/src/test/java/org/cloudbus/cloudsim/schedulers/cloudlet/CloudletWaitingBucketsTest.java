@@ -0,0 +1,64 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet;
+
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the waiting Cloudlets grouped by number of required PEs
+ * inside a {@link CloudletSchedulerAbstract}.
+ */
+class CloudletWaitingBucketsTest {
+    @Test
+    void testFindFirstArrivedCloudletThatFitsPes() {
+        final var buckets = new CloudletWaitingBuckets();
+        final var cle4Pes = createCloudletExecution(0, 4);
+        final var cle2Pes = createCloudletExecution(1, 2);
+        final var cle1Pe = createCloudletExecution(2, 1);
+        final var other2Pes = createCloudletExecution(3, 2);
+        buckets.add(cle4Pes);
+        buckets.add(cle2Pes);
+        buckets.add(cle1Pe);
+        buckets.add(other2Pes);
+
+        assertEquals(Optional.of(cle4Pes), buckets.findFirst(4, cle -> true));
+        assertEquals(Optional.of(cle2Pes), buckets.findFirst(3, cle -> true));
+        assertEquals(Optional.of(cle1Pe), buckets.findFirst(1, cle -> true));
+        assertEquals(Optional.empty(), buckets.findFirst(0, cle -> true));
+
+        //Skips Cloudlets not meeting the condition inside a bucket
+        assertEquals(Optional.of(cle1Pe), buckets.findFirst(2, cle -> cle != cle2Pes));
+        assertEquals(Optional.of(other2Pes), buckets.findFirst(2, cle -> cle != cle2Pes && cle != cle1Pe));
+    }
+
+    @Test
+    void testRemoveAndAddAgainGoesToTheEnd() {
+        final var buckets = new CloudletWaitingBuckets();
+        final var first = createCloudletExecution(0, 1);
+        final var second = createCloudletExecution(1, 1);
+        buckets.add(first);
+        buckets.add(second);
+        assertEquals(2, buckets.size());
+
+        buckets.remove(first);
+        assertEquals(Optional.of(second), buckets.findFirst(1, cle -> true));
+
+        buckets.add(first);
+        assertEquals(Optional.of(second), buckets.findFirst(1, cle -> true));
+
+        buckets.clear();
+        assertEquals(0, buckets.size());
+        assertEquals(Optional.empty(), buckets.findFirst(1, cle -> true));
+    }
+
+    private static CloudletExecution createCloudletExecution(final long id, final int pes) {
+        final var cloudlet = new CloudletSimple(id, 1000, pes);
+        cloudlet.assignToDatacenter(Datacenter.NULL);
+        return new CloudletExecution(cloudlet);
+    }
+}
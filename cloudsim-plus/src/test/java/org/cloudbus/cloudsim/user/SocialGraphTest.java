@@ -0,0 +1,291 @@
+package org.cloudbus.cloudsim.user;
+
+import org.cloudsimplus.listeners.SocialGraphEventInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocialGraphTest {
+    /**
+     * Creates a list of users where each one has 1 or 2 random friends among the previous users,
+     * except the last user that has no friends.
+     */
+    private static ArrayList<User> createUsers(final int number, final long seed) {
+        final var random = new Random(seed);
+        final var users = new ArrayList<User>();
+        for (int i = 0; i < number; i++) {
+            users.add(new User("user" + i, i));
+        }
+
+        for (int i = 1; i < number - 1; i++) {
+            users.get(i).make_friend(users.get(random.nextInt(i)));
+            if (random.nextBoolean()) {
+                users.get(i).make_friend(users.get(random.nextInt(i)));
+            }
+        }
+
+        return users;
+    }
+
+    /**
+     * Computes distances between all users using the Floyd-Warshall algorithm.
+     */
+    private static int[][] floydWarshall(final List<User> users) {
+        final int n = users.size();
+        final int inf = Integer.MAX_VALUE / 2;
+        final int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dist[i][j] = i == j ? 0 : users.get(i).friends.contains(users.get(j)) ? 1 : inf;
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    dist[i][j] = Math.min(dist[i][j], dist[i][k] + dist[k][j]);
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (dist[i][j] == inf) {
+                    dist[i][j] = SocialGraph.UNREACHABLE;
+                }
+            }
+        }
+
+        return dist;
+    }
+
+    @Test
+    void testDistancesMatchAllPairsShortestPaths() {
+        final var users = createUsers(60, 1);
+        final int[][] expected = floydWarshall(users);
+        final var graph = new SocialGraph(users).computeAllDistances();
+        for (int i = 0; i < users.size(); i++) {
+            assertArrayEquals(expected[i], graph.distances(users.get(i)));
+        }
+    }
+
+    @Test
+    void testLazyDistancesMatchComputedOnes() {
+        final var users = createUsers(40, 2);
+        final var lazyGraph = new SocialGraph(users);
+        final var eagerGraph = new SocialGraph(users).computeAllDistances();
+        for (final User source : users) {
+            for (final User dest : users) {
+                assertEquals(eagerGraph.distance(source, dest), lazyGraph.distance(source, dest));
+            }
+        }
+    }
+
+    @Test
+    void testDistanceToUserNotInGraphIsUnreachable() {
+        final var users = createUsers(5, 3);
+        final var stranger = new User("stranger", 100);
+        users.get(0).make_friend(stranger);
+        final var graph = new SocialGraph(users);
+        assertEquals(SocialGraph.UNREACHABLE, graph.distance(users.get(0), stranger));
+        assertEquals(-1, graph.indexOf(stranger));
+        assertThrows(IllegalArgumentException.class, () -> graph.distances(stranger));
+    }
+
+    @Test
+    void testUpdateNetworkAllAndUpdateNetworkGiveSameDistances() {
+        final var users = createUsers(30, 4);
+        users.forEach(user -> user.update_network(users));
+        final var mapDistances = users.stream().map(user -> users.stream().map(user::distance_to).toList()).toList();
+
+        final var graph = User.update_network_all(users);
+        for (int i = 0; i < users.size(); i++) {
+            final User user = users.get(i);
+            assertSame(graph, user.getSocialGraph());
+            assertEquals(mapDistances.get(i), users.stream().map(user::distance_to).toList());
+        }
+
+        final User isolated = users.get(users.size() - 1);
+        assertEquals(0, isolated.distance_to(isolated));
+        assertEquals(SocialGraph.UNREACHABLE, isolated.distance_to(users.get(0)));
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchRecomputedDistances() {
+        final var users = createUsers(50, 5);
+        final var graph = User.update_network_all(users);
+        final var random = new Random(6);
+        for (int i = 0; i < 200; i++) {
+            final User user1 = users.get(random.nextInt(users.size()));
+            final User user2 = users.get(random.nextInt(users.size()));
+            if (user1.friends.contains(user2)) {
+                user1.remove_friend(user2);
+            } else user1.make_friend(user2);
+
+            final var expected = new SocialGraph(users).computeAllDistances();
+            for (final User user : users) {
+                assertArrayEquals(expected.distances(user), graph.distances(user));
+            }
+        }
+    }
+
+    @Test
+    void testFriendshipsOutgrowingReservedSpaceMatchRecomputedDistances() {
+        final var users = createUsers(20, 12);
+        final var graph = User.update_network_all(users);
+        for (int round = 0; round < 3; round++) {
+            //Every user becomes friend of all the others, then some friendships are removed
+            for (int i = 0; i < users.size(); i++) {
+                for (int j = i + 1; j < users.size(); j++) {
+                    users.get(i).make_friend(users.get(j));
+                }
+            }
+
+            for (int i = 0; i < users.size(); i++) {
+                for (int j = i + 1; j < users.size(); j += round + 2) {
+                    users.get(i).remove_friend(users.get(j));
+                }
+            }
+
+            final var expected = new SocialGraph(users).computeAllDistances();
+            for (final User user : users) {
+                assertArrayEquals(expected.distances(user), graph.distances(user));
+            }
+        }
+    }
+
+    /**
+     * Checks distances longer than the maximum short value,
+     * computed by a BFS and then updated after friendships are added and removed.
+     */
+    @Test
+    void testDistancesLongerThanShortMaxValue() {
+        final int number = 40000;
+        final var users = new ArrayList<User>(number);
+        for (int i = 0; i < number; i++) {
+            users.add(new User("user" + i, i));
+            if (i > 0) {
+                users.get(i).make_friend(users.get(i - 1));
+            }
+        }
+
+        //The users are in a path, so the last one is number-1 hops away from the first one
+        final var graph = User.join_network(users);
+        final User first = users.get(0);
+        assertEquals(number - 1, graph.distances(first)[number - 1]);
+
+        //Closing a cycle makes the last user a friend of the first one
+        first.make_friend(users.get(number - 1));
+        final int[] cycleDistances = graph.distances(first);
+        for (int i = 0; i < number; i++) {
+            assertEquals(Math.min(i, number - i), cycleDistances[i], "Distance to user " + i);
+        }
+
+        //Removing the first friendship of the path makes the second user be reached just around the cycle
+        first.remove_friend(users.get(1));
+        final int[] expected = new SocialGraph(users).distances(first);
+        assertEquals(number - 1, expected[1]);
+        assertArrayEquals(expected, graph.distances(first));
+    }
+
+    @Test
+    void testListenerIsNotifiedJustWhenDistancesChange() {
+        final var users = createUsers(4, 7);
+        users.forEach(user -> user.friends.clear());
+        final User a = users.get(0), b = users.get(1), c = users.get(2);
+        a.make_friend(b);
+        b.make_friend(c);
+
+        final var graph = User.update_network_all(users);
+        final var events = new ArrayList<SocialGraphEventInfo>();
+        graph.addOnDistancesChangeListener(events::add);
+
+        a.make_friend(c);
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isFriendshipAdded());
+        assertEquals(Set.of(a, c), events.get(0).getAffectedUsers());
+        assertEquals(1, a.distance_to(c));
+
+        //c is still reachable from b through a
+        b.remove_friend(c);
+        assertEquals(2, events.size());
+        assertFalse(events.get(1).isFriendshipAdded());
+        assertEquals(Set.of(b, c), events.get(1).getAffectedUsers());
+        assertEquals(2, b.distance_to(c));
+
+        //a and b are already friends, so distances don't change
+        a.make_friend(b);
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testListenerIsNotifiedWhenDistancesWereNotComputed() {
+        final var users = createUsers(10, 11);
+        final var graph = User.join_network(users);
+        final var events = new ArrayList<SocialGraphEventInfo>();
+        graph.addOnDistancesChangeListener(events::add);
+
+        users.get(0).make_friend(users.get(users.size() - 1));
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getAffectedUsers().isEmpty());
+    }
+
+    @Test
+    void testBoundedDistancesMatchFullDistances() {
+        final var users = createUsers(60, 8);
+        final var expected = new SocialGraph(users).computeAllDistances();
+        final var graph = new SocialGraph(users).setNeighbourhoodCacheSize(10);
+        for (int maxHops = 0; maxHops <= 6; maxHops++) {
+            for (final User source : users) {
+                for (final User dest : users) {
+                    final int distance = expected.distance(source, dest);
+                    final int bounded = distance > maxHops ? maxHops + 1 : distance;
+                    assertEquals(bounded, graph.distance(source, dest, maxHops));
+                }
+            }
+        }
+
+        assertEquals(10, graph.getCachedNeighbourhoodsNumber());
+    }
+
+    @Test
+    void testBoundedDistancesWithLargeOrNegativeMaxHops() {
+        final var users = createUsers(30, 13);
+        final var expected = new SocialGraph(users).computeAllDistances();
+        final var graph = new SocialGraph(users);
+        for (final User source : users) {
+            for (final User dest : users) {
+                assertEquals(expected.distance(source, dest), graph.distance(source, dest, users.size()));
+                assertEquals(expected.distance(source, dest), graph.distance(source, dest, Integer.MAX_VALUE));
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> graph.distance(users.get(0), users.get(1), -1));
+        assertThrows(IllegalArgumentException.class, () -> users.get(0).distance_to(users.get(1), -1));
+    }
+
+    @Test
+    void testBoundedDistancesAreUpdatedWhenFriendshipsChange() {
+        final var users = createUsers(40, 9);
+        final var graph = User.join_network(users);
+        final var random = new Random(10);
+        for (int i = 0; i < 100; i++) {
+            final User user1 = users.get(random.nextInt(users.size()));
+            final User user2 = users.get(random.nextInt(users.size()));
+            if (user1.friends.contains(user2)) {
+                user1.remove_friend(user2);
+            } else user1.make_friend(user2);
+
+            final var expected = new SocialGraph(users);
+            for (final User source : users) {
+                assertEquals(expected.distance(user1, source, 3), user1.distance_to(source, 3));
+                assertEquals(expected.distance(source, user2, 4), graph.distance(source, user2, 4));
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.cloudbus.cloudsim.util;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.SocialCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTag;
+import org.cloudbus.cloudsim.datacenters.Datacenter;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.SocialHost;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.user.User;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSocial;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * An utility class to create and run simulations of social users' Hosts, VMs and Cloudlets,
+ * used by tests checking that some optional feature gives the same results as
+ * when it's disabled.
+ *
+ * @since CloudSim Plus 7.2.0
+ */
+public final class SocialSimulationTestUtil {
+    /**
+     * The MIPS capacity of each Host PE and VM PE.
+     */
+    public static final double MIPS = 1000;
+
+    /**
+     * The default number of PEs of each Host.
+     */
+    public static final int HOST_PES = 4;
+
+    /**
+     * The percentage of VM RAM and bandwidth each Cloudlet uses.
+     */
+    public static final double CLOUDLET_RAM_BW_UTILIZATION = 0.05;
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private SocialSimulationTestUtil(){/**/}
+
+    /**
+     * Creates a Host with enough RAM, bandwidth and storage for the VMs used in tests.
+     * @param owner the Host owner
+     * @param id the Host id
+     * @param pes the number of Host PEs
+     * @return
+     */
+    public static SocialHost createHost(final User owner, final int id, final int pes) {
+        final var peList = new ArrayList<Pe>();
+        for (int i = 0; i < pes; i++) {
+            peList.add(new PeSimple(MIPS));
+        }
+
+        final var host = new SocialHost(16000, 100000, 100000, peList);
+        host.setId(id);
+        host.owner = owner;
+        return host;
+    }
+
+    /**
+     * Creates a list of Hosts having {@link #HOST_PES} PEs each.
+     * @param owner the owner of the Hosts
+     * @param number the number of Hosts to create
+     * @return
+     */
+    public static List<Host> createHosts(final User owner, final int number) {
+        final var hostList = new ArrayList<Host>(number);
+        for (int i = 0; i < number; i++) {
+            hostList.add(createHost(owner, i, HOST_PES));
+        }
+
+        return hostList;
+    }
+
+    /**
+     * Creates a VM using the default {@link org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler}.
+     * @param owner the VM owner
+     * @param pes the number of VM PEs
+     * @return
+     */
+    public static VmSocial createVm(final User owner, final int pes) {
+        return initVm(new VmSocial(MIPS, pes), owner);
+    }
+
+    /**
+     * Sets the RAM, bandwidth, storage and owner of a VM used in tests.
+     * @param vm the VM to set up
+     * @param owner the VM owner
+     * @return the given VM
+     */
+    public static VmSocial initVm(final VmSocial vm, final User owner) {
+        vm.setRam(1000).setBw(1000).setSize(1000);
+        vm.assignOwner(owner);
+        return vm;
+    }
+
+    /**
+     * Creates a list of VMs.
+     * @param owner the owner of the VMs
+     * @param number the number of VMs to create
+     * @param pes the number of PEs of each VM
+     * @return
+     */
+    public static List<Vm> createVms(final User owner, final int number, final int pes) {
+        final var vmList = new ArrayList<Vm>(number);
+        for (int i = 0; i < number; i++) {
+            vmList.add(createVm(owner, pes));
+        }
+
+        return vmList;
+    }
+
+    /**
+     * Creates a Cloudlet using {@link #CLOUDLET_RAM_BW_UTILIZATION} of the VM RAM and bandwidth.
+     * @param owner the Cloudlet owner
+     * @param id the Cloudlet id
+     * @param length the Cloudlet length (in MI)
+     * @param pes the number of Cloudlet PEs
+     * @param cpuModel the CPU utilization model
+     * @return
+     */
+    public static SocialCloudlet createCloudlet(
+        final User owner, final int id, final long length, final int pes, final UtilizationModel cpuModel)
+    {
+        final var cloudlet = new SocialCloudlet(length, pes, cpuModel, id, 1, owner);
+        cloudlet.setUtilizationModelRam(new UtilizationModelDynamic(CLOUDLET_RAM_BW_UTILIZATION))
+                .setUtilizationModelBw(new UtilizationModelDynamic(CLOUDLET_RAM_BW_UTILIZATION));
+        return cloudlet;
+    }
+
+    /**
+     * Submits VMs and Cloudlets to a broker and runs the simulation,
+     * counting the processed events and the Host processing updates of all Datacenters.
+     *
+     * @param simulation the simulation to run, whose Datacenters must be already created
+     * @param broker the broker to submit VMs and Cloudlets
+     * @param vmList the VMs to submit
+     * @param cloudletList the Cloudlets to submit
+     * @return the simulation results
+     */
+    public static SimulationResults run(
+        final CloudSim simulation, final DatacenterBroker broker,
+        final List<? extends Vm> vmList, final List<? extends Cloudlet> cloudletList)
+    {
+        final var events = new EnumMap<CloudSimTag, Integer>(CloudSimTag.class);
+        simulation.addOnEventProcessingListener(evt -> events.merge(evt.getTag(), 1, Integer::sum));
+
+        //Hosts may be updated in parallel
+        final var hostUpdates = new LongAdder();
+        simulation.getEntityList().stream()
+                  .filter(Datacenter.class::isInstance)
+                  .flatMap(dc -> ((Datacenter) dc).getHostList().stream())
+                  .forEach(host -> host.addOnUpdateProcessingListener(info -> hostUpdates.increment()));
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+        return new SimulationResults(List.copyOf(vmList), List.copyOf(cloudletList), events, hostUpdates.sum());
+    }
+
+    /**
+     * Runs a simulation with some feature disabled and then enabled,
+     * checking that Cloudlets have the same results in both simulations.
+     *
+     * @param simulation a function that runs a simulation, receiving true to enable the feature
+     * @param timeTolerance the maximum difference between the start or finish times of a Cloudlet
+     * @return the results with the feature disabled and enabled
+     * @see #assertSameResults(List, List, double)
+     */
+    public static FeatureResults assertFeatureGivesSameResults(
+        final Function<Boolean, SimulationResults> simulation, final double timeTolerance)
+    {
+        final var disabled = simulation.apply(false);
+        final var enabled = simulation.apply(true);
+        assertSameResults(disabled.cloudlets(), enabled.cloudlets(), timeTolerance);
+        return new FeatureResults(disabled, enabled);
+    }
+
+    /**
+     * Checks that the Cloudlets of two simulations have the same status, VM, Host and execution times.
+     * @param expected the Cloudlets of the reference simulation
+     * @param actual the Cloudlets of the simulation to check
+     * @param timeTolerance the maximum difference between the start or finish times of a Cloudlet
+     *                      (0 to require exactly the same results)
+     */
+    public static void assertSameResults(
+        final List<? extends Cloudlet> expected, final List<? extends Cloudlet> actual, final double timeTolerance)
+    {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final Cloudlet cl1 = expected.get(i);
+            final Cloudlet cl2 = actual.get(i);
+            final String msg = "Cloudlet " + cl1.getId();
+            assertEquals(cl1.getStatus(), cl2.getStatus(), msg);
+            assertEquals(cl1.getVm().getId(), cl2.getVm().getId(), msg);
+            assertEquals(cl1.getVm().getHost().getId(), cl2.getVm().getHost().getId(), msg);
+            assertEquals(cl1.getExecStartTime(), cl2.getExecStartTime(), timeTolerance, msg);
+            assertEquals(cl1.getFinishTime(), cl2.getFinishTime(), timeTolerance, msg);
+        }
+    }
+
+    /**
+     * The results of a simulation run by {@link #run(CloudSim, DatacenterBroker, List, List)}.
+     * @param vms the submitted VMs
+     * @param cloudlets the submitted Cloudlets
+     * @param events the number of processed events for each tag
+     * @param hostUpdates the number of times the processing of some Host was updated
+     */
+    public record SimulationResults(List<Vm> vms, List<Cloudlet> cloudlets, Map<CloudSimTag, Integer> events, long hostUpdates) {
+        /**
+         * Gets the number of processed events with a given tag.
+         * @param tag the tag of the events to count
+         * @return
+         */
+        public int events(final CloudSimTag tag) {
+            return events.getOrDefault(tag, 0);
+        }
+    }
+
+    /**
+     * The results of simulations with some feature disabled and enabled.
+     * @param disabled the results with the feature disabled
+     * @param enabled the results with the feature enabled
+     */
+    public record FeatureResults(SimulationResults disabled, SimulationResults enabled) {}
+}